@@ -0,0 +1,30 @@
+package com.mockuidai.config;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adds HTTP/2 cleartext (h2c) to the Tomcat connector so multiplexing clients can be tested
+ * against the mock. Clients may use prior knowledge or the HTTP/1.1 Upgrade header; plain
+ * HTTP/1.1 clients keep working on the same port.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "mock-uidai.http2", name = "enabled", havingValue = "true")
+public class Http2ConnectorConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> h2cConnectorCustomizer(
+            @Value("${mock-uidai.http2.max-concurrent-streams:100}") int maxConcurrentStreams) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            Http2Protocol http2Protocol = new Http2Protocol();
+            http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+            http2Protocol.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+            connector.addUpgradeProtocol(http2Protocol);
+        });
+    }
+}
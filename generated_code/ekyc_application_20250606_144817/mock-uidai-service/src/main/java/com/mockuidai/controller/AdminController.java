@@ -2,9 +2,14 @@ package com.mockuidai.controller;
 
 import com.mockuidai.dto.AdminConfigRequest;
 import com.mockuidai.dto.AdminResponse;
+import com.mockuidai.dto.ConnectionStreamStats;
+import com.mockuidai.dto.LatencyModelStats;
 import com.mockuidai.dto.RequestAuditRecord;
+import com.mockuidai.dto.ServiceConfig;
+import com.mockuidai.service.ConnectionStreamTracker;
 import com.mockuidai.service.MockConfigService;
 import com.mockuidai.service.MockUidaiService;
+import com.mockuidai.service.QueueingLatencySimulator;
 import com.mockuidai.util.TraceLoggerUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -23,6 +29,8 @@ public class AdminController {
 
     private final MockUidaiService mockUidaiService;
     private final MockConfigService mockConfigService;
+    private final QueueingLatencySimulator queueingLatencySimulator;
+    private final ConnectionStreamTracker connectionStreamTracker;
     private final TraceLoggerUtil logger;
 
     @GetMapping("/requests")
@@ -56,6 +64,87 @@ public class AdminController {
                 .body(new AdminResponse("Configuration updated successfully"));
     }
 
+    @GetMapping("/latency-model")
+    @Operation(summary = "Get latency model state", description = "Retrieves busy servers, queue length and average waits of the simulated upstream")
+    public ResponseEntity<LatencyModelStats> getLatencyModelStats(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestParam(value = "scenario", required = false) String scenarioId) {
+        
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        String scenario = mockConfigService.resolveScenarioId(scenarioId);
+        
+        return ResponseEntity.ok()
+                .header("X-Trace-Id", requestTraceId)
+                .body(queueingLatencySimulator.getStats(scenario, mockConfigService.resolveConfig(scenario)));
+    }
+
+    @GetMapping("/scenarios")
+    @Operation(summary = "List scenarios", description = "Retrieves the scenarios selectable per request with the X-Mock-Scenario header")
+    public ResponseEntity<Map<String, ServiceConfig>> getScenarios(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
+        
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        
+        return ResponseEntity.ok()
+                .header("X-Trace-Id", requestTraceId)
+                .body(mockConfigService.getScenarios());
+    }
+
+    @PutMapping("/scenarios/{scenarioId}")
+    @Operation(summary = "Register scenario", description = "Registers or replaces a named latency and fault scenario, starting from the default configuration")
+    public ResponseEntity<AdminResponse> registerScenario(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @PathVariable String scenarioId,
+            @RequestBody AdminConfigRequest configRequest) {
+        
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        logger.info(requestTraceId, "Admin registering scenario {}: {}", scenarioId, configRequest);
+        
+        if (mockConfigService.isReservedScenarioId(scenarioId)) {
+            return ResponseEntity.badRequest()
+                    .header("X-Trace-Id", requestTraceId)
+                    .body(new AdminResponse("Scenario id " + scenarioId + " is reserved"));
+        }
+        mockConfigService.registerScenario(scenarioId, configRequest);
+        
+        return ResponseEntity.ok()
+                .header("X-Trace-Id", requestTraceId)
+                .body(new AdminResponse("Scenario " + scenarioId + " registered successfully"));
+    }
+
+    @DeleteMapping("/scenarios/{scenarioId}")
+    @Operation(summary = "Remove scenario", description = "Removes a named scenario; requests naming it fall back to the global configuration")
+    public ResponseEntity<AdminResponse> removeScenario(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @PathVariable String scenarioId) {
+        
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        logger.info(requestTraceId, "Admin removing scenario {}", scenarioId);
+        
+        if (!mockConfigService.removeScenario(scenarioId)) {
+            return ResponseEntity.notFound()
+                    .header("X-Trace-Id", requestTraceId)
+                    .build();
+        }
+        queueingLatencySimulator.removeStation(scenarioId);
+        
+        return ResponseEntity.ok()
+                .header("X-Trace-Id", requestTraceId)
+                .body(new AdminResponse("Scenario " + scenarioId + " removed successfully"));
+    }
+
+    @GetMapping("/connections")
+    @Operation(summary = "Get per-connection stream usage", description = "Retrieves in-flight, peak and total requests per client connection (HTTP/1.1 or h2c)")
+    public ResponseEntity<List<ConnectionStreamStats>> getConnectionStats(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId) {
+        
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        
+        return ResponseEntity.ok()
+                .header("X-Trace-Id", requestTraceId)
+                .body(connectionStreamTracker.getConnectionStats());
+    }
+
     @PostMapping("/reset")
     @Operation(summary = "Reset service state", description = "Resets the service state including request history and configuration")
     public ResponseEntity<AdminResponse> resetService(
@@ -66,6 +155,8 @@ public class AdminController {
         
         mockUidaiService.clearRequestHistory();
         mockConfigService.resetConfig();
+        queueingLatencySimulator.reset();
+        connectionStreamTracker.reset();
         
         return ResponseEntity.ok()
                 .header("X-Trace-Id", requestTraceId)
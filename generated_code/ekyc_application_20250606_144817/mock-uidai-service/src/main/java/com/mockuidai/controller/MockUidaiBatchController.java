@@ -0,0 +1,71 @@
+package com.mockuidai.controller;
+
+import com.mockuidai.dto.UidaiBatchInitiateRequest;
+import com.mockuidai.dto.UidaiBatchResponse;
+import com.mockuidai.dto.UidaiBatchVerifyRequest;
+import com.mockuidai.dto.UidaiInitiateResponse;
+import com.mockuidai.dto.UidaiVerifyResponse;
+import com.mockuidai.service.MockUidaiService;
+import com.mockuidai.util.TraceLoggerUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Batch variants of the OTP initiation and verification endpoints. Each item is
+ * processed exactly as the single-call endpoint would process it, and answered with the
+ * status and body that call would have returned; the batch itself returns 200 once it
+ * passes validation, or 503 if the simulated UIDAI queue rejects it.
+ */
+@RestController
+@RequestMapping("/api/uidai/internal/v1/ekyc")
+@RequiredArgsConstructor
+@Tag(name = "UIDAI eKYC Batch API", description = "Mock UIDAI eKYC batch endpoints for bulk onboarding")
+public class MockUidaiBatchController {
+
+    private final MockUidaiService mockUidaiService;
+    private final TraceLoggerUtil logger;
+
+    @PostMapping("/initiate/batch")
+    @Operation(summary = "Initiate OTPs in bulk", description = "Initiates OTP generation for many Aadhaar/VIDs in one call")
+    public ResponseEntity<UidaiBatchResponse<UidaiInitiateResponse>> initiateOtpBatch(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
+            @Valid @RequestBody UidaiBatchInitiateRequest request) {
+
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        logger.info(requestTraceId, "Received OTP initiation batch of {} items for parent process: {}",
+                request.getItems().size(), request.getParentProcessId());
+
+        ResponseEntity<UidaiBatchResponse<UidaiInitiateResponse>> response =
+                mockUidaiService.initiateOtpBatch(requestTraceId, scenarioId, request);
+
+        return ResponseEntity.status(response.getStatusCode())
+                .header("X-Trace-Id", requestTraceId)
+                .body(response.getBody());
+    }
+
+    @PostMapping("/verify/batch")
+    @Operation(summary = "Verify OTPs in bulk", description = "Verifies many OTPs in one call and returns eKYC data per item")
+    public ResponseEntity<UidaiBatchResponse<UidaiVerifyResponse>> verifyOtpBatch(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
+            @Valid @RequestBody UidaiBatchVerifyRequest request) {
+
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+        logger.info(requestTraceId, "Received OTP verification batch of {} items for parent process: {}",
+                request.getItems().size(), request.getParentProcessId());
+
+        ResponseEntity<UidaiBatchResponse<UidaiVerifyResponse>> response =
+                mockUidaiService.verifyOtpBatch(requestTraceId, scenarioId, request);
+
+        return ResponseEntity.status(response.getStatusCode())
+                .header("X-Trace-Id", requestTraceId)
+                .body(response.getBody());
+    }
+}
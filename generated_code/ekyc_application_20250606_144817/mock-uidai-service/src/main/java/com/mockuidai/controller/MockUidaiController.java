@@ -4,16 +4,30 @@ import com.mockuidai.dto.UidaiInitiateRequest;
 import com.mockuidai.dto.UidaiInitiateResponse;
 import com.mockuidai.dto.UidaiVerifyRequest;
 import com.mockuidai.dto.UidaiVerifyResponse;
+import com.mockuidai.enums.UidaiResponseStatus;
 import com.mockuidai.service.MockUidaiService;
 import com.mockuidai.util.TraceLoggerUtil;
+import com.mockuidai.util.UidaiXmlCodec;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/uidai/internal/v1/ekyc")
@@ -23,18 +37,21 @@ public class MockUidaiController {
 
     private final MockUidaiService mockUidaiService;
     private final TraceLoggerUtil logger;
+    private final UidaiXmlCodec xmlCodec;
+    private final Validator validator;
 
     @PostMapping("/initiate")
     @Operation(summary = "Initiate OTP for eKYC", description = "Initiates OTP generation for Aadhaar/VID verification")
     public ResponseEntity<UidaiInitiateResponse> initiateOtp(
             @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
             @Valid @RequestBody UidaiInitiateRequest request) {
         
         String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
         logger.info(requestTraceId, "Received OTP initiation request for aadhaar/VID: {}", 
                 logger.maskPii(request.getAadhaarOrVid()));
         
-        ResponseEntity<UidaiInitiateResponse> response = mockUidaiService.initiateOtp(requestTraceId, request);
+        ResponseEntity<UidaiInitiateResponse> response = mockUidaiService.initiateOtp(requestTraceId, scenarioId, request);
         
         logger.info(requestTraceId, "Completed OTP initiation with status: {}", 
                 response.getBody() != null ? response.getBody().getStatus() : "N/A");
@@ -48,13 +65,14 @@ public class MockUidaiController {
     @Operation(summary = "Verify OTP and retrieve eKYC", description = "Verifies OTP and returns eKYC data if successful")
     public ResponseEntity<UidaiVerifyResponse> verifyOtp(
             @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
             @Valid @RequestBody UidaiVerifyRequest request) {
         
         String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
         logger.info(requestTraceId, "Received OTP verification request for referenceId: {}, OTP: {}", 
                 request.getReferenceId(), logger.maskPii(request.getOtp()));
         
-        ResponseEntity<UidaiVerifyResponse> response = mockUidaiService.verifyOtp(requestTraceId, request);
+        ResponseEntity<UidaiVerifyResponse> response = mockUidaiService.verifyOtp(requestTraceId, scenarioId, request);
         
         logger.info(requestTraceId, "Completed OTP verification with status: {}", 
                 response.getBody() != null ? response.getBody().getStatus() : "N/A");
@@ -63,4 +81,111 @@ public class MockUidaiController {
                 .header("X-Trace-Id", requestTraceId)
                 .body(response.getBody());
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/initiate", consumes = MediaType.APPLICATION_XML_VALUE, produces = MediaType.APPLICATION_XML_VALUE)
+    @Operation(summary = "Initiate OTP for eKYC (XML)", description = "Auth-API-style XML variant of the OTP initiation endpoint")
+    public ResponseEntity<byte[]> initiateOtpXml(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
+            HttpServletRequest httpRequest) throws IOException, XMLStreamException {
+
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+
+        UidaiInitiateRequest request;
+        try {
+            request = xmlCodec.readInitiateRequest(httpRequest.getInputStream());
+        } catch (XMLStreamException e) {
+            logger.warn(requestTraceId, "Rejected malformed XML OTP initiation request: {}", e.getMessage());
+            return xmlInitiateResponse(requestTraceId, HttpStatus.BAD_REQUEST, invalidInitiateRequest("Malformed XML request"));
+        }
+
+        String violations = describeViolations(request);
+        if (violations != null) {
+            return xmlInitiateResponse(requestTraceId, HttpStatus.BAD_REQUEST, invalidInitiateRequest(violations));
+        }
+
+        logger.info(requestTraceId, "Received XML OTP initiation request for aadhaar/VID: {}",
+                logger.maskPii(request.getAadhaarOrVid()));
+
+        ResponseEntity<UidaiInitiateResponse> response = mockUidaiService.initiateOtp(requestTraceId, scenarioId, request);
+        return xmlInitiateResponse(requestTraceId, response.getStatusCode(), response.getBody());
+    }
+
+    @PostMapping(value = "/verify", consumes = MediaType.APPLICATION_XML_VALUE, produces = MediaType.APPLICATION_XML_VALUE)
+    @Operation(summary = "Verify OTP and retrieve eKYC (XML)", description = "Auth-API-style XML variant of the OTP verification endpoint")
+    public ResponseEntity<byte[]> verifyOtpXml(
+            @RequestHeader(value = "X-Trace-Id", required = false) String traceId,
+            @RequestHeader(value = "X-Mock-Scenario", required = false) String scenarioId,
+            HttpServletRequest httpRequest) throws IOException, XMLStreamException {
+
+        String requestTraceId = traceId != null ? traceId : UUID.randomUUID().toString();
+
+        UidaiVerifyRequest request;
+        try {
+            request = xmlCodec.readVerifyRequest(httpRequest.getInputStream());
+        } catch (XMLStreamException e) {
+            logger.warn(requestTraceId, "Rejected malformed XML OTP verification request: {}", e.getMessage());
+            return xmlVerifyResponse(requestTraceId, HttpStatus.BAD_REQUEST, invalidVerifyRequest("Malformed XML request"));
+        }
+
+        String violations = describeViolations(request);
+        if (violations != null) {
+            return xmlVerifyResponse(requestTraceId, HttpStatus.BAD_REQUEST, invalidVerifyRequest(violations));
+        }
+
+        logger.info(requestTraceId, "Received XML OTP verification request for referenceId: {}, OTP: {}",
+                request.getReferenceId(), logger.maskPii(request.getOtp()));
+
+        ResponseEntity<UidaiVerifyResponse> response = mockUidaiService.verifyOtp(requestTraceId, scenarioId, request);
+        return xmlVerifyResponse(requestTraceId, response.getStatusCode(), response.getBody());
+    }
+
+    private <T> String describeViolations(T request) {
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private UidaiInitiateResponse invalidInitiateRequest(String errorMessage) {
+        return UidaiInitiateResponse.builder()
+                .status(UidaiResponseStatus.INVALID_REQUEST.name())
+                .timestamp(Instant.now())
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private UidaiVerifyResponse invalidVerifyRequest(String errorMessage) {
+        return UidaiVerifyResponse.builder()
+                .status(UidaiResponseStatus.INVALID_REQUEST.name())
+                .timestamp(Instant.now())
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private ResponseEntity<byte[]> xmlInitiateResponse(String traceId, HttpStatusCode status,
+                                                       UidaiInitiateResponse body) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        xmlCodec.writeInitiateResponse(body, out);
+        logger.info(traceId, "Completed XML OTP initiation with status: {}", body.getStatus());
+        return ResponseEntity.status(status)
+                .header("X-Trace-Id", traceId)
+                .contentType(MediaType.APPLICATION_XML)
+                .body(out.toByteArray());
+    }
+
+    private ResponseEntity<byte[]> xmlVerifyResponse(String traceId, HttpStatusCode status,
+                                                     UidaiVerifyResponse body) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        xmlCodec.writeVerifyResponse(body, out);
+        logger.info(traceId, "Completed XML OTP verification with status: {}", body.getStatus());
+        return ResponseEntity.status(status)
+                .header("X-Trace-Id", traceId)
+                .contentType(MediaType.APPLICATION_XML)
+                .body(out.toByteArray());
+    }
+}
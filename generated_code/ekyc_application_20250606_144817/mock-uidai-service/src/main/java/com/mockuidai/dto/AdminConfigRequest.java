@@ -1,5 +1,6 @@
 package com.mockuidai.dto;
 
+import com.mockuidai.enums.LatencyModel;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +17,30 @@ public class AdminConfigRequest {
     @Schema(description = "Simulated latency in milliseconds", example = "500")
     private Integer simulatedLatencyMs;
 
+    @Schema(description = "Uniform jitter applied around simulatedLatencyMs, in milliseconds", example = "100")
+    private Integer latencyJitterMs;
+
     @Schema(description = "Probability of generating random errors (0.0 to 1.0)", example = "0.1")
     private Double errorProbability;
+
+    @Schema(description = "Latency model: FIXED uses simulatedLatencyMs, QUEUEING simulates an M/M/c queue", example = "QUEUEING")
+    private LatencyModel latencyModel;
+
+    @Schema(description = "Requests per second each simulated server completes on average (QUEUEING model)", example = "2.5")
+    private Double serviceRatePerSecond;
+
+    @Schema(description = "Number of simulated servers working in parallel (QUEUEING model)", example = "8")
+    private Integer serverCount;
+
+    @Schema(description = "Maximum number of requests waiting for a server before new ones are rejected (0 means unbounded)", example = "200")
+    private Integer maxQueueLength;
+
+    @Schema(description = "Size of each response body chunk in bytes when slow-drip is enabled (0 disables slow-drip)", example = "16")
+    private Integer dripChunkBytes;
+
+    @Schema(description = "Delay between response body chunks in milliseconds", example = "200")
+    private Integer dripChunkDelayMs;
+
+    @Schema(description = "Bandwidth cap for response bodies in bytes per second (0 means uncapped)", example = "64")
+    private Integer dripBytesPerSecond;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.mockuidai.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Stream usage of a single client connection")
+public class ConnectionStreamStats {
+
+    @Schema(description = "Container-assigned connection identifier", example = "12")
+    private String connectionId;
+
+    @Schema(description = "Protocol negotiated on the connection", example = "h2c")
+    private String protocol;
+
+    @Schema(description = "Requests currently in flight on the connection", example = "37")
+    private int activeStreams;
+
+    @Schema(description = "Highest number of concurrent requests seen on the connection", example = "64")
+    private int peakStreams;
+
+    @Schema(description = "Requests served on the connection", example = "5210")
+    private long totalStreams;
+
+    @Schema(description = "Concurrent streams the connection may carry (1 for HTTP/1.1)", example = "100")
+    private int maxConcurrentStreams;
+
+    @Schema(description = "Peak streams divided by the concurrent stream limit", example = "0.64")
+    private double peakUtilisation;
+
+    @Schema(description = "When the last request on the connection started or finished")
+    private Instant lastActivity;
+}
@@ -0,0 +1,46 @@
+package com.mockuidai.dto;
+
+import com.mockuidai.enums.LatencyModel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Current state of the simulated upstream capacity")
+public class LatencyModelStats {
+
+    @Schema(description = "Active latency model", example = "QUEUEING")
+    private LatencyModel latencyModel;
+
+    @Schema(description = "Number of simulated servers", example = "8")
+    private int serverCount;
+
+    @Schema(description = "Requests per second each server completes on average", example = "2.0")
+    private double serviceRatePerSecond;
+
+    @Schema(description = "Requests currently being served", example = "8")
+    private int busyServers;
+
+    @Schema(description = "Requests currently waiting for a server", example = "12")
+    private int queuedRequests;
+
+    @Schema(description = "Busy servers divided by server count", example = "1.0")
+    private double utilisation;
+
+    @Schema(description = "Requests completed since the last reset", example = "1500")
+    private long completedRequests;
+
+    @Schema(description = "Requests rejected because the queue was full", example = "3")
+    private long rejectedRequests;
+
+    @Schema(description = "Exponentially weighted average time spent waiting for a server", example = "740.5")
+    private double averageQueueWaitMs;
+
+    @Schema(description = "Exponentially weighted average time spent being served", example = "498.2")
+    private double averageServiceTimeMs;
+}
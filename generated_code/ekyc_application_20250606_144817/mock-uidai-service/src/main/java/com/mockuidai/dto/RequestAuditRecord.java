@@ -26,6 +26,9 @@ public class RequestAuditRecord {
     @Schema(description = "Operation type (initiate/verify)")
     private String operation;
 
+    @Schema(description = "Scenario selected by the X-Mock-Scenario header, if any")
+    private String scenario;
+
     @Schema(description = "Request data with PII masked")
     private Object request;
 
@@ -1,5 +1,6 @@
 package com.mockuidai.dto;
 
+import com.mockuidai.enums.LatencyModel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,5 +12,17 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ServiceConfig {
     private int simulatedLatencyMs;
+    private int latencyJitterMs;
     private double errorProbability;
+
+    // Queueing latency model settings, used when latencyModel == QUEUEING
+    private LatencyModel latencyModel;
+    private double serviceRatePerSecond;
+    private int serverCount;
+    private int maxQueueLength;
+
+    // Slow-drip response body settings; dripChunkBytes == 0 disables dripping
+    private int dripChunkBytes;
+    private int dripChunkDelayMs;
+    private int dripBytesPerSecond;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.mockuidai.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Batch of OTP initiation requests sent in one call")
+public class UidaiBatchInitiateRequest {
+
+    @Schema(description = "Bulk onboarding process the items belong to, echoed in the response", example = "PROC20250523001")
+    private String parentProcessId;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 500, message = "A batch holds at most 500 items")
+    @Schema(description = "OTP initiation requests, answered in the same order", required = true)
+    private List<@Valid UidaiInitiateRequest> items;
+}
@@ -0,0 +1,26 @@
+package com.mockuidai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result of one item of a batch")
+public class UidaiBatchItemResult<T> {
+
+    @Schema(description = "Position of the item in the request", example = "0", required = true)
+    private int index;
+
+    @Schema(description = "HTTP status the item would have received as a single call", example = "200", required = true)
+    private int statusCode;
+
+    @Schema(description = "Response the item would have received as a single call", required = true)
+    private T response;
+}
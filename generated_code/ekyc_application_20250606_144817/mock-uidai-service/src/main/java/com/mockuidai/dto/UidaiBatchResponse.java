@@ -0,0 +1,31 @@
+package com.mockuidai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Per-item results of a batch, in request order")
+public class UidaiBatchResponse<T> {
+
+    @Schema(description = "Bulk onboarding process from the request", example = "PROC20250523001")
+    private String parentProcessId;
+
+    @Schema(description = "Timestamp of the response", example = "2025-05-23T10:00:00Z", required = true)
+    private String timestamp;
+
+    @Schema(description = "One result per request item; empty if the whole batch was rejected", required = true)
+    private List<UidaiBatchItemResult<T>> results;
+
+    @Schema(description = "Error message in case the whole batch was rejected", example = "UIDAI service overloaded")
+    private String errorMessage;
+}
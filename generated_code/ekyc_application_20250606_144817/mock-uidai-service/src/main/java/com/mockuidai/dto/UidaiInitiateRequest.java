@@ -1,5 +1,7 @@
 package com.mockuidai.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -12,15 +14,16 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 @Schema(description = "Request to initiate OTP for eKYC")
 public class UidaiInitiateRequest {
 
     @NotBlank(message = "Aadhaar/VID is required")
     @Pattern(regexp = "^[0-9]{12}$", message = "Aadhaar/VID must be 12 digits")
-    @Schema(description = "12-digit Aadhaar number or VID", example = "123456789012")
+    @JsonAlias("idNumber")
+    @Schema(description = "12-digit Aadhaar number or VID, also accepted as idNumber", example = "123456789012")
     private String aadhaarOrVid;
 
-    @NotBlank(message = "Transaction ID is required")
-    @Schema(description = "Unique transaction identifier", example = "TXN100001")
+    @Schema(description = "Unique transaction identifier, if the client assigns one", example = "TXN100001")
     private String transactionId;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.mockuidai.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -12,11 +14,13 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 @Schema(description = "Request to verify OTP and retrieve eKYC data")
 public class UidaiVerifyRequest {
 
     @NotBlank(message = "Reference ID is required")
-    @Schema(description = "Reference ID received during OTP initiation", example = "REF1234567890")
+    @JsonAlias("referenceNumber")
+    @Schema(description = "Reference ID received during OTP initiation, also accepted as referenceNumber", example = "REF1234567890")
     private String referenceId;
 
     @NotBlank(message = "OTP is required")
@@ -0,0 +1,9 @@
+package com.mockuidai.enums;
+
+public enum LatencyModel {
+    // Every request waits simulatedLatencyMs regardless of load
+    FIXED,
+    
+    // Requests queue for a fixed number of servers with exponential service times (M/M/c)
+    QUEUEING
+}
@@ -0,0 +1,81 @@
+package com.mockuidai.filter;
+
+import com.mockuidai.service.ConnectionStreamTracker;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts in-flight requests per client connection for {@link ConnectionStreamTracker}.
+ * Runs ahead of the other filters so that responses completed asynchronously (slow-drip)
+ * are still counted until their last byte is written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class ConnectionStreamTrackingFilter extends OncePerRequestFilter {
+
+    private final ConnectionStreamTracker connectionStreamTracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServletConnection connection = request.getServletConnection();
+        String connectionId = connection.getConnectionId();
+
+        connectionStreamTracker.streamStarted(connectionId, connection.getProtocol());
+        boolean finishedAsync = false;
+        try {
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new StreamFinishedListener(connectionId));
+                finishedAsync = true;
+            }
+        } finally {
+            if (!finishedAsync) {
+                connectionStreamTracker.streamFinished(connectionId);
+            }
+        }
+    }
+
+    private final class StreamFinishedListener implements AsyncListener {
+
+        private final String connectionId;
+
+        private StreamFinishedListener(String connectionId) {
+            this.connectionId = connectionId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            connectionStreamTracker.streamFinished(connectionId);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows once the container finishes the timed-out request
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows once the container finishes the failed request
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.mockuidai.filter;
+
+import com.mockuidai.dto.ServiceConfig;
+import com.mockuidai.service.MockConfigService;
+import com.mockuidai.util.TraceLoggerUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes eKYC response bodies in small chunks with a delay between chunks and an optional
+ * bandwidth cap, so clients can be tested against upstreams that are slow to send the body
+ * rather than slow to start responding.
+ *
+ * The body is written through a non-blocking servlet output stream from a small scheduler,
+ * so a dripping response does not hold a container thread between chunks.
+ */
+@Component
+public class SlowDripResponseFilter extends OncePerRequestFilter implements DisposableBean {
+
+    private static final String SCENARIO_HEADER = "X-Mock-Scenario";
+    private static final String EKYC_PATH_PREFIX = "/api/uidai/internal/v1/ekyc/";
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 30_000;
+
+    private final MockConfigService configService;
+    private final TraceLoggerUtil logger;
+    private final ScheduledExecutorService dripScheduler;
+
+    public SlowDripResponseFilter(MockConfigService configService, TraceLoggerUtil logger) {
+        this.configService = configService;
+        this.logger = logger;
+        this.dripScheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "slow-drip");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(EKYC_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServiceConfig config = configService.resolveConfig(request.getHeader(SCENARIO_HEADER));
+        if (config.getDripChunkBytes() <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, cachingResponse);
+
+        byte[] body = cachingResponse.getContentAsByteArray();
+        if (body.length == 0) {
+            cachingResponse.copyBodyToResponse();
+            return;
+        }
+
+        DripSettings settings = new DripSettings(config.getDripChunkBytes(),
+                config.getDripChunkDelayMs(), config.getDripBytesPerSecond());
+
+        logger.info(response.getHeader("X-Trace-Id"), "Slow-dripping {} byte response in {} byte chunks",
+                body.length, settings.chunkBytes());
+
+        // Headers and status are already on the underlying response; no Content-Length is set,
+        // so the body goes out chunked and the client sees each chunk as it arrives
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(settings.expectedDurationMs(body.length) + ASYNC_TIMEOUT_MARGIN_MS);
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        outputStream.setWriteListener(new DripWriter(asyncContext, outputStream, body, settings));
+    }
+
+    @Override
+    public void destroy() {
+        dripScheduler.shutdownNow();
+    }
+
+    private record DripSettings(int chunkBytes, int chunkDelayMs, int bytesPerSecond) {
+
+        long delayAfterChunkMs(int chunkLength) {
+            long bandwidthDelayMs = bytesPerSecond > 0 ? (chunkLength * 1000L) / bytesPerSecond : 0;
+            return Math.max(chunkDelayMs, bandwidthDelayMs);
+        }
+
+        long expectedDurationMs(int bodyLength) {
+            int chunks = (bodyLength + chunkBytes - 1) / chunkBytes;
+            return chunks * delayAfterChunkMs(chunkBytes);
+        }
+    }
+
+    /**
+     * Writes one chunk per tick. The container calls onWritePossible when the stream becomes
+     * writable again; the scheduler resumes writing once the inter-chunk delay has elapsed.
+     */
+    private final class DripWriter implements WriteListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream outputStream;
+        private final byte[] body;
+        private final DripSettings settings;
+
+        private int offset;
+        private boolean delayPending;
+        private boolean completed;
+
+        DripWriter(AsyncContext asyncContext, ServletOutputStream outputStream,
+                   byte[] body, DripSettings settings) {
+            this.asyncContext = asyncContext;
+            this.outputStream = outputStream;
+            this.body = body;
+            this.settings = settings;
+        }
+
+        @Override
+        public synchronized void onWritePossible() throws IOException {
+            if (!delayPending) {
+                writeNextChunk();
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            logger.warn("System", "Slow-drip write aborted after {} of {} bytes: {}",
+                    offset, body.length, throwable.getMessage());
+            complete();
+        }
+
+        private synchronized void resume() {
+            delayPending = false;
+            try {
+                writeNextChunk();
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+
+        private void writeNextChunk() throws IOException {
+            if (completed || !outputStream.isReady()) {
+                // Not writable yet; the container calls onWritePossible when it is
+                return;
+            }
+
+            if (offset >= body.length) {
+                complete();
+                return;
+            }
+
+            int length = Math.min(settings.chunkBytes(), body.length - offset);
+            outputStream.write(body, offset, length);
+            offset += length;
+
+            if (outputStream.isReady()) {
+                outputStream.flush();
+            }
+
+            delayPending = true;
+            dripScheduler.schedule(this::resume, settings.delayAfterChunkMs(length), TimeUnit.MILLISECONDS);
+        }
+
+        private void complete() {
+            if (!completed) {
+                completed = true;
+                asyncContext.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mockuidai.service;
+
+import com.mockuidai.dto.ConnectionStreamStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how many requests are in flight on each client connection, so HTTP/2 stream
+ * multiplexing can be compared with HTTP/1.1 connection pools (one stream per connection).
+ * Connections with no activity for a while are dropped from the report.
+ */
+@Component
+public class ConnectionStreamTracker {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(2);
+
+    private final Map<String, ConnectionUsage> connections = new ConcurrentHashMap<>();
+    private final int http2MaxConcurrentStreams;
+
+    public ConnectionStreamTracker(@Value("${mock-uidai.http2.max-concurrent-streams:100}") int http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    public void streamStarted(String connectionId, String protocol) {
+        // Start inside compute so the idle sweep cannot drop the entry between lookup and start
+        connections.compute(connectionId, (id, usage) -> {
+            ConnectionUsage current = usage != null ? usage : new ConnectionUsage(protocol);
+            current.start();
+            return current;
+        });
+    }
+
+    public void streamFinished(String connectionId) {
+        ConnectionUsage usage = connections.get(connectionId);
+        if (usage != null) {
+            usage.finish();
+        }
+    }
+
+    public List<ConnectionStreamStats> getConnectionStats() {
+        Instant idleCutoff = Instant.now().minus(IDLE_EXPIRY);
+        for (String connectionId : connections.keySet()) {
+            // Recheck under the entry's lock, so a stream starting concurrently keeps it
+            connections.computeIfPresent(connectionId,
+                    (id, usage) -> usage.isIdleSince(idleCutoff) ? null : usage);
+        }
+
+        return connections.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey(), maxStreamsFor(entry.getValue().protocol)))
+                .sorted(Comparator.comparingInt(ConnectionStreamStats::getActiveStreams).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        connections.clear();
+    }
+
+    private int maxStreamsFor(String protocol) {
+        return protocol != null && protocol.startsWith("h2") ? http2MaxConcurrentStreams : 1;
+    }
+
+    private static final class ConnectionUsage {
+        private final String protocol;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicLong total = new AtomicLong();
+        private volatile Instant lastActivity = Instant.now();
+
+        private ConnectionUsage(String protocol) {
+            this.protocol = protocol;
+        }
+
+        private void start() {
+            int current = active.incrementAndGet();
+            peak.accumulateAndGet(current, Math::max);
+            total.incrementAndGet();
+            lastActivity = Instant.now();
+        }
+
+        private void finish() {
+            active.decrementAndGet();
+            lastActivity = Instant.now();
+        }
+
+        private boolean isIdleSince(Instant cutoff) {
+            return active.get() == 0 && lastActivity.isBefore(cutoff);
+        }
+
+        private ConnectionStreamStats toStats(String connectionId, int maxConcurrentStreams) {
+            int peakStreams = peak.get();
+            return ConnectionStreamStats.builder()
+                    .connectionId(connectionId)
+                    .protocol(protocol)
+                    .activeStreams(active.get())
+                    .peakStreams(peakStreams)
+                    .totalStreams(total.get())
+                    .maxConcurrentStreams(maxConcurrentStreams)
+                    .peakUtilisation((double) peakStreams / maxConcurrentStreams)
+                    .lastActivity(lastActivity)
+                    .build();
+        }
+    }
+}
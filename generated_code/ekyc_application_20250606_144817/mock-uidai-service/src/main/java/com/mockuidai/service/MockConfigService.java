@@ -2,10 +2,14 @@ package com.mockuidai.service;
 
 import com.mockuidai.dto.AdminConfigRequest;
 import com.mockuidai.dto.ServiceConfig;
+import com.mockuidai.enums.LatencyModel;
 import com.mockuidai.util.TraceLoggerUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class MockConfigService {
@@ -13,35 +17,147 @@ public class MockConfigService {
     private final TraceLoggerUtil logger;
     
     // Default configuration
-    private ServiceConfig config = ServiceConfig.builder()
-            .simulatedLatencyMs(500)
-            .errorProbability(0.0)
-            .build();
+    private ServiceConfig config = defaultConfig();
+    
+    // Named per-request scenarios; replaced wholesale on change so lookups need no locking
+    private volatile Map<String, ServiceConfig> scenarios = Map.of();
+
+    /**
+     * Whether the id is reserved and cannot name a scenario, because it already names the
+     * latency station shared by requests without a scenario.
+     */
+    public boolean isReservedScenarioId(String scenarioId) {
+        return QueueingLatencySimulator.DEFAULT_STATION.equals(scenarioId);
+    }
 
     public ServiceConfig getConfig() {
         return config;
     }
 
+    /**
+     * Returns the scenario id if it is registered, or null so the request uses the global
+     * configuration.
+     */
+    public String resolveScenarioId(String scenarioId) {
+        return scenarioId != null && scenarios.containsKey(scenarioId) ? scenarioId : null;
+    }
+
+    /**
+     * Resolves the configuration for a request. Unknown or absent scenario ids fall back to
+     * the global configuration.
+     */
+    public ServiceConfig resolveConfig(String scenarioId) {
+        if (scenarioId == null) {
+            return config;
+        }
+        ServiceConfig scenarioConfig = scenarios.get(scenarioId);
+        return scenarioConfig != null ? scenarioConfig : config;
+    }
+
     public void updateConfig(AdminConfigRequest configRequest) {
+        applyOverrides(config, configRequest);
+        
+        logger.info("System", "Configuration updated: {}", config);
+    }
+
+    /**
+     * Registers or replaces a scenario. The scenario starts from the default configuration,
+     * not the current global one, so it behaves the same regardless of earlier admin changes.
+     */
+    public ServiceConfig registerScenario(String scenarioId, AdminConfigRequest configRequest) {
+        if (isReservedScenarioId(scenarioId)) {
+            throw new IllegalArgumentException("Scenario id " + scenarioId + " is reserved");
+        }
+        ServiceConfig scenarioConfig = defaultConfig();
+        applyOverrides(scenarioConfig, configRequest);
+        
+        synchronized (this) {
+            Map<String, ServiceConfig> updated = new HashMap<>(scenarios);
+            updated.put(scenarioId, scenarioConfig);
+            scenarios = Map.copyOf(updated);
+        }
+        
+        logger.info("System", "Scenario {} registered: {}", scenarioId, scenarioConfig);
+        return scenarioConfig;
+    }
+
+    public boolean removeScenario(String scenarioId) {
+        synchronized (this) {
+            if (!scenarios.containsKey(scenarioId)) {
+                return false;
+            }
+            Map<String, ServiceConfig> updated = new HashMap<>(scenarios);
+            updated.remove(scenarioId);
+            scenarios = Map.copyOf(updated);
+        }
+        
+        logger.info("System", "Scenario {} removed", scenarioId);
+        return true;
+    }
+
+    public Map<String, ServiceConfig> getScenarios() {
+        return scenarios;
+    }
+
+    private void applyOverrides(ServiceConfig config, AdminConfigRequest configRequest) {
         if (configRequest.getSimulatedLatencyMs() != null) {
             config.setSimulatedLatencyMs(configRequest.getSimulatedLatencyMs());
         }
         
+        if (configRequest.getLatencyJitterMs() != null) {
+            config.setLatencyJitterMs(Math.max(0, configRequest.getLatencyJitterMs()));
+        }
+        
         if (configRequest.getErrorProbability() != null) {
             // Ensure error probability is between 0 and 1
             double probability = Math.min(1.0, Math.max(0.0, configRequest.getErrorProbability()));
             config.setErrorProbability(probability);
         }
         
-        logger.info("System", "Configuration updated: {}", config);
+        if (configRequest.getLatencyModel() != null) {
+            config.setLatencyModel(configRequest.getLatencyModel());
+        }
+        
+        if (configRequest.getServiceRatePerSecond() != null && configRequest.getServiceRatePerSecond() > 0) {
+            config.setServiceRatePerSecond(configRequest.getServiceRatePerSecond());
+        }
+        
+        if (configRequest.getServerCount() != null && configRequest.getServerCount() > 0) {
+            config.setServerCount(configRequest.getServerCount());
+        }
+        
+        if (configRequest.getMaxQueueLength() != null) {
+            config.setMaxQueueLength(Math.max(0, configRequest.getMaxQueueLength()));
+        }
+        
+        if (configRequest.getDripChunkBytes() != null) {
+            config.setDripChunkBytes(Math.max(0, configRequest.getDripChunkBytes()));
+        }
+        
+        if (configRequest.getDripChunkDelayMs() != null) {
+            config.setDripChunkDelayMs(Math.max(0, configRequest.getDripChunkDelayMs()));
+        }
+        
+        if (configRequest.getDripBytesPerSecond() != null) {
+            config.setDripBytesPerSecond(Math.max(0, configRequest.getDripBytesPerSecond()));
+        }
     }
 
     public void resetConfig() {
-        config = ServiceConfig.builder()
+        config = defaultConfig();
+        scenarios = Map.of();
+        
+        logger.info("System", "Configuration reset to defaults: {}", config);
+    }
+
+    private ServiceConfig defaultConfig() {
+        return ServiceConfig.builder()
                 .simulatedLatencyMs(500)
                 .errorProbability(0.0)
+                .latencyModel(LatencyModel.FIXED)
+                .serviceRatePerSecond(2.0)
+                .serverCount(8)
+                .maxQueueLength(0)
                 .build();
-        
-        logger.info("System", "Configuration reset to defaults: {}", config);
     }
 }
\ No newline at end of file
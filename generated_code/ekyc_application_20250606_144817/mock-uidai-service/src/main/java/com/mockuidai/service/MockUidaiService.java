@@ -1,11 +1,13 @@
 package com.mockuidai.service;
 
 import com.mockuidai.dto.*;
+import com.mockuidai.enums.LatencyModel;
 import com.mockuidai.enums.UidaiResponseStatus;
 import com.mockuidai.util.MockDataUtil;
 import com.mockuidai.util.TraceLoggerUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -13,12 +15,14 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class MockUidaiService {
 
     private final MockConfigService configService;
+    private final QueueingLatencySimulator queueingLatencySimulator;
     private final TraceLoggerUtil logger;
     private final MockDataUtil mockDataUtil;
     
@@ -28,12 +32,144 @@ public class MockUidaiService {
     // Request audit history
     private final List<RequestAuditRecord> requestHistory = new CopyOnWriteArrayList<>();
 
-    public ResponseEntity<UidaiInitiateResponse> initiateOtp(String traceId, UidaiInitiateRequest request) {
+    public ResponseEntity<UidaiInitiateResponse> initiateOtp(String traceId, String scenarioId,
+                                                             UidaiInitiateRequest request) {
+        String scenario = configService.resolveScenarioId(scenarioId);
+        ServiceConfig config = configService.resolveConfig(scenario);
+        
+        // Add artificial delay for realism
+        boolean admitted = simulateLatency(scenario, config);
+        
+        // Record request for audit
+        recordRequest(traceId, scenario, "initiate", request);
+        
+        if (!admitted) {
+            logger.warn(traceId, "Initiate request rejected, simulated UIDAI queue is full");
+            
+            UidaiInitiateResponse overloadedResponse = UidaiInitiateResponse.builder()
+                    .status(UidaiResponseStatus.UIDAI_SERVICE_FAILURE.name())
+                    .timestamp(Instant.now())
+                    .errorMessage("UIDAI service overloaded")
+                    .build();
+            
+            recordResponse(traceId, overloadedResponse, HttpStatus.SERVICE_UNAVAILABLE);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(overloadedResponse);
+        }
+        
+        ResponseEntity<UidaiInitiateResponse> response = processInitiate(traceId, config, request);
+        recordResponse(traceId, response.getBody(), response.getStatusCode());
+        return response;
+    }
+
+    public ResponseEntity<UidaiVerifyResponse> verifyOtp(String traceId, String scenarioId,
+                                                         UidaiVerifyRequest request) {
+        String scenario = configService.resolveScenarioId(scenarioId);
+        ServiceConfig config = configService.resolveConfig(scenario);
+        
         // Add artificial delay for realism
-        simulateLatency();
+        boolean admitted = simulateLatency(scenario, config);
         
         // Record request for audit
-        recordRequest(traceId, "initiate", request);
+        recordRequest(traceId, scenario, "verify", request);
+        
+        if (!admitted) {
+            logger.warn(traceId, "Verify request rejected, simulated UIDAI queue is full");
+            
+            UidaiVerifyResponse overloadedResponse = UidaiVerifyResponse.builder()
+                    .status(UidaiResponseStatus.UIDAI_SERVICE_FAILURE.name())
+                    .timestamp(Instant.now())
+                    .errorMessage("UIDAI service overloaded")
+                    .build();
+            
+            recordResponse(traceId, overloadedResponse, HttpStatus.SERVICE_UNAVAILABLE);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(overloadedResponse);
+        }
+        
+        ResponseEntity<UidaiVerifyResponse> response = processVerify(traceId, config, request);
+        recordResponse(traceId, response.getBody(), response.getStatusCode());
+        return response;
+    }
+
+    /**
+     * Initiates OTPs for every item of a batch. The batch is admitted, and its latency
+     * simulated, once as a whole, which is what batching saves over single calls; each
+     * item is then processed exactly as a single call and answered with its status and
+     * body. A batch the queueing model rejects is answered 503 as a whole.
+     */
+    public ResponseEntity<UidaiBatchResponse<UidaiInitiateResponse>> initiateOtpBatch(
+            String traceId, String scenarioId, UidaiBatchInitiateRequest batchRequest) {
+        String scenario = configService.resolveScenarioId(scenarioId);
+        ServiceConfig config = configService.resolveConfig(scenario);
+        
+        boolean admitted = simulateLatency(scenario, config);
+        recordRequest(traceId, scenario, "initiate_batch", batchRequest);
+        
+        if (!admitted) {
+            logger.warn(traceId, "Initiate batch rejected, simulated UIDAI queue is full");
+            return rejectedBatch(traceId, batchRequest.getParentProcessId());
+        }
+        
+        List<UidaiInitiateRequest> items = batchRequest.getItems();
+        List<UidaiBatchItemResult<UidaiInitiateResponse>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(toItemResult(i, processInitiate(traceId, config, items.get(i))));
+        }
+        
+        logger.info(traceId, "Processed OTP initiation batch of {} items for parent process: {}",
+                items.size(), batchRequest.getParentProcessId());
+        return completedBatch(traceId, batchRequest.getParentProcessId(), results);
+    }
+
+    /**
+     * Verifies OTPs for every item of a batch; see {@link #initiateOtpBatch}.
+     */
+    public ResponseEntity<UidaiBatchResponse<UidaiVerifyResponse>> verifyOtpBatch(
+            String traceId, String scenarioId, UidaiBatchVerifyRequest batchRequest) {
+        String scenario = configService.resolveScenarioId(scenarioId);
+        ServiceConfig config = configService.resolveConfig(scenario);
+        
+        boolean admitted = simulateLatency(scenario, config);
+        recordRequest(traceId, scenario, "verify_batch", batchRequest);
+        
+        if (!admitted) {
+            logger.warn(traceId, "Verify batch rejected, simulated UIDAI queue is full");
+            return rejectedBatch(traceId, batchRequest.getParentProcessId());
+        }
+        
+        List<UidaiVerifyRequest> items = batchRequest.getItems();
+        List<UidaiBatchItemResult<UidaiVerifyResponse>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(toItemResult(i, processVerify(traceId, config, items.get(i))));
+        }
+        
+        logger.info(traceId, "Processed OTP verification batch of {} items for parent process: {}",
+                items.size(), batchRequest.getParentProcessId());
+        return completedBatch(traceId, batchRequest.getParentProcessId(), results);
+    }
+
+    public List<RequestAuditRecord> getRequestHistory() {
+        return new ArrayList<>(requestHistory);
+    }
+
+    public void clearRequestHistory() {
+        requestHistory.clear();
+        otpReferences.clear();
+        logger.info("System", "Request history and OTP references cleared");
+    }
+
+    private ResponseEntity<UidaiInitiateResponse> processInitiate(String traceId, ServiceConfig config,
+                                                                  UidaiInitiateRequest request) {
+        // Random fault injection based on configured error probability
+        if (shouldInjectError(config)) {
+            logger.warn(traceId, "Injecting UIDAI service failure for initiate request");
+            
+            UidaiInitiateResponse injectedResponse = UidaiInitiateResponse.builder()
+                    .status(UidaiResponseStatus.UIDAI_SERVICE_FAILURE.name())
+                    .timestamp(Instant.now())
+                    .errorMessage("Injected UIDAI failure")
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(injectedResponse);
+        }
         
         // Check for system error simulation (Aadhaar/VID starting with 999)
         if (request.getAadhaarOrVid().startsWith("999")) {
@@ -44,8 +180,6 @@ public class MockUidaiService {
                     .status(UidaiResponseStatus.UIDAI_SERVICE_FAILURE.name())
                     .timestamp(Instant.now())
                     .build();
-            
-            recordResponse(traceId, errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
         
@@ -59,8 +193,6 @@ public class MockUidaiService {
                     .status(UidaiResponseStatus.OTP_GENERATION_FAILED.name())
                     .timestamp(Instant.now())
                     .build();
-            
-            recordResponse(traceId, failureResponse, HttpStatus.BAD_REQUEST);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(failureResponse);
         }
         
@@ -77,16 +209,22 @@ public class MockUidaiService {
                 .build();
         
         logger.info(traceId, "OTP initiated successfully with referenceId: {}", referenceId);
-        recordResponse(traceId, successResponse, HttpStatus.OK);
         return ResponseEntity.ok(successResponse);
     }
 
-    public ResponseEntity<UidaiVerifyResponse> verifyOtp(String traceId, UidaiVerifyRequest request) {
-        // Add artificial delay for realism
-        simulateLatency();
-        
-        // Record request for audit
-        recordRequest(traceId, "verify", request);
+    private ResponseEntity<UidaiVerifyResponse> processVerify(String traceId, ServiceConfig config,
+                                                              UidaiVerifyRequest request) {
+        // Random fault injection based on configured error probability
+        if (shouldInjectError(config)) {
+            logger.warn(traceId, "Injecting UIDAI service failure for verify request");
+            
+            UidaiVerifyResponse injectedResponse = UidaiVerifyResponse.builder()
+                    .status(UidaiResponseStatus.UIDAI_SERVICE_FAILURE.name())
+                    .timestamp(Instant.now())
+                    .errorMessage("Injected UIDAI failure")
+                    .build();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(injectedResponse);
+        }
         
         // Check for expired OTP case
         if ("REFEXPIRED001".equals(request.getReferenceId())) {
@@ -96,8 +234,6 @@ public class MockUidaiService {
                     .status(UidaiResponseStatus.EXPIRED_OTP.name())
                     .timestamp(Instant.now())
                     .build();
-            
-            recordResponse(traceId, expiredResponse, HttpStatus.BAD_REQUEST);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(expiredResponse);
         }
         
@@ -109,8 +245,6 @@ public class MockUidaiService {
                     .status(UidaiResponseStatus.INVALID_REFERENCE_ID.name())
                     .timestamp(Instant.now())
                     .build();
-            
-            recordResponse(traceId, invalidRefResponse, HttpStatus.BAD_REQUEST);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidRefResponse);
         }
         
@@ -122,8 +256,6 @@ public class MockUidaiService {
                     .status(UidaiResponseStatus.INVALID_OTP.name())
                     .timestamp(Instant.now())
                     .build();
-            
-            recordResponse(traceId, invalidOtpResponse, HttpStatus.BAD_REQUEST);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(invalidOtpResponse);
         }
         
@@ -138,30 +270,50 @@ public class MockUidaiService {
                 .build();
         
         logger.info(traceId, "OTP verified successfully for referenceId: {}", request.getReferenceId());
-        recordResponse(traceId, successResponse, HttpStatus.OK);
         return ResponseEntity.ok(successResponse);
     }
 
-    public List<RequestAuditRecord> getRequestHistory() {
-        return new ArrayList<>(requestHistory);
+    private <T> UidaiBatchItemResult<T> toItemResult(int index, ResponseEntity<T> response) {
+        return UidaiBatchItemResult.<T>builder()
+                .index(index)
+                .statusCode(response.getStatusCode().value())
+                .response(response.getBody())
+                .build();
     }
 
-    public void clearRequestHistory() {
-        requestHistory.clear();
-        otpReferences.clear();
-        logger.info("System", "Request history and OTP references cleared");
+    private <T> ResponseEntity<UidaiBatchResponse<T>> completedBatch(String traceId, String parentProcessId,
+                                                                     List<UidaiBatchItemResult<T>> results) {
+        UidaiBatchResponse<T> response = UidaiBatchResponse.<T>builder()
+                .parentProcessId(parentProcessId)
+                .timestamp(Instant.now().toString())
+                .results(results)
+                .build();
+        recordResponse(traceId, response, HttpStatus.OK);
+        return ResponseEntity.ok(response);
+    }
+
+    private <T> ResponseEntity<UidaiBatchResponse<T>> rejectedBatch(String traceId, String parentProcessId) {
+        UidaiBatchResponse<T> response = UidaiBatchResponse.<T>builder()
+                .parentProcessId(parentProcessId)
+                .timestamp(Instant.now().toString())
+                .results(List.of())
+                .errorMessage("UIDAI service overloaded")
+                .build();
+        recordResponse(traceId, response, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 
-    private void recordRequest(String traceId, String operation, Object request) {
+    private void recordRequest(String traceId, String scenarioId, String operation, Object request) {
         RequestAuditRecord record = new RequestAuditRecord();
         record.setTraceId(traceId);
         record.setTimestamp(Instant.now());
         record.setOperation(operation);
+        record.setScenario(scenarioId);
         record.setRequest(request);
         requestHistory.add(record);
     }
 
-    private void recordResponse(String traceId, Object response, HttpStatus status) {
+    private void recordResponse(String traceId, Object response, HttpStatusCode status) {
         // Find the matching request record and update it
         requestHistory.stream()
                 .filter(record -> record.getTraceId().equals(traceId) && record.getResponse() == null)
@@ -173,14 +325,33 @@ public class MockUidaiService {
                 });
     }
 
-    private void simulateLatency() {
-        int latencyMs = configService.getConfig().getSimulatedLatencyMs();
-        if (latencyMs > 0) {
-            try {
+    /**
+     * Delays the calling thread according to the configured latency model.
+     *
+     * @return false if the queueing model rejected the request because its queue is full
+     */
+    private boolean simulateLatency(String scenarioId, ServiceConfig config) {
+        try {
+            if (config.getLatencyModel() == LatencyModel.QUEUEING) {
+                return queueingLatencySimulator.simulate(scenarioId, config);
+            }
+            
+            int latencyMs = config.getSimulatedLatencyMs();
+            int jitterMs = config.getLatencyJitterMs();
+            if (jitterMs > 0) {
+                latencyMs += ThreadLocalRandom.current().nextInt(-jitterMs, jitterMs + 1);
+            }
+            if (latencyMs > 0) {
                 Thread.sleep(latencyMs);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        return true;
+    }
+
+    private boolean shouldInjectError(ServiceConfig config) {
+        double probability = config.getErrorProbability();
+        return probability > 0 && ThreadLocalRandom.current().nextDouble() < probability;
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.mockuidai.service;
+
+import com.mockuidai.dto.LatencyModelStats;
+import com.mockuidai.dto.ServiceConfig;
+import com.mockuidai.enums.LatencyModel;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Simulates an upstream with a fixed number of servers and exponentially distributed
+ * service times (an M/M/c queue when arrivals are random). Each request waits for a free
+ * server and then holds it for its service time, so latency stays close to 1/serviceRate
+ * below capacity and climbs steeply once callers push more concurrent work than there are
+ * servers.
+ *
+ * Each scenario gets its own set of servers so mixed workloads do not resize each other's
+ * capacity; requests without a scenario share the default station, whose id is therefore
+ * reserved and cannot be used by a scenario.
+ */
+@Component
+public class QueueingLatencySimulator {
+
+    public static final String DEFAULT_STATION = "default";
+
+    private static final double EWMA_WEIGHT = 0.05;
+
+    private final Map<String, Station> stations = new ConcurrentHashMap<>();
+
+    /**
+     * Blocks the calling thread for the time the request would spend queued and in service.
+     *
+     * @return false if the request was rejected because the queue is full
+     */
+    public boolean simulate(String stationId, ServiceConfig config) throws InterruptedException {
+        return stationFor(stationId).simulate(config);
+    }
+
+    /**
+     * Reports the state of a station without creating it; a station that has not served
+     * a request yet reports empty counters.
+     */
+    public LatencyModelStats getStats(String stationId, ServiceConfig config) {
+        Station station = stations.get(stationId != null ? stationId : DEFAULT_STATION);
+        return (station != null ? station : new Station()).getStats(config);
+    }
+
+    /**
+     * Drops the servers of a scenario that was removed. Requests still running on them
+     * finish normally.
+     */
+    public void removeStation(String stationId) {
+        if (stationId != null && !DEFAULT_STATION.equals(stationId)) {
+            stations.remove(stationId);
+        }
+    }
+
+    public void reset() {
+        stations.clear();
+    }
+
+    private Station stationFor(String stationId) {
+        return stations.computeIfAbsent(stationId != null ? stationId : DEFAULT_STATION, id -> new Station());
+    }
+
+    private static long sampleServiceTimeMicros(double serviceRatePerSecond) {
+        double rate = serviceRatePerSecond > 0 ? serviceRatePerSecond : 1.0;
+        double u = ThreadLocalRandom.current().nextDouble();
+        double seconds = -Math.log(1.0 - u) / rate;
+        return (long) (seconds * 1_000_000);
+    }
+
+    private static void updateAverage(AtomicLong average, long sampleMicros) {
+        average.accumulateAndGet(sampleMicros, (current, sample) ->
+                current == 0 ? sample : (long) (current + EWMA_WEIGHT * (sample - current)));
+    }
+
+    private static final class Station {
+        private final AtomicReference<ServerPool> serverPool = new AtomicReference<>(new ServerPool(0));
+        private final AtomicInteger queuedRequests = new AtomicInteger();
+        private final AtomicLong completedRequests = new AtomicLong();
+        private final AtomicLong rejectedRequests = new AtomicLong();
+        private final AtomicLong averageQueueWaitMicros = new AtomicLong();
+        private final AtomicLong averageServiceTimeMicros = new AtomicLong();
+
+        private boolean simulate(ServiceConfig config) throws InterruptedException {
+            ServerPool pool = poolFor(config.getServerCount());
+            int maxQueueLength = config.getMaxQueueLength();
+
+            int queued = queuedRequests.incrementAndGet();
+            if (maxQueueLength > 0 && queued > maxQueueLength && pool.permits.availablePermits() == 0) {
+                queuedRequests.decrementAndGet();
+                rejectedRequests.incrementAndGet();
+                return false;
+            }
+
+            long queueStart = System.nanoTime();
+            try {
+                pool.permits.acquire();
+            } finally {
+                queuedRequests.decrementAndGet();
+            }
+
+            try {
+                long queueWaitMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - queueStart);
+                long serviceTimeMicros = sampleServiceTimeMicros(config.getServiceRatePerSecond());
+
+                TimeUnit.MICROSECONDS.sleep(serviceTimeMicros);
+
+                updateAverage(averageQueueWaitMicros, queueWaitMicros);
+                updateAverage(averageServiceTimeMicros, serviceTimeMicros);
+                completedRequests.incrementAndGet();
+                return true;
+            } finally {
+                pool.permits.release();
+            }
+        }
+
+        private LatencyModelStats getStats(ServiceConfig config) {
+            ServerPool pool = serverPool.get();
+            int busy = Math.max(0, pool.size - pool.permits.availablePermits());
+
+            return LatencyModelStats.builder()
+                    .latencyModel(config.getLatencyModel() != null ? config.getLatencyModel() : LatencyModel.FIXED)
+                    .serverCount(config.getServerCount())
+                    .serviceRatePerSecond(config.getServiceRatePerSecond())
+                    .busyServers(busy)
+                    .queuedRequests(queuedRequests.get())
+                    .utilisation(pool.size > 0 ? (double) busy / pool.size : 0.0)
+                    .completedRequests(completedRequests.get())
+                    .rejectedRequests(rejectedRequests.get())
+                    .averageQueueWaitMs(averageQueueWaitMicros.get() / 1000.0)
+                    .averageServiceTimeMs(averageServiceTimeMicros.get() / 1000.0)
+                    .build();
+        }
+
+        private ServerPool poolFor(int serverCount) {
+            int size = Math.max(1, serverCount);
+            ServerPool current = serverPool.get();
+            while (current.size != size) {
+                // Requests already holding a permit release it back to the pool they took it from
+                ServerPool resized = new ServerPool(size);
+                if (serverPool.compareAndSet(current, resized)) {
+                    return resized;
+                }
+                current = serverPool.get();
+            }
+            return current;
+        }
+    }
+
+    private static final class ServerPool {
+        private final int size;
+        private final Semaphore permits;
+
+        private ServerPool(int size) {
+            this.size = size;
+            this.permits = new Semaphore(size, true);
+        }
+    }
+}
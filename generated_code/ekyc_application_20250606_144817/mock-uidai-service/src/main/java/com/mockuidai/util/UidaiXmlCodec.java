@@ -0,0 +1,163 @@
+package com.mockuidai.util;
+
+import com.mockuidai.dto.KycData;
+import com.mockuidai.dto.UidaiInitiateRequest;
+import com.mockuidai.dto.UidaiInitiateResponse;
+import com.mockuidai.dto.UidaiVerifyRequest;
+import com.mockuidai.dto.UidaiVerifyResponse;
+import com.mockuidai.enums.UidaiResponseStatus;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Streaming (StAX) reader and writer for the Auth-API-style XML wire format.
+ *
+ * Requests:
+ * <pre>
+ * &lt;Otp uid="123456789012" txn="TXN100001" ver="2.5"/&gt;
+ * &lt;Auth uid="123456789012" txn="TXN100002" refId="REF1234567890" ver="2.5"&gt;
+ *     &lt;Uses otp="y"/&gt;
+ *     &lt;Pv otp="123456"/&gt;
+ * &lt;/Auth&gt;
+ * </pre>
+ * Responses are {@code OtpRes} and {@code AuthRes} elements with {@code ret="y|n"}, the
+ * status name, an optional error and, for a verified OTP, a {@code KycRes} child.
+ *
+ * Payload signing and encryption of the real interface are not simulated.
+ */
+@Component
+public class UidaiXmlCodec {
+
+    public static final String API_VERSION = "2.5";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    public UidaiInitiateRequest readInitiateRequest(InputStream body) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(body, StandardCharsets.UTF_8.name());
+        try {
+            UidaiInitiateRequest request = new UidaiInitiateRequest();
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "Otp".equals(reader.getLocalName())) {
+                    request.setAadhaarOrVid(reader.getAttributeValue(null, "uid"));
+                    request.setTransactionId(reader.getAttributeValue(null, "txn"));
+                    break;
+                }
+            }
+            return request;
+        } finally {
+            reader.close();
+        }
+    }
+
+    public UidaiVerifyRequest readVerifyRequest(InputStream body) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(body, StandardCharsets.UTF_8.name());
+        try {
+            UidaiVerifyRequest request = new UidaiVerifyRequest();
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "Auth" -> request.setReferenceId(reader.getAttributeValue(null, "refId"));
+                    case "Pv" -> request.setOtp(reader.getAttributeValue(null, "otp"));
+                    default -> {
+                        // Uses and any unknown elements carry nothing the mock needs
+                    }
+                }
+            }
+            return request;
+        } finally {
+            reader.close();
+        }
+    }
+
+    public void writeInitiateResponse(UidaiInitiateResponse response, OutputStream out) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeEmptyElement("OtpRes");
+            writeResultAttributes(writer, response.getStatus(), UidaiResponseStatus.OTP_SENT,
+                    response.getErrorMessage(), response.getTimestamp());
+            writeAttributeIfPresent(writer, "code", response.getReferenceId());
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    public void writeVerifyResponse(UidaiVerifyResponse response, OutputStream out) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("AuthRes");
+            writeResultAttributes(writer, response.getStatus(), UidaiResponseStatus.VERIFIED,
+                    response.getErrorMessage(), response.getTimestamp());
+            if (response.getKycData() != null) {
+                writeKycData(writer, response.getKycData());
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeKycData(XMLStreamWriter writer, KycData kycData) throws XMLStreamException {
+        writer.writeStartElement("KycRes");
+
+        writer.writeEmptyElement("Poi");
+        writeAttributeIfPresent(writer, "name", kycData.getName());
+        writeAttributeIfPresent(writer, "dob", kycData.getDob() != null ? kycData.getDob().toString() : null);
+        writeAttributeIfPresent(writer, "gender", kycData.getGender());
+
+        writer.writeEmptyElement("Poa");
+        writeAttributeIfPresent(writer, "addr", kycData.getAddress());
+
+        writer.writeEmptyElement("Contact");
+        writeAttributeIfPresent(writer, "mobile", kycData.getMaskedMobile());
+        writeAttributeIfPresent(writer, "email", kycData.getMaskedEmail());
+
+        if (kycData.getPhoto() != null) {
+            writer.writeStartElement("Pht");
+            writer.writeCharacters(kycData.getPhoto());
+            writer.writeEndElement();
+        }
+
+        writer.writeEndElement();
+    }
+
+    private void writeResultAttributes(XMLStreamWriter writer, String status, UidaiResponseStatus successStatus,
+                                       String errorMessage, Instant timestamp) throws XMLStreamException {
+        writer.writeAttribute("ret", successStatus.name().equals(status) ? "y" : "n");
+        writeAttributeIfPresent(writer, "status", status);
+        writeAttributeIfPresent(writer, "err", errorMessage);
+        writeAttributeIfPresent(writer, "ts", timestamp != null ? timestamp.toString() : null);
+    }
+
+    private void writeAttributeIfPresent(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        if (value != null) {
+            writer.writeAttribute(name, value);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Requests come from outside; never resolve DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
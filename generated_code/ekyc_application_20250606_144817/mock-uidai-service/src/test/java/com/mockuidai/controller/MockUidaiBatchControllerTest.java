@@ -0,0 +1,75 @@
+package com.mockuidai.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Posts batches exactly as the eKYC service's UidaiJsonCodec writes them; its
+ * UidaiJsonCodecTest pins the same bodies on the client side.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MockUidaiBatchControllerTest {
+
+    private static final String INITIATE_BATCH = "{\"parentProcessId\":\"BATCH0001\",\"items\":["
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"identityVerificationConsent\":true,\"mobileEmailConsent\":true},"
+            + "{\"idNumber\":\"123456789013\",\"idType\":\"VID\",\"identityVerificationConsent\":true,\"mobileEmailConsent\":false}]}";
+
+    private static final String VERIFY_BATCH = "{\"parentProcessId\":\"BATCH0002\",\"items\":["
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"otp\":\"123456\",\"referenceNumber\":\"REFEXPIRED001\"},"
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"otp\":\"123456\",\"referenceNumber\":\"REFUNKNOWN001\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should accept a client-serialized initiation batch and answer each item")
+    void testInitiateBatch_ClientSchema() throws Exception {
+        mockMvc.perform(post("/api/uidai/internal/v1/ekyc/initiate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(INITIATE_BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentProcessId", is("BATCH0001")))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].index", is(0)))
+                .andExpect(jsonPath("$.results[0].statusCode", is(200)))
+                .andExpect(jsonPath("$.results[0].response.status", is("OTP_SENT")))
+                .andExpect(jsonPath("$.results[0].response.referenceId", startsWith("REF")))
+                .andExpect(jsonPath("$.results[1].index", is(1)))
+                .andExpect(jsonPath("$.results[1].statusCode", is(400)))
+                .andExpect(jsonPath("$.results[1].response.status", is("OTP_GENERATION_FAILED")));
+    }
+
+    @Test
+    @DisplayName("Should accept a client-serialized verification batch and answer each item")
+    void testVerifyBatch_ClientSchema() throws Exception {
+        mockMvc.perform(post("/api/uidai/internal/v1/ekyc/verify/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(VERIFY_BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentProcessId", is("BATCH0002")))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].statusCode", is(400)))
+                .andExpect(jsonPath("$.results[0].response.status", is("EXPIRED_OTP")))
+                .andExpect(jsonPath("$.results[1].statusCode", is(400)))
+                .andExpect(jsonPath("$.results[1].response.status", is("INVALID_REFERENCE_ID")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request for a batch with an invalid item")
+    void testInitiateBatch_InvalidItem() throws Exception {
+        mockMvc.perform(post("/api/uidai/internal/v1/ekyc/initiate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"idNumber\":\"12345\",\"idType\":\"AADHAAR\"}]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,207 @@
+package com.ekyc.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-based in-memory cache.
+ *
+ * Entries expire {@code ttl} after they were written, unless written with their own
+ * TTL, and the least recently used entry is evicted once {@code maxEntries} is
+ * reached. The map is guarded by a single lock; it is consulted at most a few times
+ * per request, which is far below the rate where that would contend.
+ *
+ * Metrics follow the Micrometer cache conventions ({@code cache.gets},
+ * {@code cache.puts}, {@code cache.evictions}, {@code cache.size}), tagged with the
+ * cache name, plus {@code cache.hit.ratio}, the share of lookups since startup that hit.
+ *
+ * @param <V> Type of the cached values
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class ExpiringCache<V> implements MeterBinder {
+
+    private final String name;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiryEvictions = new LongAdder();
+
+    /**
+     * @param name Name of the cache, used to tag metrics
+     * @param ttlMs How long an entry is kept after it is written, in milliseconds
+     * @param maxEntries Maximum number of entries
+     */
+    public ExpiringCache(String name, long ttlMs, int maxEntries) {
+        this(name, ttlMs, maxEntries, System::nanoTime);
+    }
+
+    ExpiringCache(String name, long ttlMs, int maxEntries, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.name = name;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() <= ExpiringCache.this.maxEntries) {
+                    return false;
+                }
+                sizeEvictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Looks up a value.
+     *
+     * @param key The key
+     * @return The cached value, or null if none is cached or it has expired
+     */
+    public V get(String key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && nanoClock.getAsLong() - entry.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                expiryEvictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    /**
+     * Caches a value, replacing any earlier one for the same key.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(String key, V value) {
+        write(key, value, ttlNanos);
+    }
+
+    /**
+     * Caches a value with its own TTL, replacing any earlier one for the same key.
+     *
+     * @param key The key
+     * @param value The value
+     * @param ttlMs How long the value is kept, in milliseconds
+     */
+    public void put(String key, V value, long ttlMs) {
+        write(key, value, TimeUnit.MILLISECONDS.toNanos(ttlMs));
+    }
+
+    private void write(String key, V value, long entryTtlNanos) {
+        synchronized (entries) {
+            purgeExpired();
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + entryTtlNanos));
+            puts.increment();
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key The key
+     */
+    public void invalidate(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Share of lookups since startup that found a value, or 0 before the first lookup.
+     */
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("Lookups that found a cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("Lookups that found no cached value")
+                .register(registry);
+        FunctionCounter.builder("cache.puts", puts, LongAdder::sum)
+                .tag("cache", name)
+                .description("Values written to the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", sizeEvictions, LongAdder::sum)
+                .tag("cache", name)
+                .tag("cause", "size")
+                .description("Entries evicted from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", expiryEvictions, LongAdder::sum)
+                .tag("cache", name)
+                .tag("cause", "expired")
+                .description("Entries evicted from the cache")
+                .register(registry);
+        Gauge.builder("cache.size", this, ExpiringCache::size)
+                .tag("cache", name)
+                .description("Entries currently in the cache")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, ExpiringCache::hitRatio)
+                .tag("cache", name)
+                .description("Share of lookups since startup that found a cached value")
+                .register(registry);
+    }
+
+    /**
+     * Drops expired entries from the least recently used end, so stale entries do not
+     * push out live ones. Stops at the first live entry; an expired entry behind it is
+     * dropped when it is looked up or evicted.
+     */
+    private void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().expiresAtNanos() < 0) {
+                return;
+            }
+            iterator.remove();
+            expiryEvictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+}
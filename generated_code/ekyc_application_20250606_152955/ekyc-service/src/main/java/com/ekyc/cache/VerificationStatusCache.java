@@ -0,0 +1,108 @@
+package com.ekyc.cache;
+
+import com.ekyc.config.EkycStatusCacheProperties;
+import com.ekyc.model.EkycResponse;
+import com.ekyc.model.VerificationStatusChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-through cache of eKYC status snapshots, keyed by reference number, so status
+ * polling only reaches the database on a miss.
+ *
+ * A snapshot is invalidated when a {@link VerificationStatusChangedEvent} for its
+ * request is published, once the transaction that changed the status has committed.
+ * Snapshots of requests that can still change expire after {@code activeTtlMs}, which
+ * bounds how long a change made on another instance goes unseen; snapshots in a final
+ * status are kept for {@code terminalTtlMs}.
+ *
+ * A miss that loaded the row before a change committed must not cache it afterwards.
+ * Loads therefore take a {@link #stamp} of their key first, and {@link #put} drops the
+ * snapshot if that key changed since. Stamps are kept per key for the keys being read,
+ * at most {@code maxEntries} of them; a load whose stamp was evicted is not cached.
+ *
+ * Exposed as cache {@code ekyc.status}; {@code cache.hit.ratio} gives the hit ratio.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class VerificationStatusCache {
+
+    private final ExpiringCache<EkycResponse> snapshots;
+    private final long activeTtlMs;
+    private final long terminalTtlMs;
+    private final Map<String, Long> stamps;
+    private long changes;
+
+    @Autowired
+    public VerificationStatusCache(EkycStatusCacheProperties properties, MeterRegistry meterRegistry) {
+        this.activeTtlMs = properties.getActiveTtlMs();
+        this.terminalTtlMs = properties.getTerminalTtlMs();
+        this.snapshots = new ExpiringCache<>("ekyc.status", activeTtlMs, properties.getMaxEntries());
+        this.snapshots.bindTo(meterRegistry);
+        int maxStamps = properties.getMaxEntries();
+        this.stamps = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxStamps;
+            }
+        };
+    }
+
+    /**
+     * Looks up the snapshot of a request.
+     *
+     * @param referenceNumber The reference number
+     * @return The snapshot, or null on a miss
+     */
+    public EkycResponse get(String referenceNumber) {
+        return snapshots.get(referenceNumber);
+    }
+
+    /**
+     * Returns the stamp to pass to {@link #put} for a snapshot about to be loaded.
+     *
+     * @param referenceNumber The reference number of the snapshot
+     */
+    public synchronized long stamp(String referenceNumber) {
+        return stamps.computeIfAbsent(referenceNumber, key -> changes);
+    }
+
+    /**
+     * Caches a snapshot loaded from the database, unless its status changed since the
+     * load started.
+     *
+     * @param response The snapshot
+     * @param stamp The value of {@link #stamp} taken before the load
+     */
+    public synchronized void put(EkycResponse response, long stamp) {
+        Long current = stamps.get(response.getReferenceNumber());
+        if (current == null || current != stamp) {
+            return;
+        }
+        long ttlMs = response.getStatus() != null && response.getStatus().isTerminal() ? terminalTtlMs : activeTtlMs;
+        snapshots.put(response.getReferenceNumber(), response, ttlMs);
+    }
+
+    /**
+     * Drops the snapshot of a request whose status changed. Runs before any other
+     * listener, so a caller woken by the same event reads the new status.
+     *
+     * @param event The status change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(VerificationStatusChangedEvent event) {
+        changes++;
+        stamps.computeIfPresent(event.referenceNumber(), (key, stamp) -> changes);
+        snapshots.invalidate(event.referenceNumber());
+    }
+}
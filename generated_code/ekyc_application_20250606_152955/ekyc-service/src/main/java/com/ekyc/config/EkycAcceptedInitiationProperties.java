@@ -0,0 +1,102 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the accepted initiation mode, in which {@code POST /initiate} answers
+ * 202 Accepted as soon as the request is stored and a worker pool calls UIDAI.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.initiate.accepted")
+public class EkycAcceptedInitiationProperties {
+
+    /**
+     * Whether clients may ask for accepted initiation with {@code Prefer: respond-async}.
+     * When disabled, the header is ignored and every initiation waits for UIDAI.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of worker threads calling UIDAI for accepted initiations.
+     */
+    private int workerThreads = 16;
+
+    /**
+     * Maximum number of accepted initiations waiting for a worker. Beyond it, new
+     * initiations are failed straight away instead of queueing.
+     */
+    private int queueCapacity = 500;
+
+    /**
+     * Time from acceptance after which an initiation still waiting for a worker is
+     * failed instead of calling UIDAI, in milliseconds. Must stay well below
+     * {@code ekyc.recovery.stuck-after-ms}.
+     */
+    private long deadlineMs = 30_000;
+
+    /**
+     * Hosts that may receive completion callbacks ({@code X-Callback-Url}). Callbacks are
+     * only sent over HTTPS; when empty, callbacks are refused and clients poll status.
+     */
+    private List<String> callbackAllowedHosts = new ArrayList<>();
+
+    /**
+     * Maximum time to deliver one completion callback, in milliseconds.
+     */
+    private long callbackTimeoutMs = 5_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    public void setDeadlineMs(long deadlineMs) {
+        this.deadlineMs = deadlineMs;
+    }
+
+    public List<String> getCallbackAllowedHosts() {
+        return callbackAllowedHosts;
+    }
+
+    public void setCallbackAllowedHosts(List<String> callbackAllowedHosts) {
+        this.callbackAllowedHosts = callbackAllowedHosts;
+    }
+
+    public long getCallbackTimeoutMs() {
+        return callbackTimeoutMs;
+    }
+
+    public void setCallbackTimeoutMs(long callbackTimeoutMs) {
+        this.callbackTimeoutMs = callbackTimeoutMs;
+    }
+}
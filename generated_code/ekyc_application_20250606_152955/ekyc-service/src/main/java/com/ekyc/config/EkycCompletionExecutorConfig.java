@@ -0,0 +1,42 @@
+package com.ekyc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the bounded pool that runs the transactions completing asynchronous UIDAI
+ * calls. It is kept apart from the UIDAI HTTP client's callback executor, so slow
+ * database work cannot hold up the threads that read UIDAI responses.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Configuration
+public class EkycCompletionExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ekycCompletionExecutor(EkycCompletionProperties properties,
+                                                  MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ekyc-completion-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int threads = Math.max(1, properties.getThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "ekyc.completion");
+    }
+}
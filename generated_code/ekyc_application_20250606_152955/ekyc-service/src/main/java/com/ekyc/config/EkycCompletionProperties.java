@@ -0,0 +1,44 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the pool that stores the outcome of asynchronous UIDAI calls, so the
+ * database work stays off the threads of the UIDAI HTTP client.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.completion")
+public class EkycCompletionProperties {
+
+    /**
+     * Number of threads storing UIDAI outcomes. Each holds a database connection while
+     * it runs, so keep it at or below the connection pool size.
+     */
+    private int threads = 10;
+
+    /**
+     * Maximum number of outcomes waiting for a thread. Beyond it, the call is failed and
+     * its request released, as for any other failure after the UIDAI call.
+     */
+    private int queueCapacity = 1_000;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default and maximum time budgets for eKYC requests. A client can ask for a shorter or
+ * longer budget with the {@code X-Request-Timeout-Ms} header, up to {@code maxMs}.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.deadline")
+public class EkycDeadlineProperties {
+
+    /**
+     * Budget for an initiation when the client sends none, in milliseconds.
+     */
+    private long initiateMs = 10_000;
+
+    /**
+     * Budget for an OTP verification when the client sends none, in milliseconds.
+     */
+    private long verifyOtpMs = 10_000;
+
+    /**
+     * Upper bound for a budget requested by the client, in milliseconds.
+     */
+    private long maxMs = 30_000;
+
+    public long getInitiateMs() {
+        return initiateMs;
+    }
+
+    public void setInitiateMs(long initiateMs) {
+        this.initiateMs = initiateMs;
+    }
+
+    public long getVerifyOtpMs() {
+        return verifyOtpMs;
+    }
+
+    public void setVerifyOtpMs(long verifyOtpMs) {
+        this.verifyOtpMs = verifyOtpMs;
+    }
+
+    public long getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(long maxMs) {
+        this.maxMs = maxMs;
+    }
+}
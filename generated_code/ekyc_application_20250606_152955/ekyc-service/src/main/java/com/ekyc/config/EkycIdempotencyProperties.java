@@ -0,0 +1,123 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for replaying responses to requests sent with an {@code Idempotency-Key}.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.idempotency")
+public class EkycIdempotencyProperties {
+
+    /**
+     * How long a response is kept for replay after the key was first used, in
+     * milliseconds.
+     */
+    private long ttlMs = 86_400_000;
+
+    /**
+     * How long an execution holds its key before another instance may take it over,
+     * in milliseconds. Must be above the longest an initiation or verification can take.
+     */
+    private long leaseMs = 60_000;
+
+    /**
+     * Maximum time a duplicate waits for an execution on another instance to complete
+     * before it is answered 409 Conflict, in milliseconds.
+     */
+    private long waitTimeoutMs = 10_000;
+
+    /**
+     * Delay between checks for an execution on another instance, in milliseconds.
+     */
+    private long pollIntervalMs = 100;
+
+    /**
+     * Maximum number of responses kept in memory; the least recently used are evicted
+     * first and read back from the database when needed.
+     */
+    private int nearCacheMaxEntries = 10_000;
+
+    /**
+     * How long a response is kept in memory, in milliseconds. Capped at {@code ttlMs}.
+     */
+    private long nearCacheTtlMs = 300_000;
+
+    /**
+     * Delay between runs of the job deleting expired keys, in milliseconds.
+     */
+    private long purgeIntervalMs = 600_000;
+
+    /**
+     * Maximum number of expired keys deleted per statement by the purge job.
+     */
+    private int purgeBatchSize = 1_000;
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public void setTtlMs(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public long getWaitTimeoutMs() {
+        return waitTimeoutMs;
+    }
+
+    public void setWaitTimeoutMs(long waitTimeoutMs) {
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public int getNearCacheMaxEntries() {
+        return nearCacheMaxEntries;
+    }
+
+    public void setNearCacheMaxEntries(int nearCacheMaxEntries) {
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+    }
+
+    public long getNearCacheTtlMs() {
+        return nearCacheTtlMs;
+    }
+
+    public void setNearCacheTtlMs(long nearCacheTtlMs) {
+        this.nearCacheTtlMs = nearCacheTtlMs;
+    }
+
+    public long getPurgeIntervalMs() {
+        return purgeIntervalMs;
+    }
+
+    public void setPurgeIntervalMs(long purgeIntervalMs) {
+        this.purgeIntervalMs = purgeIntervalMs;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for deduplicating and short-circuiting eKYC initiations.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.initiate")
+public class EkycInitiationProperties {
+
+    /**
+     * How long a successful initiation is shared with duplicates for the same session and
+     * ID after it completes, in milliseconds.
+     */
+    private long coalescingWindowMs = 2_000;
+
+    /**
+     * Secret used to hash ID numbers into in-memory keys. When empty, a random key is
+     * generated at startup, which is enough because the keys never leave the process.
+     */
+    private String idHashKey = "";
+
+    /**
+     * How long a permanent UIDAI failure for an ID is remembered, in milliseconds.
+     */
+    private long negativeCacheTtlMs = 60_000;
+
+    /**
+     * Maximum number of IDs kept in the negative cache; the least recently used are
+     * evicted first.
+     */
+    private int negativeCacheMaxEntries = 10_000;
+
+    /**
+     * UIDAI statuses that mean a retry for the same ID cannot succeed soon.
+     */
+    private List<String> permanentFailureStatuses = new ArrayList<>(List.of("OTP_GENERATION_FAILED", "INVALID_REQUEST"));
+
+    public long getCoalescingWindowMs() {
+        return coalescingWindowMs;
+    }
+
+    public void setCoalescingWindowMs(long coalescingWindowMs) {
+        this.coalescingWindowMs = coalescingWindowMs;
+    }
+
+    public String getIdHashKey() {
+        return idHashKey;
+    }
+
+    public void setIdHashKey(String idHashKey) {
+        this.idHashKey = idHashKey;
+    }
+
+    public long getNegativeCacheTtlMs() {
+        return negativeCacheTtlMs;
+    }
+
+    public void setNegativeCacheTtlMs(long negativeCacheTtlMs) {
+        this.negativeCacheTtlMs = negativeCacheTtlMs;
+    }
+
+    public int getNegativeCacheMaxEntries() {
+        return negativeCacheMaxEntries;
+    }
+
+    public void setNegativeCacheMaxEntries(int negativeCacheMaxEntries) {
+        this.negativeCacheMaxEntries = negativeCacheMaxEntries;
+    }
+
+    public List<String> getPermanentFailureStatuses() {
+        return permanentFailureStatuses;
+    }
+
+    public void setPermanentFailureStatuses(List<String> permanentFailureStatuses) {
+        this.permanentFailureStatuses = permanentFailureStatuses;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ekyc.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the bounded worker pool that calls UIDAI for accepted initiations. A full
+ * queue rejects the submission rather than growing, so a UIDAI slowdown cannot pile up
+ * accepted work without limit.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Configuration
+public class EkycInitiationWorkerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ekycInitiationWorkers(EkycAcceptedInitiationProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ekyc-initiation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int threads = Math.max(1, properties.getWorkerThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "ekyc.initiate.workers");
+    }
+}
@@ -0,0 +1,57 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for recovering eKYC requests left mid-call by a crashed or restarted instance.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.recovery")
+public class EkycRecoveryProperties {
+
+    /**
+     * Delay between the end of one recovery run and the start of the next, in
+     * milliseconds.
+     */
+    private long intervalMs = 30_000;
+
+    /**
+     * Time after which a request still waiting for its UIDAI call is considered
+     * abandoned, in milliseconds. Must be well above the longest a UIDAI call can take
+     * with all its retries, or calls still in flight are recovered under their feet.
+     */
+    private long stuckAfterMs = 120_000;
+
+    /**
+     * Maximum number of requests recovered per status in one run.
+     */
+    private int batchSize = 100;
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public long getStuckAfterMs() {
+        return stuckAfterMs;
+    }
+
+    public void setStuckAfterMs(long stuckAfterMs) {
+        this.stuckAfterMs = stuckAfterMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the in-process cache of eKYC status snapshots served by the status
+ * endpoint.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.status-cache")
+public class EkycStatusCacheProperties {
+
+    /**
+     * How long a snapshot of a request that can still change status is kept, in
+     * milliseconds. Changes made on this instance invalidate it at once; this bounds how
+     * long a change made on another instance can go unseen.
+     */
+    private long activeTtlMs = 2_000;
+
+    /**
+     * How long a snapshot of a request in a final status (VERIFIED, FAILED, EXPIRED) is
+     * kept, in milliseconds.
+     */
+    private long terminalTtlMs = 600_000;
+
+    /**
+     * Maximum number of snapshots kept; the least recently used are evicted first.
+     */
+    private int maxEntries = 50_000;
+
+    public long getActiveTtlMs() {
+        return activeTtlMs;
+    }
+
+    public void setActiveTtlMs(long activeTtlMs) {
+        this.activeTtlMs = activeTtlMs;
+    }
+
+    public long getTerminalTtlMs() {
+        return terminalTtlMs;
+    }
+
+    public void setTerminalTtlMs(long terminalTtlMs) {
+        this.terminalTtlMs = terminalTtlMs;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
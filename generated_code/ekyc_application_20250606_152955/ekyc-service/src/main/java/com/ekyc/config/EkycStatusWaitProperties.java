@@ -0,0 +1,73 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the long-poll status endpoint, which holds a request until the status
+ * of an eKYC request changes.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.status-wait")
+public class EkycStatusWaitProperties {
+
+    /**
+     * How long a request waits for a change when the client does not say, in
+     * milliseconds.
+     */
+    private long defaultTimeoutMs = 20_000;
+
+    /**
+     * Maximum time a client may ask to wait, in milliseconds. Must stay below
+     * {@code spring.mvc.async.request-timeout} and any idle timeout of the load balancers
+     * in front of the service.
+     */
+    private long maxTimeoutMs = 25_000;
+
+    /**
+     * How often a waiting request rechecks the stored status, in milliseconds, so a
+     * change made on another instance is still seen.
+     */
+    private long recheckIntervalMs = 2_000;
+
+    /**
+     * Maximum number of requests waiting at once. Beyond it, requests are answered with
+     * the current status straight away.
+     */
+    private int maxSubscriptions = 10_000;
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    public void setDefaultTimeoutMs(long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public long getMaxTimeoutMs() {
+        return maxTimeoutMs;
+    }
+
+    public void setMaxTimeoutMs(long maxTimeoutMs) {
+        this.maxTimeoutMs = maxTimeoutMs;
+    }
+
+    public long getRecheckIntervalMs() {
+        return recheckIntervalMs;
+    }
+
+    public void setRecheckIntervalMs(long recheckIntervalMs) {
+        this.recheckIntervalMs = recheckIntervalMs;
+    }
+
+    public int getMaxSubscriptions() {
+        return maxSubscriptions;
+    }
+
+    public void setMaxSubscriptions(int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+}
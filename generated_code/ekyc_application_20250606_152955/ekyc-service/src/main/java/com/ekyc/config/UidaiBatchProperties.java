@@ -0,0 +1,57 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * How the batched UIDAI calls group pending items into one HTTP call.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.uidai.batch")
+public class UidaiBatchProperties {
+
+    /**
+     * Maximum items per batch; a batch is sent as soon as it is full.
+     */
+    private int maxItems = 50;
+
+    /**
+     * Longest time the first item of a batch waits for more items before the batch is
+     * sent anyway, in milliseconds.
+     */
+    private long maxDelayMs = 20;
+
+    /**
+     * Maximum time to wait for a complete batch response, in milliseconds. Batches are
+     * not covered by the adaptive timeout of single calls, whose latency they do not
+     * share.
+     */
+    private long requestTimeoutMs = 15_000;
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+
+    public long getMaxDelayMs() {
+        return maxDelayMs;
+    }
+
+    public void setMaxDelayMs(long maxDelayMs) {
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public long getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    public void setRequestTimeoutMs(long requestTimeoutMs) {
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+}
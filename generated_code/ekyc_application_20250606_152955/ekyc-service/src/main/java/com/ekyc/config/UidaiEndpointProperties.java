@@ -0,0 +1,87 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UIDAI gateways to spread calls over, and how unhealthy ones are taken out of rotation.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.uidai.endpoints")
+public class UidaiEndpointProperties {
+
+    /**
+     * Base URLs of the UIDAI gateways (regional gateways or AUA/ASA routes). The paths of
+     * the configured UIDAI URLs are resolved against each of them. When empty, the
+     * configured UIDAI URLs are used as the only endpoint.
+     */
+    private List<String> baseUrls = new ArrayList<>();
+
+    /**
+     * Time constant of the latency average kept per endpoint, in milliseconds; older
+     * round trips lose weight exponentially.
+     */
+    private long latencyDecayMs = 10_000;
+
+    /**
+     * Consecutive failed calls after which an endpoint is taken out of rotation.
+     */
+    private int ejectAfterFailures = 5;
+
+    /**
+     * How long an endpoint stays out of rotation after its first ejection, in
+     * milliseconds; doubled on each further ejection without a success in between.
+     */
+    private long baseEjectionMs = 10_000;
+
+    /**
+     * Upper bound for the time an endpoint stays out of rotation, in milliseconds.
+     */
+    private long maxEjectionMs = 300_000;
+
+    public List<String> getBaseUrls() {
+        return baseUrls;
+    }
+
+    public void setBaseUrls(List<String> baseUrls) {
+        this.baseUrls = baseUrls;
+    }
+
+    public long getLatencyDecayMs() {
+        return latencyDecayMs;
+    }
+
+    public void setLatencyDecayMs(long latencyDecayMs) {
+        this.latencyDecayMs = latencyDecayMs;
+    }
+
+    public int getEjectAfterFailures() {
+        return ejectAfterFailures;
+    }
+
+    public void setEjectAfterFailures(int ejectAfterFailures) {
+        this.ejectAfterFailures = ejectAfterFailures;
+    }
+
+    public long getBaseEjectionMs() {
+        return baseEjectionMs;
+    }
+
+    public void setBaseEjectionMs(long baseEjectionMs) {
+        this.baseEjectionMs = baseEjectionMs;
+    }
+
+    public long getMaxEjectionMs() {
+        return maxEjectionMs;
+    }
+
+    public void setMaxEjectionMs(long maxEjectionMs) {
+        this.maxEjectionMs = maxEjectionMs;
+    }
+}
@@ -0,0 +1,82 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the background UIDAI health probe.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.uidai.health")
+public class UidaiHealthProperties {
+
+    /**
+     * Delay between the end of one probe and the start of the next, in milliseconds.
+     */
+    private long intervalMs = 5_000;
+
+    /**
+     * Maximum time to wait for the UIDAI health endpoint, in milliseconds.
+     */
+    private long timeoutMs = 1_000;
+
+    /**
+     * Consecutive failed probes after which UIDAI is reported down. A single success
+     * reports it up again.
+     */
+    private int failureThreshold = 2;
+
+    /**
+     * Age after which a probe result is no longer trusted, in milliseconds. A stale
+     * status never sheds load.
+     */
+    private long staleAfterMs = 30_000;
+
+    /**
+     * Whether eKYC requests are rejected up front while UIDAI is reported down.
+     */
+    private boolean shedLoadWhenDown = true;
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public long getStaleAfterMs() {
+        return staleAfterMs;
+    }
+
+    public void setStaleAfterMs(long staleAfterMs) {
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    public boolean isShedLoadWhenDown() {
+        return shedLoadWhenDown;
+    }
+
+    public void setShedLoadWhenDown(boolean shedLoadWhenDown) {
+        this.shedLoadWhenDown = shedLoadWhenDown;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ekyc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the non-blocking HTTP client used for asynchronous UIDAI calls and the
+ * bounded executor that runs their completion callbacks. Its connection pool is set up
+ * by {@link UidaiHttpClientPoolSettings} before the client is built.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Configuration
+public class UidaiHttpClientConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService uidaiCallbackExecutor(UidaiHttpClientProperties properties) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "uidai-callback-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(properties.getCallbackThreads(), threadFactory);
+    }
+
+    @Bean
+    public HttpClient uidaiHttpClient(UidaiHttpClientProperties properties,
+                                      @Qualifier("uidaiCallbackExecutor") ExecutorService uidaiCallbackExecutor) {
+        return HttpClient.newBuilder()
+                .version(properties.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(uidaiCallbackExecutor)
+                .build();
+    }
+
+    /**
+     * Publishes the pool settings the JDK client actually runs with, which may have been
+     * given on the command line instead of in the application configuration.
+     */
+    @Bean
+    public MeterBinder uidaiConnectionPoolMetrics() {
+        return registry -> {
+            Gauge.builder("uidai.http.pool.max.idle",
+                            () -> Long.getLong(UidaiHttpClientPoolSettings.POOL_SIZE_PROPERTY, 0))
+                    .description("Maximum number of idle connections kept for reuse (0 for no limit)")
+                    .register(registry);
+            Gauge.builder("uidai.http.pool.keep.alive",
+                            () -> Long.getLong(UidaiHttpClientPoolSettings.KEEP_ALIVE_PROPERTY, 0))
+                    .description("Time an idle connection is kept before it is closed")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.ekyc.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the connection pool settings in {@link UidaiHttpClientProperties} to the JDK
+ * HTTP client. The client reads them from system properties once, when the first client
+ * in the JVM is built, so they are set while the environment is prepared, before any
+ * bean exists. They apply to every JDK client in the JVM. A value already given on the
+ * command line is left as it is.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class UidaiHttpClientPoolSettings implements EnvironmentPostProcessor {
+
+    static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        UidaiHttpClientProperties properties = Binder.get(environment)
+                .bind("ekyc.uidai.http", UidaiHttpClientProperties.class)
+                .orElseGet(UidaiHttpClientProperties::new);
+
+        setIfAbsent(POOL_SIZE_PROPERTY, Math.max(0, properties.getMaxIdleConnections()));
+        // The JDK setting is in whole seconds
+        setIfAbsent(KEEP_ALIVE_PROPERTY,
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(properties.getKeepAliveMs() + 999)));
+    }
+
+    private void setIfAbsent(String name, long value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, Long.toString(value));
+        }
+    }
+}
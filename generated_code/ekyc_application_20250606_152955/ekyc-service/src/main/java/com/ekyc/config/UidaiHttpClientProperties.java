@@ -0,0 +1,105 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the non-blocking HTTP client used for UIDAI calls.
+ *
+ * The JDK client keeps connections alive and reuses them on its own; its pool is only
+ * tunable through JVM-wide system properties, which {@link UidaiHttpClientPoolSettings}
+ * sets from {@code maxIdleConnections} and {@code keepAliveMs}. It has no per-host
+ * connection limit, connection lifetime or stale-connection check: each HTTP/1.1 call
+ * in flight holds one connection, so connections in use are bounded by
+ * {@code ekyc.uidai.resilience.max-concurrent-calls}, and a connection closed by UIDAI
+ * while idle is dropped from the pool when the close is seen.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.uidai.http")
+public class UidaiHttpClientProperties {
+
+    /**
+     * Maximum time to establish a connection to UIDAI, in milliseconds.
+     */
+    private int connectTimeoutMs = 2000;
+
+    /**
+     * Maximum time to wait for a complete UIDAI response, in milliseconds. eKYC calls
+     * use an adaptive timeout with this as its upper bound.
+     */
+    private int requestTimeoutMs = 5000;
+
+    /**
+     * Number of threads that run response callbacks. Requests in flight do not
+     * hold a thread, so this only needs to cover callback processing.
+     */
+    private int callbackThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Whether to negotiate HTTP/2 (h2c upgrade over cleartext) with UIDAI.
+     */
+    private boolean http2Enabled = false;
+
+    /**
+     * Maximum number of idle connections kept for reuse; the oldest is closed when
+     * another would exceed it. 0 keeps every idle connection.
+     */
+    private int maxIdleConnections = 100;
+
+    /**
+     * How long an idle connection is kept before it is closed, in milliseconds. Applied
+     * in whole seconds, rounded up.
+     */
+    private long keepAliveMs = 30_000;
+
+    public int getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public int getRequestTimeoutMs() {
+        return requestTimeoutMs;
+    }
+
+    public void setRequestTimeoutMs(int requestTimeoutMs) {
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public int getCallbackThreads() {
+        return callbackThreads;
+    }
+
+    public void setCallbackThreads(int callbackThreads) {
+        this.callbackThreads = callbackThreads;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveMs() {
+        return keepAliveMs;
+    }
+
+    public void setKeepAliveMs(long keepAliveMs) {
+        this.keepAliveMs = keepAliveMs;
+    }
+}
@@ -0,0 +1,401 @@
+package com.ekyc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the circuit breaker, adaptive concurrency limit, priority queues, retries
+ * and adaptive timeouts guarding UIDAI calls.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+@ConfigurationProperties(prefix = "ekyc.uidai.resilience")
+public class UidaiResilienceProperties {
+
+    /**
+     * Number of most recent calls the circuit breaker evaluates.
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * Calls that must be recorded before the failure and slow-call rates are evaluated.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Failure rate, in percent, at which the circuit opens.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Share of slow calls, in percent, at which the circuit opens.
+     */
+    private int slowCallRateThreshold = 80;
+
+    /**
+     * Duration from which a call counts as slow, in milliseconds.
+     */
+    private long slowCallThresholdMs = 3000;
+
+    /**
+     * How long the circuit stays open before trial calls are allowed, in milliseconds.
+     */
+    private long openStateDurationMs = 10_000;
+
+    /**
+     * Number of trial calls allowed while the circuit is half-open.
+     */
+    private int halfOpenPermittedCalls = 5;
+
+    /**
+     * Upper bound for the adaptive limit on UIDAI calls in flight. Calls over the
+     * current limit wait in the queue of their priority class.
+     */
+    private int maxConcurrentCalls = 200;
+
+    /**
+     * Concurrency limit used until enough round trips have been measured.
+     */
+    private int initialConcurrencyLimit = 20;
+
+    /**
+     * Lower bound for the adaptive concurrency limit.
+     */
+    private int minConcurrencyLimit = 4;
+
+    /**
+     * How far the short-term RTT may rise above the long-term RTT, as a ratio, before
+     * the concurrency limit is reduced.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Weight of each new limit estimate; lower values change the limit more slowly.
+     */
+    private double limitSmoothing = 0.2;
+
+    /**
+     * Length of the window over which round-trip times are sampled, in milliseconds.
+     */
+    private long limitWindowMs = 1000;
+
+    /**
+     * Samples a window must contain before the limit is recomputed from it.
+     */
+    private int limitWindowMinSamples = 10;
+
+    /**
+     * OTP verifications that may wait for a concurrency slot; further ones fail fast.
+     */
+    private int verifyQueueCapacity = 200;
+
+    /**
+     * OTP initiations that may wait for a concurrency slot; further ones fail fast.
+     */
+    private int initiateQueueCapacity = 100;
+
+    /**
+     * Health probes that may wait for a concurrency slot; further ones fail fast.
+     */
+    private int healthQueueCapacity = 16;
+
+    /**
+     * Wait, in milliseconds, after which a lower-priority call is served ahead of
+     * higher-priority ones on part of the free slots.
+     */
+    private long starvationThresholdMs = 500;
+
+    /**
+     * While a lower-priority call has waited past the starvation threshold, one in this
+     * many free slots goes to it.
+     */
+    private int starvationInterval = 4;
+
+    /**
+     * Maximum number of attempts per UIDAI call, including the first.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Backoff before the first retry, doubled on each further retry, in milliseconds.
+     * The actual delay is drawn uniformly between zero and this value.
+     */
+    private long retryBaseDelayMs = 200;
+
+    /**
+     * Upper bound for the backoff before a retry, in milliseconds.
+     */
+    private long retryMaxDelayMs = 2000;
+
+    /**
+     * Retries allowed per request made, on average.
+     */
+    private double retryBudgetRatio = 0.1;
+
+    /**
+     * Retries that can be saved up in the retry budget.
+     */
+    private int retryBudgetMaxTokens = 10;
+
+    /**
+     * Latency quantile the adaptive request timeout is derived from.
+     */
+    private double timeoutQuantile = 0.99;
+
+    /**
+     * Margin added to the latency quantile to get the request timeout, in milliseconds.
+     */
+    private long timeoutMarginMs = 250;
+
+    /**
+     * Lower bound for the adaptive request timeout, in milliseconds. The upper bound is
+     * {@code ekyc.uidai.http.request-timeout-ms}, which also applies until enough
+     * latencies have been observed.
+     */
+    private long timeoutFloorMs = 500;
+
+    /**
+     * Latencies an operation must have recorded before its timeout adapts.
+     */
+    private int timeoutMinSamples = 100;
+
+    /**
+     * Half-life of recorded latencies, in milliseconds; older observations lose weight
+     * so the timeout follows changes in UIDAI latency.
+     */
+    private long latencyHalfLifeMs = 60_000;
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getSlowCallThresholdMs() {
+        return slowCallThresholdMs;
+    }
+
+    public void setSlowCallThresholdMs(long slowCallThresholdMs) {
+        this.slowCallThresholdMs = slowCallThresholdMs;
+    }
+
+    public long getOpenStateDurationMs() {
+        return openStateDurationMs;
+    }
+
+    public void setOpenStateDurationMs(long openStateDurationMs) {
+        this.openStateDurationMs = openStateDurationMs;
+    }
+
+    public int getHalfOpenPermittedCalls() {
+        return halfOpenPermittedCalls;
+    }
+
+    public void setHalfOpenPermittedCalls(int halfOpenPermittedCalls) {
+        this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public int getInitialConcurrencyLimit() {
+        return initialConcurrencyLimit;
+    }
+
+    public void setInitialConcurrencyLimit(int initialConcurrencyLimit) {
+        this.initialConcurrencyLimit = initialConcurrencyLimit;
+    }
+
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public void setMinConcurrencyLimit(int minConcurrencyLimit) {
+        this.minConcurrencyLimit = minConcurrencyLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getLimitSmoothing() {
+        return limitSmoothing;
+    }
+
+    public void setLimitSmoothing(double limitSmoothing) {
+        this.limitSmoothing = limitSmoothing;
+    }
+
+    public long getLimitWindowMs() {
+        return limitWindowMs;
+    }
+
+    public void setLimitWindowMs(long limitWindowMs) {
+        this.limitWindowMs = limitWindowMs;
+    }
+
+    public int getLimitWindowMinSamples() {
+        return limitWindowMinSamples;
+    }
+
+    public void setLimitWindowMinSamples(int limitWindowMinSamples) {
+        this.limitWindowMinSamples = limitWindowMinSamples;
+    }
+
+    public int getVerifyQueueCapacity() {
+        return verifyQueueCapacity;
+    }
+
+    public void setVerifyQueueCapacity(int verifyQueueCapacity) {
+        this.verifyQueueCapacity = verifyQueueCapacity;
+    }
+
+    public int getInitiateQueueCapacity() {
+        return initiateQueueCapacity;
+    }
+
+    public void setInitiateQueueCapacity(int initiateQueueCapacity) {
+        this.initiateQueueCapacity = initiateQueueCapacity;
+    }
+
+    public int getHealthQueueCapacity() {
+        return healthQueueCapacity;
+    }
+
+    public void setHealthQueueCapacity(int healthQueueCapacity) {
+        this.healthQueueCapacity = healthQueueCapacity;
+    }
+
+    public long getStarvationThresholdMs() {
+        return starvationThresholdMs;
+    }
+
+    public void setStarvationThresholdMs(long starvationThresholdMs) {
+        this.starvationThresholdMs = starvationThresholdMs;
+    }
+
+    public int getStarvationInterval() {
+        return starvationInterval;
+    }
+
+    public void setStarvationInterval(int starvationInterval) {
+        this.starvationInterval = starvationInterval;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getRetryBaseDelayMs() {
+        return retryBaseDelayMs;
+    }
+
+    public void setRetryBaseDelayMs(long retryBaseDelayMs) {
+        this.retryBaseDelayMs = retryBaseDelayMs;
+    }
+
+    public long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    public void setRetryMaxDelayMs(long retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public void setRetryBudgetRatio(double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public int getRetryBudgetMaxTokens() {
+        return retryBudgetMaxTokens;
+    }
+
+    public void setRetryBudgetMaxTokens(int retryBudgetMaxTokens) {
+        this.retryBudgetMaxTokens = retryBudgetMaxTokens;
+    }
+
+    public double getTimeoutQuantile() {
+        return timeoutQuantile;
+    }
+
+    public void setTimeoutQuantile(double timeoutQuantile) {
+        this.timeoutQuantile = timeoutQuantile;
+    }
+
+    public long getTimeoutMarginMs() {
+        return timeoutMarginMs;
+    }
+
+    public void setTimeoutMarginMs(long timeoutMarginMs) {
+        this.timeoutMarginMs = timeoutMarginMs;
+    }
+
+    public long getTimeoutFloorMs() {
+        return timeoutFloorMs;
+    }
+
+    public void setTimeoutFloorMs(long timeoutFloorMs) {
+        this.timeoutFloorMs = timeoutFloorMs;
+    }
+
+    public int getTimeoutMinSamples() {
+        return timeoutMinSamples;
+    }
+
+    public void setTimeoutMinSamples(int timeoutMinSamples) {
+        this.timeoutMinSamples = timeoutMinSamples;
+    }
+
+    public long getLatencyHalfLifeMs() {
+        return latencyHalfLifeMs;
+    }
+
+    public void setLatencyHalfLifeMs(long latencyHalfLifeMs) {
+        this.latencyHalfLifeMs = latencyHalfLifeMs;
+    }
+}
@@ -1,5 +1,204 @@
-@PostMapping("/initiate")
-@PreAuthorize("isAuthenticated()")
-public ResponseEntity<EkycResponse> initiateEkycVerification(@Valid @RequestBody EkycRequest request) {
-    logger.info("Received eKYC initiation request for session: {}", 
-    // ...
\ No newline at end of file
+package com.ekyc.controller;
+
+import com.ekyc.config.EkycAcceptedInitiationProperties;
+import com.ekyc.config.EkycDeadlineProperties;
+import com.ekyc.config.EkycStatusWaitProperties;
+import com.ekyc.exception.ValidationException;
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.EkycResponse;
+import com.ekyc.model.OtpVerificationRequest;
+import com.ekyc.model.OtpVerificationResponse;
+import com.ekyc.model.VerificationStatus;
+import com.ekyc.resilience.Deadline;
+import com.ekyc.service.EkycService;
+import com.ekyc.service.IdempotencyService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * REST endpoints for the eKYC verification flow.
+ *
+ * Initiation and OTP verification complete asynchronously: the servlet thread is
+ * released as soon as the UIDAI call is sent, and the response is written when the
+ * returned future completes.
+ *
+ * Each of these requests gets a deadline, from the {@code X-Request-Timeout-Ms} header
+ * (capped at {@code ekyc.deadline.max-ms}) or the endpoint's default. It bounds every
+ * UIDAI attempt and retry made for the request; once it passes, the request fails with
+ * 504 Gateway Timeout and no further work is done for it.
+ *
+ * When {@code ekyc.initiate.accepted.enabled} is set, a client can send
+ * {@code Prefer: respond-async} on initiation to get 202 Accepted as soon as the request
+ * is stored, with the status URL in {@code Location}. UIDAI is then called by a worker;
+ * the client polls status, or names an allowed HTTPS URL in {@code X-Callback-Url} to
+ * have the outcome posted to it.
+ *
+ * Initiation and OTP verification accept an {@code Idempotency-Key} header. A repeat of
+ * a request with the same key, from the same caller, is answered with the original
+ * response instead of running again, and a repeat sent while the first is still running
+ * waits for it.
+ *
+ * Instead of polling status, a client can call {@code GET /status/{referenceNumber}/wait}
+ * with the status it last saw in {@code currentStatus}. The request is held, without a
+ * thread, until the status changes or {@code timeoutMs} (capped at
+ * {@code ekyc.status-wait.max-timeout-ms}) passes, and is then answered with the
+ * current status.
+ */
+@RestController
+@RequestMapping("/api/v1/ekyc")
+public class EkycController {
+    private static final Logger logger = LoggerFactory.getLogger(EkycController.class);
+
+    private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+    private static final String CALLBACK_URL_HEADER = "X-Callback-Url";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final EkycService ekycService;
+    private final EkycDeadlineProperties deadlineProperties;
+    private final EkycAcceptedInitiationProperties acceptedProperties;
+    private final IdempotencyService idempotencyService;
+    private final EkycStatusWaitProperties statusWaitProperties;
+
+    @Autowired
+    public EkycController(EkycService ekycService, EkycDeadlineProperties deadlineProperties,
+                          EkycAcceptedInitiationProperties acceptedProperties,
+                          IdempotencyService idempotencyService,
+                          EkycStatusWaitProperties statusWaitProperties) {
+        this.ekycService = ekycService;
+        this.deadlineProperties = deadlineProperties;
+        this.acceptedProperties = acceptedProperties;
+        this.idempotencyService = idempotencyService;
+        this.statusWaitProperties = statusWaitProperties;
+    }
+
+    @PostMapping("/initiate")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<ResponseEntity<EkycResponse>> initiateEkycVerification(
+            @Valid @RequestBody EkycRequest request,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMs,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestHeader(value = CALLBACK_URL_HEADER, required = false) String callbackUrl,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        logger.info("Received eKYC initiation request for session: {}", request.getSessionId());
+
+        Deadline deadline = deadline(timeoutMs, deadlineProperties.getInitiateMs());
+        // Built here, while the servlet request is bound; the call may run on another thread
+        UriComponentsBuilder statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/ekyc/status/{referenceNumber}");
+        return idempotent("initiate", idempotencyKey, principal, request, EkycResponse.class, () -> {
+            if (acceptedProperties.isEnabled() && prefer != null
+                    && prefer.toLowerCase(Locale.ROOT).contains(RESPOND_ASYNC)) {
+                return CompletableFuture.completedFuture(
+                        accepted(ekycService.acceptEkycVerification(request, callbackUrl), statusUri));
+            }
+            return ekycService.initiateEkycVerificationAsync(request, deadline)
+                    .thenApply(ResponseEntity::ok);
+        });
+    }
+
+    @PostMapping("/verify-otp")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<ResponseEntity<OtpVerificationResponse>> verifyOtp(
+            @Valid @RequestBody OtpVerificationRequest request,
+            @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) Long timeoutMs,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        logger.info("Received OTP verification request for reference: {}", request.getReferenceNumber());
+
+        Deadline deadline = deadline(timeoutMs, deadlineProperties.getVerifyOtpMs());
+        return idempotent("verify-otp", idempotencyKey, principal, request, OtpVerificationResponse.class,
+                () -> ekycService.verifyOtpAsync(request, deadline)
+                        .thenApply(ResponseEntity::ok));
+    }
+
+    @GetMapping("/status/{referenceNumber}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<EkycResponse> getVerificationStatus(@PathVariable String referenceNumber) {
+        logger.info("Received status request for reference: {}", referenceNumber);
+
+        return ResponseEntity.ok(ekycService.getVerificationStatus(referenceNumber));
+    }
+
+    @GetMapping("/status/{referenceNumber}/wait")
+    @PreAuthorize("isAuthenticated()")
+    public CompletableFuture<ResponseEntity<EkycResponse>> awaitStatusChange(
+            @PathVariable String referenceNumber,
+            @RequestParam(value = "currentStatus", required = false) VerificationStatus currentStatus,
+            @RequestParam(value = "timeoutMs", required = false) Long timeoutMs) {
+        logger.debug("Received status wait request for reference: {}", referenceNumber);
+
+        long waitMs = timeoutMs != null && timeoutMs > 0
+                ? Math.min(timeoutMs, statusWaitProperties.getMaxTimeoutMs())
+                : statusWaitProperties.getDefaultTimeoutMs();
+        return ekycService.awaitStatusChange(referenceNumber, currentStatus, Deadline.after(Duration.ofMillis(waitMs)))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Runs a request directly, or through the idempotency store if the client sent a key.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> idempotent(String operation, String idempotencyKey,
+                                                                Principal principal, Object request,
+                                                                Class<T> responseType,
+                                                                Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return call.get();
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ValidationException(IDEMPOTENCY_KEY_HEADER + " must be at most "
+                    + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        String caller = principal != null ? principal.getName() : "";
+        return idempotencyService.execute(operation, caller, idempotencyKey, request, responseType, call);
+    }
+
+    /**
+     * Answers 202 Accepted with the status URL for an accepted initiation, or 200 with
+     * the outcome if it was decided without calling UIDAI.
+     */
+    private ResponseEntity<EkycResponse> accepted(EkycResponse response, UriComponentsBuilder statusUri) {
+        if (response.getStatus() != VerificationStatus.INITIATED) {
+            return ResponseEntity.ok(response);
+        }
+        URI location = statusUri.buildAndExpand(response.getReferenceNumber()).toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(response);
+    }
+
+    /**
+     * Starts the deadline for a request: the client's budget if it sent a positive one,
+     * capped at the configured maximum, or the endpoint's default.
+     */
+    private Deadline deadline(Long requestedTimeoutMs, long defaultTimeoutMs) {
+        long timeoutMs = requestedTimeoutMs != null && requestedTimeoutMs > 0
+                ? Math.min(requestedTimeoutMs, deadlineProperties.getMaxMs())
+                : defaultTimeoutMs;
+        return Deadline.after(Duration.ofMillis(timeoutMs));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ekyc.dto.uidai;
+
+import com.ekyc.model.IdType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Body of the UIDAI eKYC initiation call.
+ *
+ * @param idNumber The Aadhaar or VID number
+ * @param idType The type of ID (AADHAAR or VID)
+ * @param identityVerificationConsent Whether consent for identity verification is given
+ * @param mobileEmailConsent Whether consent for accessing mobile/email is given
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@JsonSerialize(using = UidaiInitiateRequest.Serializer.class)
+public record UidaiInitiateRequest(String idNumber,
+                                   IdType idType,
+                                   boolean identityVerificationConsent,
+                                   boolean mobileEmailConsent) {
+
+    @Override
+    public String toString() {
+        // Never log the ID number
+        return "UidaiInitiateRequest{idType=" + idType + '}';
+    }
+
+    /**
+     * Writes the fields straight to the generator, skipping bean introspection.
+     */
+    public static class Serializer extends StdSerializer<UidaiInitiateRequest> {
+
+        public Serializer() {
+            super(UidaiInitiateRequest.class);
+        }
+
+        @Override
+        public void serialize(UidaiInitiateRequest request, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("idNumber", request.idNumber());
+            generator.writeStringField("idType", request.idType().toString());
+            generator.writeBooleanField("identityVerificationConsent", request.identityVerificationConsent());
+            generator.writeBooleanField("mobileEmailConsent", request.mobileEmailConsent());
+            generator.writeEndObject();
+        }
+    }
+}
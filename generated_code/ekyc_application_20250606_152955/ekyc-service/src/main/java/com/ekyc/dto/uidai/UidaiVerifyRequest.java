@@ -0,0 +1,54 @@
+package com.ekyc.dto.uidai;
+
+import com.ekyc.model.IdType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Body of the UIDAI OTP verification call.
+ *
+ * @param idNumber The Aadhaar or VID number
+ * @param idType The type of ID (AADHAAR or VID)
+ * @param otp The OTP to verify
+ * @param referenceNumber The reference returned by the OTP initiation
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@JsonSerialize(using = UidaiVerifyRequest.Serializer.class)
+public record UidaiVerifyRequest(String idNumber,
+                                 IdType idType,
+                                 String otp,
+                                 String referenceNumber) {
+
+    @Override
+    public String toString() {
+        // Never log the ID number or the OTP
+        return "UidaiVerifyRequest{idType=" + idType + ", referenceNumber=" + referenceNumber + '}';
+    }
+
+    /**
+     * Writes the fields straight to the generator, skipping bean introspection.
+     */
+    public static class Serializer extends StdSerializer<UidaiVerifyRequest> {
+
+        public Serializer() {
+            super(UidaiVerifyRequest.class);
+        }
+
+        @Override
+        public void serialize(UidaiVerifyRequest request, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("idNumber", request.idNumber());
+            generator.writeStringField("idType", request.idType().toString());
+            generator.writeStringField("otp", request.otp());
+            generator.writeStringField("referenceNumber", request.referenceNumber());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ekyc.enums;
+
+/**
+ * Priority classes of outbound UIDAI calls, from most to least urgent. When no
+ * concurrency slot is free, waiting calls are served in this order.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public enum UidaiCallPriority {
+    /**
+     * OTP verification; a user is waiting with an OTP that is about to expire.
+     */
+    VERIFY,
+
+    /**
+     * OTP initiation; the user has not received an OTP yet and can wait a little longer.
+     */
+    INITIATE,
+
+    /**
+     * Health probes and other background calls no user is waiting for.
+     */
+    HEALTH;
+
+    /**
+     * Priority class of calls made for an operation.
+     */
+    public static UidaiCallPriority of(UidaiOperation operation) {
+        return operation == UidaiOperation.VERIFY ? VERIFY : INITIATE;
+    }
+
+    /**
+     * Lower-case name used in logs and metric tags.
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
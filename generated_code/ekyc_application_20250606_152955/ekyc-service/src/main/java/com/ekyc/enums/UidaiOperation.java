@@ -0,0 +1,26 @@
+package com.ekyc.enums;
+
+/**
+ * UIDAI calls made by the service, used to keep per-operation state and metrics apart.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public enum UidaiOperation {
+    /**
+     * OTP initiation.
+     */
+    INITIATE,
+
+    /**
+     * OTP verification.
+     */
+    VERIFY;
+
+    /**
+     * Lower-case name used in logs and metric tags.
+     */
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ekyc.enums;
+
+/**
+ * Wire format used for requests to and responses from the UIDAI API.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public enum UidaiWireFormat {
+    /**
+     * JSON bodies, mapped with Jackson.
+     */
+    JSON,
+
+    /**
+     * Auth-API-style XML bodies, streamed with StAX.
+     */
+    XML
+}
@@ -0,0 +1,26 @@
+package com.ekyc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request runs out of its time budget, either before a step is started
+ * or because a UIDAI attempt was cut short by the deadline. The client has most likely
+ * given up by then, so no further work is done for the request.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ekyc.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request with an Idempotency-Key waited too long for another execution
+ * of the same key, usually on another instance, to complete. The client should retry
+ * with the same key later.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ekyc.exception;
+
+/**
+ * Thrown when UIDAI answers with a non-2xx HTTP status.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class UidaiHttpStatusException extends UidaiServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public UidaiHttpStatusException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Whether the status indicates a server-side condition that may clear on retry.
+     */
+    public boolean isServerError() {
+        return statusCode >= 500 && statusCode != 501;
+    }
+}
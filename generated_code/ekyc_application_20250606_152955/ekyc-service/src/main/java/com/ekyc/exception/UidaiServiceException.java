@@ -0,0 +1,21 @@
+package com.ekyc.exception;
+
+/**
+ * Thrown when a call to the UIDAI API fails, either because UIDAI could not be
+ * reached or because it returned a response that could not be processed.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class UidaiServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UidaiServiceException(String message) {
+        super(message);
+    }
+
+    public UidaiServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
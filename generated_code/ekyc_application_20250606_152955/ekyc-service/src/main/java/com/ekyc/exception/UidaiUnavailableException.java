@@ -0,0 +1,33 @@
+package com.ekyc.exception;
+
+/**
+ * Thrown without calling UIDAI when the call is rejected locally, because the
+ * circuit breaker is open, the concurrency limit for UIDAI calls is reached or the
+ * background health probe reports UIDAI down.
+ * Callers should treat it as a transient, fast failure.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class UidaiUnavailableException extends UidaiServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Reason the call was rejected.
+     */
+    public enum Reason {
+        CIRCUIT_OPEN, CONCURRENCY_LIMIT, HEALTH_CHECK_DOWN
+    }
+
+    private final Reason reason;
+
+    public UidaiUnavailableException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
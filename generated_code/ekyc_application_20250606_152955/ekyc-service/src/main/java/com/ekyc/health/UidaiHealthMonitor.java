@@ -0,0 +1,191 @@
+package com.ekyc.health;
+
+import com.ekyc.config.UidaiHealthProperties;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiUnavailableException;
+import com.ekyc.service.UidaiIntegrationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Probes UIDAI health in the background at a fixed cadence and caches the result, so
+ * request paths and readiness checks never call UIDAI themselves.
+ *
+ * UIDAI is reported down only after {@code failureThreshold} consecutive failed probes,
+ * and up again after the first successful one. A result older than
+ * {@code staleAfterMs} (the prober stopped, for instance) is treated as unknown and
+ * never sheds load. A probe that never got a concurrency slot, because user calls held
+ * them all, leaves the status as it was.
+ *
+ * Exposed as the {@code uidai} Actuator health contributor.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component("uidai")
+public class UidaiHealthMonitor implements HealthIndicator, MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(UidaiHealthMonitor.class);
+
+    /**
+     * Result of the latest probe.
+     *
+     * @param up Whether UIDAI is considered available
+     * @param latencyMs Round-trip time of the latest probe, or -1 if it did not complete
+     * @param checkedAt When the latest probe finished, or null before the first one
+     * @param checkedAtNanos {@link System#nanoTime()} at the same moment
+     * @param consecutiveFailures Failed probes since the last successful one
+     * @param error Why the latest probe failed, or null
+     */
+    public record Status(boolean up, long latencyMs, Instant checkedAt, long checkedAtNanos,
+                         int consecutiveFailures, String error) {
+
+        static final Status UNKNOWN = new Status(true, -1, null, 0, 0, null);
+    }
+
+    private final UidaiIntegrationService uidaiIntegrationService;
+    private final Duration probeTimeout;
+    private final int failureThreshold;
+    private final long staleAfterNanos;
+    private final boolean shedLoadWhenDown;
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    private volatile Status status = Status.UNKNOWN;
+
+    @Autowired
+    public UidaiHealthMonitor(UidaiIntegrationService uidaiIntegrationService, UidaiHealthProperties properties) {
+        this.uidaiIntegrationService = uidaiIntegrationService;
+        this.probeTimeout = Duration.ofMillis(properties.getTimeoutMs());
+        this.failureThreshold = Math.max(1, properties.getFailureThreshold());
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(properties.getStaleAfterMs());
+        this.shedLoadWhenDown = properties.isShedLoadWhenDown();
+    }
+
+    /**
+     * Starts a probe unless the previous one is still running. The probe itself does
+     * not block, so the scheduler thread is released immediately.
+     */
+    @Scheduled(fixedDelayString = "#{@uidaiHealthProperties.intervalMs}")
+    public void probe() {
+        if (!probeInFlight.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            uidaiIntegrationService.checkHealthAsync(probeTimeout)
+                    .whenComplete((healthy, failure) -> {
+                        try {
+                            record(start, healthy, failure);
+                        } finally {
+                            probeInFlight.set(false);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            record(start, null, e);
+            probeInFlight.set(false);
+        }
+    }
+
+    /**
+     * Returns the cached probe result. Never calls UIDAI.
+     *
+     * @return The latest status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Whether eKYC calls should be attempted. Reads the cached status only; returns true
+     * while the status is unknown or stale, or when load shedding is disabled.
+     *
+     * @return false if UIDAI is known to be down
+     */
+    public boolean isAvailable() {
+        Status current = status;
+        return !shedLoadWhenDown || current.up() || isStale(current);
+    }
+
+    @Override
+    public Health health() {
+        Status current = status;
+        if (current.checkedAt() == null || isStale(current)) {
+            return Health.unknown()
+                    .withDetail("checkedAt", String.valueOf(current.checkedAt()))
+                    .build();
+        }
+
+        Health.Builder builder = current.up() ? Health.up() : Health.down();
+        builder.withDetail("latencyMs", current.latencyMs())
+                .withDetail("checkedAt", current.checkedAt().toString())
+                .withDetail("consecutiveFailures", current.consecutiveFailures());
+        if (current.error() != null) {
+            builder.withDetail("error", current.error());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("uidai.health.up", this, monitor -> monitor.getStatus().up() ? 1 : 0)
+                .description("Whether the latest UIDAI health probes report it available")
+                .register(registry);
+        Gauge.builder("uidai.health.latency", this, monitor -> monitor.getStatus().latencyMs())
+                .description("Round-trip time of the latest UIDAI health probe")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void record(long startNanos, Boolean healthy, Throwable failure) {
+        long now = System.nanoTime();
+        Status previous = status;
+
+        if (failure == null && Boolean.TRUE.equals(healthy)) {
+            status = new Status(true, TimeUnit.NANOSECONDS.toMillis(now - startNanos), Instant.now(), now, 0, null);
+            if (!previous.up()) {
+                logger.info("UIDAI health probe succeeded, marking UIDAI available");
+            }
+            return;
+        }
+
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof DeadlineExceededException || cause instanceof UidaiUnavailableException) {
+            // The probe never got a concurrency slot; busy with user calls is not down
+            logger.debug("UIDAI health probe skipped: {}", cause.getMessage());
+            return;
+        }
+        String error = cause != null
+                ? cause.getClass().getSimpleName() + ": " + cause.getMessage()
+                : "Health endpoint returned a non-2xx status";
+        long latencyMs = cause != null ? -1 : TimeUnit.NANOSECONDS.toMillis(now - startNanos);
+        int failures = previous.consecutiveFailures() + 1;
+        boolean up = failures < failureThreshold && previous.up();
+
+        status = new Status(up, latencyMs, Instant.now(), now, failures, error);
+        if (previous.up() && !up) {
+            logger.warn("UIDAI marked unavailable after {} failed health probes: {}", failures, error);
+        } else {
+            logger.debug("UIDAI health probe failed ({} in a row): {}", failures, error);
+        }
+    }
+
+    private boolean isStale(Status current) {
+        return current.checkedAt() == null || System.nanoTime() - current.checkedAtNanos() > staleAfterNanos;
+    }
+}
@@ -46,13 +46,6 @@ public class EkycRequest extends BaseEntity {
         YES, NO
     }
 
-    /**
-     * Enum representing the current status of the eKYC verification request.
-     */
-    public enum VerificationStatus {
-        INITIATED, IN_PROGRESS, VERIFIED, FAILED, EXPIRED
-    }
-
     @NotBlank
     @Size(min = 12, max = 12)
     @Pattern(regexp = "^[0-9]{12}$", message = "ID must be exactly 12 numeric digits")
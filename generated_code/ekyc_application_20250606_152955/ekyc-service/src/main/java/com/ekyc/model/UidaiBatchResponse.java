@@ -0,0 +1,87 @@
+package com.ekyc.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a batched call to the UIDAI eKYC API: one item per request item, each with
+ * the HTTP status and response the item would have received as a single call.
+ *
+ * @param items The per-item results, in request order
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@JsonDeserialize(using = UidaiBatchResponse.Deserializer.class)
+public record UidaiBatchResponse(List<Item> items) {
+
+    /**
+     * Result of one item of a batch.
+     *
+     * @param index Position of the item in the request
+     * @param statusCode HTTP status of the item
+     * @param response Response of the item, or null if UIDAI returned none
+     */
+    public record Item(int index, int statusCode, UidaiResponse response) {
+    }
+
+    /**
+     * Reads the {@code results} array straight from the parser, delegating each item's
+     * response to the {@link UidaiResponse} deserializer. Unknown fields are skipped.
+     */
+    public static class Deserializer extends StdDeserializer<UidaiBatchResponse> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(UidaiBatchResponse.class);
+        }
+
+        @Override
+        public UidaiBatchResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (UidaiBatchResponse) context.handleUnexpectedToken(UidaiBatchResponse.class, parser);
+            }
+
+            List<Item> items = new ArrayList<>();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if ("results".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        items.add(readItem(parser, context));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new UidaiBatchResponse(items);
+        }
+
+        private Item readItem(JsonParser parser, DeserializationContext context) throws IOException {
+            int index = -1;
+            int statusCode = 0;
+            UidaiResponse response = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "index" -> index = parser.getValueAsInt(-1);
+                    case "statusCode" -> statusCode = parser.getValueAsInt(0);
+                    case "response" -> response = token == JsonToken.VALUE_NULL
+                            ? null
+                            : context.readValue(parser, UidaiResponse.class);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new Item(index, statusCode, response);
+        }
+    }
+}
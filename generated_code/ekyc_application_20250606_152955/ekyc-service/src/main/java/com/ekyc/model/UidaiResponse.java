@@ -0,0 +1,179 @@
+package com.ekyc.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Result of a call to the UIDAI eKYC API, independent of the wire format used.
+ * Holds the success flag, the error message reported by UIDAI (if any) and the
+ * response attributes such as the OTP reference and the KYC data.
+ *
+ * JSON responses are read by a dedicated deserializer that walks the token stream once,
+ * instead of by bean introspection or through an intermediate map.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@JsonDeserialize(using = UidaiResponse.Deserializer.class)
+public class UidaiResponse {
+
+    private boolean success;
+    private String errorMessage;
+    private Map<String, Object> data;
+
+    /**
+     * Default constructor.
+     */
+    public UidaiResponse() {
+    }
+
+    /**
+     * Creates a new UIDAI response.
+     *
+     * @param success Whether UIDAI accepted the request
+     * @param errorMessage The error message reported by UIDAI, or null
+     * @param data The response attributes, or null
+     */
+    public UidaiResponse(boolean success, String errorMessage, Map<String, Object> data) {
+        this.success = success;
+        this.errorMessage = errorMessage;
+        this.data = data;
+    }
+
+    /**
+     * Gets whether UIDAI accepted the request.
+     *
+     * @return true if the request succeeded
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Sets whether UIDAI accepted the request.
+     *
+     * @param success The success flag to set
+     */
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    /**
+     * Gets the error message reported by UIDAI.
+     *
+     * @return The error message, or null on success
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Sets the error message reported by UIDAI.
+     *
+     * @param errorMessage The error message to set
+     */
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Gets the response attributes.
+     *
+     * @return The response attributes, or null
+     */
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    /**
+     * Sets the response attributes.
+     *
+     * @param data The response attributes to set
+     */
+    public void setData(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    @Override
+    public String toString() {
+        return "UidaiResponse{" +
+                "success=" + success +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+
+    /**
+     * Reads the response fields straight from the parser. A top-level {@code status},
+     * as sent in UIDAI error bodies, is kept as the {@code status} attribute unless
+     * {@code data} carries one. Other unknown fields are skipped.
+     */
+    public static class Deserializer extends StdDeserializer<UidaiResponse> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Deserializer() {
+            super(UidaiResponse.class);
+        }
+
+        @Override
+        public UidaiResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (UidaiResponse) context.handleUnexpectedToken(UidaiResponse.class, parser);
+            }
+
+            UidaiResponse response = new UidaiResponse();
+            String status = null;
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "success" -> response.success = token == JsonToken.VALUE_TRUE
+                            || (token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText()));
+                    case "errorMessage" -> response.errorMessage =
+                            token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    case "data" -> response.data = token == JsonToken.VALUE_NULL ? null : readData(parser, context);
+                    case "status" -> {
+                        if (token == JsonToken.VALUE_STRING) {
+                            status = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (status != null) {
+                if (response.data == null) {
+                    response.data = new HashMap<>();
+                }
+                response.data.putIfAbsent("status", status);
+            }
+            return response;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> readData(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return (Map<String, Object>) context.handleUnexpectedToken(Map.class, parser);
+            }
+
+            Map<String, Object> data = new HashMap<>();
+            String key;
+            while ((key = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                // UIDAI attributes are almost always strings; anything else is bound generically
+                data.put(key, token == JsonToken.VALUE_STRING
+                        ? parser.getText()
+                        : context.readValue(parser, Object.class));
+            }
+            return data;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ekyc.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle of an eKYC request. Every status change is a transition allowed by
+ * {@link #canTransitionTo} and is applied as a compare-and-set on the stored status, so
+ * a late UIDAI response, a concurrent duplicate or the stuck-request recovery can never
+ * overwrite a transition that already happened.
+ *
+ * <pre>
+ * INITIATED --(OTP sent)--> IN_PROGRESS --(verify claimed)--> VERIFYING --> VERIFIED
+ *     |                        |    ^                             |
+ *     +--> FAILED              |    +---(call failed or stuck)----+--> FAILED
+ *                              +--> EXPIRED / FAILED
+ * </pre>
+ *
+ * INITIATED and VERIFYING mark a UIDAI call in flight; a request that stays in either
+ * for too long was abandoned by a crashed or restarted instance and is recovered.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public enum VerificationStatus {
+    /**
+     * Stored; the UIDAI initiation call is in flight.
+     */
+    INITIATED,
+
+    /**
+     * UIDAI sent the OTP; waiting for the user to submit it.
+     */
+    IN_PROGRESS,
+
+    /**
+     * An OTP was submitted; the UIDAI verification call is in flight.
+     */
+    VERIFYING,
+
+    /**
+     * UIDAI verified the OTP.
+     */
+    VERIFIED,
+
+    /**
+     * UIDAI rejected the initiation or the OTP, or the initiation was interrupted.
+     */
+    FAILED,
+
+    /**
+     * The OTP was not submitted in time.
+     */
+    EXPIRED;
+
+    /**
+     * Whether a request in this status may move to the given one.
+     *
+     * @param next The status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(VerificationStatus next) {
+        return successors().contains(next);
+    }
+
+    /**
+     * Whether no further transition is possible.
+     */
+    public boolean isTerminal() {
+        return successors().isEmpty();
+    }
+
+    private Set<VerificationStatus> successors() {
+        return switch (this) {
+            case INITIATED -> EnumSet.of(IN_PROGRESS, FAILED);
+            case IN_PROGRESS -> EnumSet.of(VERIFYING, EXPIRED, FAILED);
+            case VERIFYING -> EnumSet.of(VERIFIED, FAILED, IN_PROGRESS);
+            case VERIFIED, FAILED, EXPIRED -> EnumSet.noneOf(VerificationStatus.class);
+        };
+    }
+}
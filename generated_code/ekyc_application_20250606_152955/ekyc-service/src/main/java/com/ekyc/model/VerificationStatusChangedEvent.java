@@ -0,0 +1,13 @@
+package com.ekyc.model;
+
+/**
+ * Published when the stored status of an eKYC request changes, from within the
+ * transaction that changed it.
+ *
+ * @param referenceNumber The reference number of the request
+ * @param status The new status
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public record VerificationStatusChangedEvent(String referenceNumber, VerificationStatus status) {
+}
@@ -0,0 +1,64 @@
+package com.ekyc.repository;
+
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.VerificationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for eKYC requests.
+ *
+ * Status changes go through {@link #compareAndSetStatus} rather than saving the entity,
+ * so they need no row lock held across the UIDAI call and cannot overwrite a change
+ * made by another transaction in the meantime. They also bump the version, so a copy of
+ * the entity loaded before the change can no longer be saved over it.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Repository
+public interface EkycRequestRepository extends JpaRepository<EkycRequest, Long> {
+
+    Optional<EkycRequest> findByReferenceNumber(String referenceNumber);
+
+    /**
+     * Moves a request to a new status if it is still in the expected one.
+     *
+     * @param referenceNumber The reference number of the request
+     * @param expected The status the request must be in
+     * @param status The new status
+     * @param failureReason The failure reason to store, or null to clear it
+     * @param updatedAt The time of the change
+     * @return 1 if the status was changed, 0 if the request is missing or was no longer
+     *         in the expected status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE EkycRequest r SET r.status = :status, r.errorMessage = :failureReason, r.updatedAt = :updatedAt, "
+            + "r.version = r.version + 1 WHERE r.referenceNumber = :referenceNumber AND r.status = :expected")
+    int compareAndSetStatus(@Param("referenceNumber") String referenceNumber,
+                            @Param("expected") VerificationStatus expected,
+                            @Param("status") VerificationStatus status,
+                            @Param("failureReason") String failureReason,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Finds requests that have been in a status since before a cutoff, oldest first.
+     *
+     * @param status The status
+     * @param cutoff Requests last updated before this time are returned
+     * @param pageable The maximum number of requests to return
+     * @return The requests
+     */
+    @Query("SELECT r FROM EkycRequest r WHERE r.status = :status AND r.updatedAt < :cutoff ORDER BY r.updatedAt")
+    List<EkycRequest> findStuck(@Param("status") VerificationStatus status,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                Pageable pageable);
+}
@@ -0,0 +1,97 @@
+package com.ekyc.repository;
+
+import com.ekyc.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for stored Idempotency-Key responses.
+ *
+ * A key is claimed by inserting it, or by taking over a row that expired or whose
+ * owner's lease ran out; the claim's owner token then guards completing or releasing
+ * it, so an execution that lost its lease cannot overwrite the one that took over.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims a key that is not stored yet.
+     *
+     * @return 1 if the key was claimed, 0 if it is already stored
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_records (record_key, operation, request_fingerprint, state, owner_token, "
+            + "created_at, locked_until, expires_at) "
+            + "VALUES (:recordKey, :operation, :fingerprint, 'IN_PROGRESS', :ownerToken, :now, :lockedUntil, :expiresAt) "
+            + "ON CONFLICT (record_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("recordKey") String recordKey,
+                       @Param("operation") String operation,
+                       @Param("fingerprint") String fingerprint,
+                       @Param("ownerToken") String ownerToken,
+                       @Param("now") LocalDateTime now,
+                       @Param("lockedUntil") LocalDateTime lockedUntil,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Claims a stored key whose response expired, or whose execution lost its lease.
+     *
+     * @return 1 if the key was claimed, 0 if it is still owned or completed
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_records SET operation = :operation, request_fingerprint = :fingerprint, "
+            + "state = 'IN_PROGRESS', owner_token = :ownerToken, response_status = NULL, response_location = NULL, "
+            + "response_body = NULL, created_at = :now, locked_until = :lockedUntil, expires_at = :expiresAt "
+            + "WHERE record_key = :recordKey "
+            + "AND (expires_at < :now OR (state = 'IN_PROGRESS' AND locked_until < :now))", nativeQuery = true)
+    int takeOver(@Param("recordKey") String recordKey,
+                 @Param("operation") String operation,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("ownerToken") String ownerToken,
+                 @Param("now") LocalDateTime now,
+                 @Param("lockedUntil") LocalDateTime lockedUntil,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Stores the response of a claimed key.
+     *
+     * @return 1 if stored, 0 if the claim was lost
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_records SET state = 'COMPLETED', owner_token = NULL, "
+            + "response_status = :status, response_location = :location, response_body = :body "
+            + "WHERE record_key = :recordKey AND owner_token = :ownerToken", nativeQuery = true)
+    int complete(@Param("recordKey") String recordKey,
+                 @Param("ownerToken") String ownerToken,
+                 @Param("status") int status,
+                 @Param("location") String location,
+                 @Param("body") String body);
+
+    /**
+     * Gives up a claimed key whose execution failed, so a retry runs again.
+     *
+     * @return 1 if released, 0 if the claim was lost
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE record_key = :recordKey AND owner_token = :ownerToken",
+            nativeQuery = true)
+    int release(@Param("recordKey") String recordKey, @Param("ownerToken") String ownerToken);
+
+    /**
+     * Deletes up to {@code limit} expired keys, oldest first.
+     *
+     * @return The number of keys deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE record_key IN ("
+            + "SELECT record_key FROM idempotency_records WHERE expires_at < :now ORDER BY expires_at LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,188 @@
+package com.ekyc.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient-style adaptive concurrency limit for outbound calls.
+ *
+ * Round-trip times are averaged over short sample windows and compared with a slowly
+ * moving long-term average. While the two agree the limit grows by roughly
+ * {@code sqrt(limit)} per window; once the short-term RTT rises above the long-term one
+ * (requests are queueing somewhere) the limit is scaled down by the ratio between them,
+ * and a dropped call (timeout or error) backs it off multiplicatively.
+ *
+ * Acquire and release are lock-free. Only the caller that closes a sample window, chosen
+ * by compare-and-set, recomputes the limit.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_ALPHA = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final LongAdder windowRttSumNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private final AtomicLong windowStartNanos;
+
+    private volatile double limit;
+    private volatile double shortRttNanos;
+    private volatile double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+                                      double smoothing, long windowMs, int minWindowSamples) {
+        this(initialLimit, minLimit, maxLimit, rttTolerance, smoothing, windowMs, minWindowSamples,
+                System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+                               double smoothing, long windowMs, int minWindowSamples, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStartNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a slot if fewer calls than the current limit are in flight. Every acquired
+     * slot must be given back through {@link #onSuccess}, {@link #onDropped} or
+     * {@link #release}.
+     *
+     * @return true if the call may proceed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot for a call that completed, and records its round-trip time.
+     *
+     * @param rttNanos The round-trip time of the call
+     */
+    public void onSuccess(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSumNanos.add(rttNanos);
+        windowSamples.increment();
+        maybeUpdateLimit();
+    }
+
+    /**
+     * Gives back a slot for a call that timed out or failed, which is taken as a sign
+     * of overload.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        windowDropped.set(true);
+        maybeUpdateLimit();
+    }
+
+    /**
+     * Gives back a slot without recording anything, for a call that was never made.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Average round-trip time over the last completed sample window, in milliseconds.
+     */
+    public double getShortRttMs() {
+        return shortRttNanos / 1_000_000d;
+    }
+
+    /**
+     * Long-term average round-trip time, in milliseconds.
+     */
+    public double getLongRttMs() {
+        return longRttNanos / 1_000_000d;
+    }
+
+    private void maybeUpdateLimit() {
+        long start = windowStartNanos.get();
+        long now = nanoClock.getAsLong();
+        boolean dropped = windowDropped.get();
+        if (now - start < windowNanos || (!dropped && windowSamples.sum() < minWindowSamples)) {
+            return;
+        }
+        if (!windowStartNanos.compareAndSet(start, now)) {
+            // Another caller is closing this window
+            return;
+        }
+
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSumNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowDropped.set(false);
+
+        double currentLimit = limit;
+        double newLimit;
+
+        if (dropped) {
+            newLimit = currentLimit * DROP_BACKOFF_RATIO;
+        } else {
+            double shortRtt = (double) rttSum / samples;
+            double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos;
+            longRtt = longRtt * (1 - LONG_RTT_ALPHA) + shortRtt * LONG_RTT_ALPHA;
+            if (longRtt > shortRtt * 2) {
+                // Latency has recovered well below the long-term average; let it catch up
+                longRtt = longRtt * 0.95;
+            }
+            shortRttNanos = shortRtt;
+            longRttNanos = longRtt;
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+            newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+
+            if (newLimit > currentLimit && maxInFlight < currentLimit / 2) {
+                // Demand never came close to the limit, so the samples say nothing about more
+                newLimit = currentLimit;
+            }
+            newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        }
+
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,222 @@
+package com.ekyc.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. The outcomes of the last {@code slidingWindowSize} calls
+ * are kept in a ring buffer; once at least {@code minimumCalls} have been recorded, the
+ * breaker opens when either the failure rate or the slow-call rate reaches its threshold.
+ *
+ * While open, calls are rejected without being attempted. After {@code openStateDuration}
+ * the breaker lets {@code halfOpenPermittedCalls} trial calls through and closes again
+ * only if those stay under both thresholds.
+ *
+ * Every permission carries the generation of the state it was granted in, and a call
+ * is only recorded if the breaker has not changed state since; a call admitted while
+ * closed that ends during the trial period does not count as a trial.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of the circuit breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquirePermission} when the call may not proceed.
+     */
+    public static final long NO_PERMISSION = -1;
+
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openStateDurationNanos;
+    private final int halfOpenPermittedCalls;
+    private final LongSupplier nanoClock;
+
+    private final byte[] outcomes;
+    private int nextIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private int slowCalls;
+
+    private volatile State state = State.CLOSED;
+    private long generation;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenCompleted;
+    private int halfOpenFailed;
+    private int halfOpenSlow;
+
+    public CircuitBreaker(int slidingWindowSize, int minimumCalls, int failureRateThreshold,
+                          int slowCallRateThreshold, long slowCallThresholdMs,
+                          long openStateDurationMs, int halfOpenPermittedCalls) {
+        this(slidingWindowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                slowCallThresholdMs, openStateDurationMs, halfOpenPermittedCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int slidingWindowSize, int minimumCalls, int failureRateThreshold,
+                   int slowCallRateThreshold, long slowCallThresholdMs,
+                   long openStateDurationMs, int halfOpenPermittedCalls, LongSupplier nanoClock) {
+        if (slidingWindowSize < 1 || halfOpenPermittedCalls < 1) {
+            throw new IllegalArgumentException("Window size and half-open calls must be positive");
+        }
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs);
+        this.openStateDurationNanos = TimeUnit.MILLISECONDS.toNanos(openStateDurationMs);
+        this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+        this.nanoClock = nanoClock;
+        this.outcomes = new byte[slidingWindowSize];
+    }
+
+    /**
+     * Asks for permission to make a call. Every granted permission must be followed by
+     * exactly one of {@link #onSuccess}, {@link #onFailure} or {@link #releasePermission}.
+     *
+     * @return the permission to pass back with the outcome, or {@link #NO_PERMISSION}
+     *         if the call may not proceed
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openStateDurationNanos) {
+                return NO_PERMISSION;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenCompleted >= halfOpenPermittedCalls) {
+                return NO_PERMISSION;
+            }
+            halfOpenInFlight++;
+        }
+        return generation;
+    }
+
+    /**
+     * Gives back a permission for a call that was never made.
+     *
+     * @param permission Permission returned by {@link #tryAcquirePermission}
+     */
+    public synchronized void releasePermission(long permission) {
+        if (permission == generation && state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    /**
+     * Records a call that completed normally.
+     *
+     * @param permission Permission the call was made with
+     * @param durationNanos How long the call took
+     */
+    public synchronized void onSuccess(long permission, long durationNanos) {
+        record(permission, durationNanos >= slowCallThresholdNanos ? SLOW : 0);
+    }
+
+    /**
+     * Records a call that failed.
+     *
+     * @param permission Permission the call was made with
+     * @param durationNanos How long the call took before failing
+     */
+    public synchronized void onFailure(long permission, long durationNanos) {
+        record(permission, (byte) (FAILURE | (durationNanos >= slowCallThresholdNanos ? SLOW : 0)));
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Failure rate over the current window, in percent, or -1 if fewer than the
+     * minimum number of calls have been recorded.
+     */
+    public synchronized float getFailureRate() {
+        return recordedCalls < minimumCalls ? -1f : failedCalls * 100f / recordedCalls;
+    }
+
+    /**
+     * Slow-call rate over the current window, in percent, or -1 if fewer than the
+     * minimum number of calls have been recorded.
+     */
+    public synchronized float getSlowCallRate() {
+        return recordedCalls < minimumCalls ? -1f : slowCalls * 100f / recordedCalls;
+    }
+
+    private void record(long permission, byte outcome) {
+        if (permission != generation) {
+            // A call admitted before the last state change; its outcome no longer matters
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            recordHalfOpen(outcome);
+            return;
+        }
+
+        if (recordedCalls == slidingWindowSize) {
+            byte evicted = outcomes[nextIndex];
+            failedCalls -= evicted & FAILURE;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextIndex] = outcome;
+        nextIndex = (nextIndex + 1) % slidingWindowSize;
+        failedCalls += outcome & FAILURE;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (recordedCalls >= minimumCalls && exceedsThresholds(failedCalls, slowCalls, recordedCalls)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void recordHalfOpen(byte outcome) {
+        if (halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+        halfOpenCompleted++;
+        halfOpenFailed += outcome & FAILURE;
+        halfOpenSlow += (outcome & SLOW) >> 1;
+
+        if (halfOpenCompleted >= halfOpenPermittedCalls) {
+            transitionTo(exceedsThresholds(halfOpenFailed, halfOpenSlow, halfOpenCompleted)
+                    ? State.OPEN
+                    : State.CLOSED);
+        }
+    }
+
+    private boolean exceedsThresholds(int failed, int slow, int total) {
+        return failed * 100 >= failureRateThreshold * total
+                || slow * 100 >= slowCallRateThreshold * total;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        generation++;
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        halfOpenInFlight = 0;
+        halfOpenCompleted = 0;
+        halfOpenFailed = 0;
+        halfOpenSlow = 0;
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+}
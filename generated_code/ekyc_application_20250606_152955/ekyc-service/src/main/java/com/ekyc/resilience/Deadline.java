@@ -0,0 +1,85 @@
+package com.ekyc.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Point in time by which a request must be answered, carried from the controller down to
+ * each UIDAI attempt. Work that cannot finish before the deadline is not started, and
+ * per-attempt timeouts are cut to the time that is left.
+ *
+ * Based on {@link System#nanoTime()}, so it is unaffected by wall-clock changes but only
+ * meaningful within this process.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE, System::nanoTime);
+
+    private final long expiresAtNanos;
+    private final LongSupplier nanoClock;
+
+    private Deadline(long expiresAtNanos, LongSupplier nanoClock) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Creates a deadline the given time from now.
+     *
+     * @param timeout Time the request may take
+     * @return The deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return after(timeout, System::nanoTime);
+    }
+
+    static Deadline after(Duration timeout, LongSupplier nanoClock) {
+        return new Deadline(nanoClock.getAsLong() + timeout.toNanos(), nanoClock);
+    }
+
+    /**
+     * Returns a deadline that never expires, for callers without a time budget.
+     *
+     * @return The unbounded deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    /**
+     * Time left before the deadline, in nanoseconds; zero or negative once it has passed.
+     */
+    public long remainingNanos() {
+        return isBounded() ? expiresAtNanos - nanoClock.getAsLong() : Long.MAX_VALUE;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Caps a timeout to the time left before the deadline.
+     *
+     * @param timeout The timeout that would apply without a deadline
+     * @return The shorter of the timeout and the remaining time, never negative
+     */
+    public Duration cap(Duration timeout) {
+        long remaining = Math.max(0, remainingNanos());
+        return remaining < timeout.toNanos() ? Duration.ofNanos(remaining) : timeout;
+    }
+
+    @Override
+    public String toString() {
+        return isBounded()
+                ? "Deadline{remainingMs=" + TimeUnit.NANOSECONDS.toMillis(remainingNanos()) + '}'
+                : "Deadline{none}";
+    }
+}
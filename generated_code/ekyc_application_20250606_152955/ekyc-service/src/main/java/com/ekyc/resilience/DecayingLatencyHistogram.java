@@ -0,0 +1,137 @@
+package com.ekyc.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histogram with exponentially decaying weights, for estimating recent latency
+ * quantiles cheaply.
+ *
+ * Buckets are spaced logarithmically (each about 10% wider than the previous one) from
+ * 1 ms to about a minute, so a quantile is accurate to within one bucket width. Every
+ * recorded latency starts with weight 1, and all weights halve every
+ * {@code halfLife}; a shift in latency therefore dominates the estimate within a couple
+ * of half-lives without any samples being stored.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class DecayingLatencyHistogram {
+
+    private static final double GROWTH = 1.1;
+    private static final long MIN_MICROS = 1_000;
+    private static final int BUCKETS = 116;
+
+    /**
+     * Upper bound of each bucket, in microseconds.
+     */
+    private static final long[] BOUNDS = bounds();
+
+    private final long halfLifeNanos;
+    private final LongSupplier nanoClock;
+    private final double[] weights = new double[BUCKETS];
+    private double totalWeight;
+    private long lastDecayNanos;
+
+    public DecayingLatencyHistogram(long halfLifeMs) {
+        this(halfLifeMs, System::nanoTime);
+    }
+
+    DecayingLatencyHistogram(long halfLifeMs, LongSupplier nanoClock) {
+        if (halfLifeMs <= 0) {
+            throw new IllegalArgumentException("halfLifeMs must be positive");
+        }
+        this.halfLifeNanos = TimeUnit.MILLISECONDS.toNanos(halfLifeMs);
+        this.nanoClock = nanoClock;
+        this.lastDecayNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param latencyNanos The observed latency
+     */
+    public synchronized void record(long latencyNanos) {
+        decay();
+        long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+        weights[bucketOf(micros)] += 1;
+        totalWeight += 1;
+    }
+
+    /**
+     * Decayed number of recorded latencies; one for each recent latency, less for
+     * older ones.
+     */
+    public synchronized double weight() {
+        decay();
+        return totalWeight;
+    }
+
+    /**
+     * Estimates a latency quantile.
+     *
+     * @param quantile The quantile, between 0 and 1
+     * @return The upper bound of the bucket holding the quantile, in nanoseconds, or -1
+     *         if nothing has been recorded
+     */
+    public synchronized long quantileNanos(double quantile) {
+        decay();
+        if (totalWeight <= 0) {
+            return -1;
+        }
+        double target = quantile * totalWeight;
+        double cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target && weights[i] > 0) {
+                return TimeUnit.MICROSECONDS.toNanos(BOUNDS[i]);
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(BOUNDS[BUCKETS - 1]);
+    }
+
+    /**
+     * Applies the decay accumulated since the last call. Decay is applied in steps of a
+     * tenth of the half-life, so frequent calls do not each pay for a pass over the
+     * buckets.
+     */
+    private void decay() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - lastDecayNanos;
+        if (elapsed < halfLifeNanos / 10) {
+            return;
+        }
+        double factor = Math.pow(0.5, (double) elapsed / halfLifeNanos);
+        for (int i = 0; i < BUCKETS; i++) {
+            weights[i] *= factor;
+        }
+        totalWeight *= factor;
+        lastDecayNanos = now;
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros <= MIN_MICROS) {
+            return 0;
+        }
+        int index = Math.min(BUCKETS - 1,
+                (int) Math.ceil(Math.log((double) micros / MIN_MICROS) / Math.log(GROWTH)));
+        // Correct for floating-point rounding at bucket edges
+        while (index < BUCKETS - 1 && BOUNDS[index] < micros) {
+            index++;
+        }
+        while (index > 0 && BOUNDS[index - 1] >= micros) {
+            index--;
+        }
+        return index;
+    }
+
+    private static long[] bounds() {
+        long[] bounds = new long[BUCKETS];
+        double bound = MIN_MICROS;
+        for (int i = 0; i < BUCKETS; i++) {
+            bounds[i] = (long) Math.ceil(bound);
+            bound *= GROWTH;
+        }
+        return bounds;
+    }
+}
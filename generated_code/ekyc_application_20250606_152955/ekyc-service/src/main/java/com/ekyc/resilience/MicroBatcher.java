@@ -0,0 +1,170 @@
+package com.ekyc.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Groups items submitted by concurrent callers into batches and sends each batch with
+ * one call. A batch is sent when it holds {@code maxItems} items, or {@code maxDelay}
+ * after its first item arrived, whichever comes first.
+ *
+ * The sender must answer with one result per item, in submission order. A failed batch
+ * fails every item in it.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class MicroBatcher<T, R> implements MeterBinder {
+
+    private final String name;
+    private final int maxItems;
+    private final long maxDelayNanos;
+    private final Function<List<T>, CompletableFuture<List<R>>> sender;
+
+    private final Object lock = new Object();
+    private List<Pending<T, R>> pending;
+
+    private final LongAdder items = new LongAdder();
+    private final LongAdder fullBatches = new LongAdder();
+    private final LongAdder timedBatches = new LongAdder();
+
+    /**
+     * @param name Name of the batched operation, used to tag metrics
+     * @param maxItems Maximum items per batch
+     * @param maxDelayMs Longest time an item waits for the batch to fill, in milliseconds
+     * @param sender Sends one batch; must not block
+     */
+    public MicroBatcher(String name, int maxItems, long maxDelayMs,
+                        Function<List<T>, CompletableFuture<List<R>>> sender) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("maxItems must be positive");
+        }
+        this.name = name;
+        this.maxItems = maxItems;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.sender = sender;
+    }
+
+    /**
+     * Adds an item to the current batch.
+     *
+     * @param item The item to send
+     * @return future completed with the item's result once its batch has been answered
+     */
+    public CompletableFuture<R> submit(T item) {
+        Pending<T, R> entry = new Pending<>(item);
+        List<Pending<T, R>> full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                List<Pending<T, R>> batch = new ArrayList<>(Math.min(maxItems, 64));
+                pending = batch;
+                if (maxItems > 1) {
+                    CompletableFuture.delayedExecutor(maxDelayNanos, TimeUnit.NANOSECONDS)
+                            .execute(() -> flushIfPending(batch));
+                }
+            }
+            pending.add(entry);
+            if (pending.size() >= maxItems) {
+                full = pending;
+                pending = null;
+            }
+        }
+        items.increment();
+        if (full != null) {
+            fullBatches.increment();
+            send(full);
+        }
+        return entry.result;
+    }
+
+    /**
+     * Number of items waiting for their batch to be sent.
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending == null ? 0 : pending.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("batcher.items", items, LongAdder::sum)
+                .tag("name", name)
+                .description("Items submitted for batching")
+                .register(registry);
+        FunctionCounter.builder("batcher.batches", fullBatches, LongAdder::sum)
+                .tag("name", name)
+                .tag("trigger", "size")
+                .description("Batches sent, by what triggered them")
+                .register(registry);
+        FunctionCounter.builder("batcher.batches", timedBatches, LongAdder::sum)
+                .tag("name", name)
+                .tag("trigger", "time")
+                .description("Batches sent, by what triggered them")
+                .register(registry);
+        Gauge.builder("batcher.pending", this, MicroBatcher::getPendingCount)
+                .tag("name", name)
+                .description("Items waiting for their batch to be sent")
+                .register(registry);
+    }
+
+    /**
+     * Sends a batch whose delay ran out, unless it was already sent because it filled up.
+     */
+    private void flushIfPending(List<Pending<T, R>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        timedBatches.increment();
+        send(batch);
+    }
+
+    private void send(List<Pending<T, R>> batch) {
+        List<T> batchItems = new ArrayList<>(batch.size());
+        for (Pending<T, R> entry : batch) {
+            batchItems.add(entry.item);
+        }
+
+        CompletableFuture<List<R>> call;
+        try {
+            call = sender.apply(batchItems);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((results, failure) -> {
+            if (failure == null && (results == null || results.size() != batch.size())) {
+                failure = new IllegalStateException("Expected " + batch.size() + " results for " + name
+                        + " batch but got " + (results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure != null) {
+                    batch.get(i).result.completeExceptionally(failure);
+                } else {
+                    batch.get(i).result.complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    private static final class Pending<T, R> {
+        final T item;
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Pending(T item) {
+            this.item = item;
+        }
+    }
+}
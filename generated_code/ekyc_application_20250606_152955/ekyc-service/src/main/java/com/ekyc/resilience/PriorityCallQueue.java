@@ -0,0 +1,146 @@
+package com.ekyc.resilience;
+
+import com.ekyc.enums.UidaiCallPriority;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded FIFO queues of calls waiting for a concurrency slot, one per
+ * {@link UidaiCallPriority}, served strictly by priority with an aging rule against
+ * starvation.
+ *
+ * A call of a lower class whose wait has exceeded {@code starvationThresholdMs} is
+ * "aged". While an aged call is waiting, every {@code starvationInterval}-th slot goes
+ * to the aged call that has waited longest instead of to the highest class, so lower
+ * classes keep a guaranteed share under sustained high-priority load without taking
+ * more than that share from it.
+ *
+ * Not thread-safe; callers synchronize on the queue.
+ *
+ * @param <E> Type of the queued calls
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+final class PriorityCallQueue<E> {
+
+    private static final UidaiCallPriority[] PRIORITIES = UidaiCallPriority.values();
+
+    private final Map<UidaiCallPriority, Integer> capacities;
+    private final long starvationThresholdNanos;
+    private final int starvationInterval;
+    private final Map<UidaiCallPriority, ArrayDeque<Waiting<E>>> queues = new EnumMap<>(UidaiCallPriority.class);
+    private int size;
+    private int slotsSinceAged;
+
+    /**
+     * @param capacities Maximum number of waiting calls per class; a class without an
+     *        entry, or with zero, never queues
+     * @param starvationThresholdMs Wait after which a lower-class call counts as aged
+     * @param starvationInterval One in this many slots goes to an aged call, if any
+     */
+    PriorityCallQueue(Map<UidaiCallPriority, Integer> capacities, long starvationThresholdMs,
+                      int starvationInterval) {
+        this.capacities = new EnumMap<>(capacities);
+        this.starvationThresholdNanos = TimeUnit.MILLISECONDS.toNanos(starvationThresholdMs);
+        this.starvationInterval = Math.max(1, starvationInterval);
+        for (UidaiCallPriority priority : PRIORITIES) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Adds a call to the end of its class's queue.
+     *
+     * @param priority Class of the call
+     * @param element The call
+     * @param nowNanos Current time, the call's enqueue time
+     * @return false if the class's queue is full
+     */
+    boolean offer(UidaiCallPriority priority, E element, long nowNanos) {
+        ArrayDeque<Waiting<E>> queue = queues.get(priority);
+        if (queue.size() >= capacities.getOrDefault(priority, 0)) {
+            return false;
+        }
+        queue.addLast(new Waiting<>(element, nowNanos));
+        size++;
+        return true;
+    }
+
+    /**
+     * Takes the call that gets the next free slot.
+     *
+     * @param nowNanos Current time
+     * @return The call, or null if none is waiting
+     */
+    Entry<E> poll(long nowNanos) {
+        UidaiCallPriority highest = null;
+        UidaiCallPriority aged = null;
+        long oldestEnqueued = Long.MAX_VALUE;
+        for (UidaiCallPriority priority : PRIORITIES) {
+            Waiting<E> head = queues.get(priority).peekFirst();
+            if (head == null) {
+                continue;
+            }
+            if (highest == null) {
+                highest = priority;
+            } else if (nowNanos - head.enqueuedAtNanos >= starvationThresholdNanos
+                    && head.enqueuedAtNanos < oldestEnqueued) {
+                aged = priority;
+                oldestEnqueued = head.enqueuedAtNanos;
+            }
+        }
+        if (highest == null) {
+            return null;
+        }
+
+        UidaiCallPriority chosen = highest;
+        if (aged == null) {
+            slotsSinceAged = 0;
+        } else if (++slotsSinceAged >= starvationInterval) {
+            slotsSinceAged = 0;
+            chosen = aged;
+        }
+
+        Waiting<E> waiting = queues.get(chosen).pollFirst();
+        size--;
+        return new Entry<>(chosen, waiting.element, nowNanos - waiting.enqueuedAtNanos);
+    }
+
+    /**
+     * Removes a call that is still waiting, for instance because its deadline passed.
+     *
+     * @return true if the call was waiting and has been removed
+     */
+    boolean remove(UidaiCallPriority priority, E element) {
+        boolean removed = queues.get(priority).removeIf(waiting -> waiting.element == element);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size(UidaiCallPriority priority) {
+        return queues.get(priority).size();
+    }
+
+    /**
+     * A call taken from the queue.
+     *
+     * @param priority Class of the call
+     * @param element The call
+     * @param waitNanos How long the call waited
+     */
+    record Entry<E>(UidaiCallPriority priority, E element, long waitNanos) {
+    }
+
+    private record Waiting<E>(E element, long enqueuedAtNanos) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.ekyc.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries to a fraction of the requests made. Every request
+ * deposits {@code ratio} of a token, every retry withdraws a whole one, and the bucket
+ * holds at most {@code maxTokens}. With a ratio of 0.1, sustained retries can never
+ * exceed 10% of the request rate, however many requests are failing.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("Ratio and max tokens must not be negative");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        // Start full so retries are possible before any traffic has built up the budget
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    /**
+     * Records a first attempt, adding to the budget.
+     */
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * Takes one token for a retry.
+     *
+     * @return true if the retry is within budget
+     */
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available.
+     */
+    public double getAvailableTokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
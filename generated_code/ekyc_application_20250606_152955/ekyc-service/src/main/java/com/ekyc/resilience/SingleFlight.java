@@ -0,0 +1,152 @@
+package com.ekyc.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one: the first caller starts the
+ * call, and every caller that arrives while it is in flight gets the same result.
+ *
+ * A successful result stays shared for a short window after completion, which absorbs
+ * double submits and client retries that arrive just after the first call returned.
+ * A failed result is shared only with callers that were already waiting, so a retry
+ * after a failure always starts a new call.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private static final long IN_FLIGHT = -1;
+
+    private final String name;
+    private final long completedWindowNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder joinedInFlight = new LongAdder();
+    private final LongAdder joinedCompleted = new LongAdder();
+
+    /**
+     * @param name Name of the coalesced operation, used to tag metrics
+     * @param completedWindowMs How long a successful result stays shared after it
+     *        completes, in milliseconds; zero to share in-flight calls only
+     */
+    public SingleFlight(String name, long completedWindowMs) {
+        this(name, completedWindowMs, System::nanoTime);
+    }
+
+    SingleFlight(String name, long completedWindowMs, LongSupplier nanoClock) {
+        this.name = name;
+        this.completedWindowNanos = TimeUnit.MILLISECONDS.toNanos(completedWindowMs);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs the call for a key, or joins the call already running or recently completed
+     * for it.
+     *
+     * @param key The key identifying duplicate calls
+     * @param call Starts the call; only invoked by the caller that leads the flight
+     * @return a future for the shared result. Each caller gets its own copy, so
+     *         cancelling or completing it does not affect the others
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight<V> existing = flights.get(key);
+            if (existing != null) {
+                long completedAt = existing.completedAtNanos;
+                if (completedAt == IN_FLIGHT) {
+                    joinedInFlight.increment();
+                    return existing.result.copy();
+                }
+                if (nanoClock.getAsLong() - completedAt < completedWindowNanos) {
+                    joinedCompleted.increment();
+                    return existing.result.copy();
+                }
+                // Expired; replace it unless another caller already did
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight<V> flight = new Flight<>();
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            leaders.increment();
+            start(key, flight, call);
+            return flight.result.copy();
+        }
+    }
+
+    /**
+     * Number of keys with a call in flight or a result still being shared.
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.calls", leaders, LongAdder::sum)
+                .tag("name", name)
+                .tag("result", "leader")
+                .description("Calls started, or joined to a call for the same key")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", joinedInFlight, LongAdder::sum)
+                .tag("name", name)
+                .tag("result", "joined_in_flight")
+                .description("Calls started, or joined to a call for the same key")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", joinedCompleted, LongAdder::sum)
+                .tag("name", name)
+                .tag("result", "joined_completed")
+                .description("Calls started, or joined to a call for the same key")
+                .register(registry);
+        Gauge.builder("singleflight.keys", flights, ConcurrentMap::size)
+                .tag("name", name)
+                .description("Keys with a call in flight or a result still shared")
+                .register(registry);
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((value, failure) -> {
+            if (failure != null || completedWindowNanos == 0) {
+                flights.remove(key, flight);
+            } else {
+                flight.completedAtNanos = nanoClock.getAsLong();
+                CompletableFuture.delayedExecutor(completedWindowNanos, TimeUnit.NANOSECONDS)
+                        .execute(() -> flights.remove(key, flight));
+            }
+            // Complete only after the entry is settled, so a caller woken by the result
+            // that immediately calls again never joins a stale in-flight entry
+            if (failure != null) {
+                flight.result.completeExceptionally(failure);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        volatile long completedAtNanos = IN_FLIGHT;
+    }
+}
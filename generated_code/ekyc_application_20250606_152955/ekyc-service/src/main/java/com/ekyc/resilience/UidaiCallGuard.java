@@ -0,0 +1,423 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiResilienceProperties;
+import com.ekyc.enums.UidaiCallPriority;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiHttpStatusException;
+import com.ekyc.exception.UidaiUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Guards every UIDAI call with a circuit breaker and an adaptive concurrency limit.
+ * Calls rejected by the breaker fail immediately with a
+ * {@link UidaiUnavailableException} instead of waiting on a degraded UIDAI.
+ *
+ * Calls over the concurrency limit wait in a bounded queue per
+ * {@link UidaiCallPriority} and get free slots in priority order, so OTP verifications
+ * keep a stable latency while initiations pile up; see {@link PriorityCallQueue} for
+ * how lower classes are kept from starving. A call whose queue is full fails fast, and
+ * one whose deadline passes while it waits fails with a
+ * {@link DeadlineExceededException}. Time spent waiting is measured per class and is
+ * not part of the round-trip times the limiter adapts to.
+ *
+ * Only I/O errors, timeouts and 5xx answers count as failures. A 4xx answer, like a
+ * well-formed UIDAI response reporting a business error (wrong OTP, for instance), is a
+ * completed call as far as the breaker and the limiter are concerned. A call cut short
+ * by the caller's deadline, or failed by a local error, says nothing about UIDAI and is
+ * not recorded at all.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiCallGuard implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(UidaiCallGuard.class);
+
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final PriorityCallQueue<Waiter<?>> waiters;
+    // Calls in the waiters queue, so the common no-queue case never takes its lock
+    private final AtomicInteger queuedWaiters = new AtomicInteger();
+    private final Map<UidaiCallPriority, QueueStats> queueStats = new EnumMap<>(UidaiCallPriority.class);
+    private final LongAdder rejectedCircuitOpen = new LongAdder();
+    private final LongAdder rejectedConcurrencyLimit = new LongAdder();
+
+    @Autowired
+    public UidaiCallGuard(UidaiResilienceProperties properties) {
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(),
+                properties.getSlowCallRateThreshold(),
+                properties.getSlowCallThresholdMs(),
+                properties.getOpenStateDurationMs(),
+                properties.getHalfOpenPermittedCalls());
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                properties.getInitialConcurrencyLimit(),
+                properties.getMinConcurrencyLimit(),
+                properties.getMaxConcurrentCalls(),
+                properties.getRttTolerance(),
+                properties.getLimitSmoothing(),
+                properties.getLimitWindowMs(),
+                properties.getLimitWindowMinSamples());
+        this.waiters = new PriorityCallQueue<>(Map.of(
+                        UidaiCallPriority.VERIFY, properties.getVerifyQueueCapacity(),
+                        UidaiCallPriority.INITIATE, properties.getInitiateQueueCapacity(),
+                        UidaiCallPriority.HEALTH, properties.getHealthQueueCapacity()),
+                properties.getStarvationThresholdMs(),
+                properties.getStarvationInterval());
+        for (UidaiCallPriority priority : UidaiCallPriority.values()) {
+            queueStats.put(priority, new QueueStats(properties.getLatencyHalfLifeMs()));
+        }
+    }
+
+    /**
+     * Starts a non-blocking UIDAI call, or queues it by priority while the concurrency
+     * limit is reached. The concurrency slot is held until the returned future completes.
+     *
+     * @param priority Priority class of the call
+     * @param deadline Time by which the call must have started
+     * @param call Starts the call
+     * @return The call's future, or a future failed with {@link UidaiUnavailableException}
+     *         if the call is rejected without being made
+     */
+    public <T> CompletableFuture<T> executeAsync(UidaiCallPriority priority, Deadline deadline,
+                                                 Supplier<CompletableFuture<T>> call) {
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NO_PERMISSION) {
+            rejectedCircuitOpen.increment();
+            return CompletableFuture.failedFuture(circuitOpen());
+        }
+        Waiter<T> waiter = new Waiter<>(priority, deadline, call, true);
+        waiter.permission = permission;
+        return submit(waiter);
+    }
+
+    /**
+     * Starts a health probe at the lowest priority. A probe takes a concurrency slot
+     * like any call, so probes never crowd out user calls, but it bypasses the circuit
+     * breaker, which it exists to look past, and is recorded by neither the breaker
+     * nor the limiter.
+     *
+     * @param deadline Time by which the probe must have started
+     * @param probe Starts the probe
+     * @return The probe's future, or a future failed with
+     *         {@link UidaiUnavailableException} if the health queue is full
+     */
+    public <T> CompletableFuture<T> executeProbeAsync(Deadline deadline, Supplier<CompletableFuture<T>> probe) {
+        return submit(new Waiter<>(UidaiCallPriority.HEALTH, deadline, probe, false));
+    }
+
+    private <T> CompletableFuture<T> submit(Waiter<T> waiter) {
+        boolean admitted = false;
+        boolean queued = false;
+        // Only bypass the queue when nobody is waiting, or a free slot could go to a lower class
+        if (queuedWaiters.get() == 0 && concurrencyLimiter.tryAcquire()) {
+            admitted = true;
+        } else {
+            synchronized (waiters) {
+                queued = waiters.offer(waiter.priority, waiter, System.nanoTime());
+                if (queued) {
+                    queuedWaiters.incrementAndGet();
+                }
+            }
+        }
+
+        if (admitted) {
+            queueStats.get(waiter.priority).record(0);
+            return start(waiter);
+        }
+        if (waiter.guarded) {
+            circuitBreaker.releasePermission(waiter.permission);
+        }
+        if (!queued) {
+            queueStats.get(waiter.priority).rejected.increment();
+            rejectedConcurrencyLimit.increment();
+            logger.warn("Rejecting UIDAI {} call, concurrency limit of {} reached and its queue is full",
+                    waiter.priority.tag(), concurrencyLimiter.getLimit());
+            return CompletableFuture.failedFuture(new UidaiUnavailableException(
+                    UidaiUnavailableException.Reason.CONCURRENCY_LIMIT, "Too many concurrent UIDAI calls"));
+        }
+
+        if (waiter.deadline.isBounded()) {
+            CompletableFuture.delayedExecutor(Math.max(0, waiter.deadline.remainingNanos()), TimeUnit.NANOSECONDS)
+                    .execute(() -> expire(waiter));
+        }
+        // A slot may have been freed between the failed acquire and the enqueue
+        drain();
+        return waiter.result;
+    }
+
+    /**
+     * Hands free slots to waiting calls until either runs out. Returns without locking
+     * when nothing is queued; a call queued after that check drains for itself.
+     */
+    private void drain() {
+        while (queuedWaiters.get() > 0) {
+            PriorityCallQueue.Entry<Waiter<?>> next;
+            synchronized (waiters) {
+                if (waiters.isEmpty() || !concurrencyLimiter.tryAcquire()) {
+                    return;
+                }
+                next = waiters.poll(System.nanoTime());
+                queuedWaiters.decrementAndGet();
+            }
+            queueStats.get(next.priority()).record(next.waitNanos());
+            dispatch(next.element());
+        }
+    }
+
+    /**
+     * Starts a call taken from the queue on the slot acquired for it.
+     */
+    private <T> void dispatch(Waiter<T> waiter) {
+        if (waiter.deadline.isExpired()) {
+            concurrencyLimiter.release();
+            waiter.result.completeExceptionally(new DeadlineExceededException(
+                    "Deadline passed while the UIDAI " + waiter.priority.tag() + " call was queued"));
+            return;
+        }
+        if (waiter.guarded) {
+            waiter.permission = circuitBreaker.tryAcquirePermission();
+            if (waiter.permission == CircuitBreaker.NO_PERMISSION) {
+                concurrencyLimiter.release();
+                rejectedCircuitOpen.increment();
+                waiter.result.completeExceptionally(circuitOpen());
+                return;
+            }
+        }
+        start(waiter).whenComplete((result, failure) -> {
+            if (failure == null) {
+                waiter.result.complete(result);
+            } else {
+                waiter.result.completeExceptionally(failure);
+            }
+        });
+    }
+
+    private void expire(Waiter<?> waiter) {
+        boolean removed;
+        synchronized (waiters) {
+            removed = waiters.remove(waiter.priority, waiter);
+            if (removed) {
+                queuedWaiters.decrementAndGet();
+            }
+        }
+        if (removed) {
+            waiter.result.completeExceptionally(new DeadlineExceededException(
+                    "Deadline passed while the UIDAI " + waiter.priority.tag() + " call was queued"));
+        }
+    }
+
+    /**
+     * Starts a call that holds a concurrency slot, and the breaker's permission if it
+     * is guarded.
+     */
+    private <T> CompletableFuture<T> start(Waiter<T> waiter) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = waiter.call.get();
+        } catch (RuntimeException e) {
+            complete(waiter, e, System.nanoTime() - start);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, failure) -> complete(waiter, failure, System.nanoTime() - start));
+    }
+
+    /**
+     * Gives back the slot of a finished call and records its outcome if it is guarded.
+     */
+    private void complete(Waiter<?> waiter, Throwable failure, long durationNanos) {
+        if (!waiter.guarded) {
+            release();
+        } else if (failure == null || isClientError(failure)) {
+            onSuccess(waiter.permission, durationNanos);
+        } else if (isUidaiFailure(failure)) {
+            onFailure(waiter.permission, durationNanos);
+        } else {
+            circuitBreaker.releasePermission(waiter.permission);
+            release();
+        }
+    }
+
+    private void onSuccess(long permission, long durationNanos) {
+        circuitBreaker.onSuccess(permission, durationNanos);
+        concurrencyLimiter.onSuccess(durationNanos);
+        drain();
+    }
+
+    private void onFailure(long permission, long durationNanos) {
+        circuitBreaker.onFailure(permission, durationNanos);
+        concurrencyLimiter.onDropped();
+        drain();
+    }
+
+    /**
+     * Gives back a concurrency slot without recording anything.
+     */
+    private void release() {
+        concurrencyLimiter.release();
+        drain();
+    }
+
+    /**
+     * Whether UIDAI answered with a 4xx status, which means it handled the call.
+     */
+    private boolean isClientError(Throwable failure) {
+        return unwrap(failure) instanceof UidaiHttpStatusException statusException
+                && statusException.getStatusCode() >= 400 && statusException.getStatusCode() < 500;
+    }
+
+    /**
+     * Whether a failure says UIDAI is unhealthy: it could not be reached, did not answer
+     * in time or answered with a 5xx status. Connection failures, resets and
+     * HttpTimeoutException are all IOExceptions.
+     */
+    private boolean isUidaiFailure(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof UidaiHttpStatusException statusException) {
+            return statusException.getStatusCode() >= 500;
+        }
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    private Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("uidai.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("UIDAI circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(registry);
+        Gauge.builder("uidai.circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("Failure rate over the circuit breaker window, in percent")
+                .register(registry);
+        Gauge.builder("uidai.circuit.slow.call.rate", circuitBreaker, CircuitBreaker::getSlowCallRate)
+                .description("Slow-call rate over the circuit breaker window, in percent")
+                .register(registry);
+        Gauge.builder("uidai.limiter.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent UIDAI calls")
+                .register(registry);
+        Gauge.builder("uidai.limiter.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("UIDAI calls currently in flight")
+                .register(registry);
+        Gauge.builder("uidai.limiter.rtt.short", concurrencyLimiter, AdaptiveConcurrencyLimiter::getShortRttMs)
+                .description("Average UIDAI round-trip time over the last sample window")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("uidai.limiter.rtt.long", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLongRttMs)
+                .description("Long-term average UIDAI round-trip time")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("uidai.calls.rejected", rejectedCircuitOpen, LongAdder::sum)
+                .tag("reason", "circuit_open")
+                .description("UIDAI calls rejected without being made")
+                .register(registry);
+        FunctionCounter.builder("uidai.calls.rejected", rejectedConcurrencyLimit, LongAdder::sum)
+                .tag("reason", "concurrency_limit")
+                .description("UIDAI calls rejected without being made")
+                .register(registry);
+        for (UidaiCallPriority priority : UidaiCallPriority.values()) {
+            QueueStats stats = queueStats.get(priority);
+            Gauge.builder("uidai.queue.size", this, guard -> guard.queueSize(priority))
+                    .tag("priority", priority.tag())
+                    .description("UIDAI calls waiting for a concurrency slot")
+                    .register(registry);
+            FunctionTimer.builder("uidai.queue.wait", stats,
+                            s -> s.calls.sum(), s -> s.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                    .tag("priority", priority.tag())
+                    .description("Time UIDAI calls waited for a concurrency slot")
+                    .register(registry);
+            Gauge.builder("uidai.queue.wait.p99", stats, s -> Math.max(0, s.recentWaits.quantileNanos(0.99)) / 1_000_000d)
+                    .tag("priority", priority.tag())
+                    .description("Recent 99th percentile of the time UIDAI calls waited for a concurrency slot")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("uidai.queue.rejected", stats.rejected, LongAdder::sum)
+                    .tag("priority", priority.tag())
+                    .description("UIDAI calls rejected because their queue was full")
+                    .register(registry);
+        }
+    }
+
+    private int queueSize(UidaiCallPriority priority) {
+        synchronized (waiters) {
+            return waiters.size(priority);
+        }
+    }
+
+    private UidaiUnavailableException circuitOpen() {
+        return new UidaiUnavailableException(UidaiUnavailableException.Reason.CIRCUIT_OPEN,
+                "UIDAI circuit breaker is open");
+    }
+
+    /**
+     * A call on its way to a concurrency slot.
+     */
+    private static final class Waiter<T> {
+        private final UidaiCallPriority priority;
+        private final Deadline deadline;
+        private final Supplier<CompletableFuture<T>> call;
+        private final boolean guarded;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Breaker permission the call holds; given back while it waits in the queue
+        private long permission = CircuitBreaker.NO_PERMISSION;
+
+        private Waiter(UidaiCallPriority priority, Deadline deadline, Supplier<CompletableFuture<T>> call,
+                       boolean guarded) {
+            this.priority = priority;
+            this.deadline = deadline;
+            this.call = call;
+            this.guarded = guarded;
+        }
+    }
+
+    /**
+     * Time calls of one priority class spent waiting for a slot, including the calls
+     * that got one right away.
+     */
+    private static final class QueueStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final DecayingLatencyHistogram recentWaits;
+
+        private QueueStats(long halfLifeMs) {
+            this.recentWaits = new DecayingLatencyHistogram(halfLifeMs);
+        }
+
+        private void record(long nanos) {
+            calls.increment();
+            waitNanos.add(nanos);
+            recentWaits.record(nanos);
+        }
+    }
+}
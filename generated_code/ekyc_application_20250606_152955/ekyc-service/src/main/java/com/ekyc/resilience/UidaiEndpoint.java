@@ -0,0 +1,185 @@
+package com.ekyc.resilience;
+
+import com.ekyc.enums.UidaiOperation;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One UIDAI gateway as seen by the {@link UidaiLoadBalancer}: its resolved URIs, the
+ * calls currently outstanding on it, a decaying average of its round-trip time, and
+ * whether it is ejected from rotation.
+ *
+ * All state except the outstanding count is guarded by the endpoint's own lock and only
+ * changed by the balancer.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public final class UidaiEndpoint {
+
+    private final String name;
+    private final URI initiateUri;
+    private final URI verifyUri;
+    private final URI healthCheckUri;
+    private final URI initiateBatchUri;
+    private final URI verifyBatchUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double latencyNanos;
+    private long latencyUpdatedAtNanos;
+    private int consecutiveFailures;
+    private int ejections;
+    private long totalEjections;
+    private long ejectedUntilNanos;
+    private boolean ejected;
+
+    /**
+     * @param name Name of the endpoint, used in logs and metric tags
+     * @param initiateUri OTP initiation URI on this endpoint
+     * @param verifyUri OTP verification URI on this endpoint
+     * @param healthCheckUri Health check URI on this endpoint
+     */
+    public UidaiEndpoint(String name, URI initiateUri, URI verifyUri, URI healthCheckUri) {
+        this.name = name;
+        this.initiateUri = initiateUri;
+        this.verifyUri = verifyUri;
+        this.healthCheckUri = healthCheckUri;
+        this.initiateBatchUri = URI.create(initiateUri + "/batch");
+        this.verifyBatchUri = URI.create(verifyUri + "/batch");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the URI of an operation on this endpoint.
+     *
+     * @param operation The UIDAI operation
+     * @return The URI to send the operation to
+     */
+    public URI uriFor(UidaiOperation operation) {
+        return operation == UidaiOperation.INITIATE ? initiateUri : verifyUri;
+    }
+
+    /**
+     * Returns the URI of the batch variant of an operation on this endpoint, which is
+     * the operation's URI followed by {@code /batch}.
+     *
+     * @param operation The UIDAI operation
+     * @return The URI to send batches of the operation to
+     */
+    public URI batchUriFor(UidaiOperation operation) {
+        return operation == UidaiOperation.INITIATE ? initiateBatchUri : verifyBatchUri;
+    }
+
+    public URI getHealthCheckUri() {
+        return healthCheckUri;
+    }
+
+    /**
+     * Calls sent to this endpoint that have not completed yet.
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Decaying average round-trip time in nanoseconds, or 0 before the first response.
+     */
+    public synchronized double getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public synchronized boolean isEjected() {
+        return ejected;
+    }
+
+    /**
+     * Times the endpoint was ejected since startup.
+     */
+    public synchronized long getTotalEjections() {
+        return totalEjections;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Folds a round trip into the average. Slower samples replace the average outright
+     * so a degrading endpoint is avoided at once; faster ones pull it down gradually,
+     * with a weight that grows with the time since the last sample.
+     */
+    synchronized void recordLatency(long rttNanos, long nowNanos, long decayNanos) {
+        if (latencyNanos == 0 || rttNanos > latencyNanos) {
+            latencyNanos = rttNanos;
+        } else {
+            double elapsed = Math.max(0, nowNanos - latencyUpdatedAtNanos);
+            double weight = Math.exp(-elapsed / decayNanos);
+            latencyNanos = latencyNanos * weight + rttNanos * (1 - weight);
+        }
+        latencyUpdatedAtNanos = nowNanos;
+    }
+
+    /**
+     * Re-admits the endpoint if its ejection has run out.
+     *
+     * @return whether the endpoint is in rotation
+     */
+    synchronized boolean isAvailable(long nowNanos) {
+        if (ejected && nowNanos - ejectedUntilNanos >= 0) {
+            ejected = false;
+        }
+        return !ejected;
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        ejections = 0;
+    }
+
+    /**
+     * Counts a failed call and ejects the endpoint once enough have failed in a row.
+     *
+     * @return the ejection time in nanoseconds if this failure ejected the endpoint,
+     *         otherwise 0
+     */
+    synchronized long onFailure(long nowNanos, int ejectAfterFailures, long baseEjectionNanos,
+                                long maxEjectionNanos) {
+        consecutiveFailures++;
+        if (ejected || consecutiveFailures < ejectAfterFailures) {
+            return 0;
+        }
+        long ejectionNanos = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(ejections, 20));
+        ejections++;
+        totalEjections++;
+        consecutiveFailures = 0;
+        ejected = true;
+        ejectedUntilNanos = nowNanos + ejectionNanos;
+        return ejectionNanos;
+    }
+
+    /**
+     * Puts the endpoint back into rotation before its ejection has run out, after it
+     * proved healthy.
+     *
+     * @return whether the endpoint was ejected
+     */
+    synchronized boolean readmit() {
+        boolean wasEjected = ejected;
+        ejected = false;
+        consecutiveFailures = 0;
+        return wasEjected;
+    }
+}
@@ -0,0 +1,251 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiConfig;
+import com.ekyc.config.UidaiEndpointProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads UIDAI calls over the configured gateways. Each call picks two endpoints at
+ * random and sends to the one with the lower expected cost, its average latency times
+ * the calls already outstanding on it plus one ("power of two choices"), so a gateway
+ * that slows down or backs up loses traffic within a few calls.
+ *
+ * An endpoint whose calls fail {@code ejectAfterFailures} times in a row is taken out
+ * of rotation for {@code baseEjectionMs}, doubled on each further ejection up to
+ * {@code maxEjectionMs}. It is re-admitted when that time has run out or as soon as a
+ * health probe of it succeeds. If every endpoint is ejected, calls are spread over all
+ * of them rather than failing outright.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiLoadBalancer implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(UidaiLoadBalancer.class);
+
+    private final List<UidaiEndpoint> endpoints;
+    private final long latencyDecayNanos;
+    private final int ejectAfterFailures;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UidaiLoadBalancer(UidaiConfig uidaiConfig, UidaiEndpointProperties properties) {
+        this(resolveEndpoints(uidaiConfig, properties.getBaseUrls()), properties, System::nanoTime);
+    }
+
+    UidaiLoadBalancer(List<UidaiEndpoint> endpoints, UidaiEndpointProperties properties, LongSupplier nanoClock) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one UIDAI endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.latencyDecayNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(properties.getLatencyDecayMs()));
+        this.ejectAfterFailures = Math.max(1, properties.getEjectAfterFailures());
+        this.baseEjectionNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBaseEjectionMs());
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxEjectionMs());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * All configured endpoints, ejected or not.
+     */
+    public List<UidaiEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Picks the endpoint for a call and counts the call as outstanding on it. Every
+     * call to this method must be followed by exactly one call of {@code onSuccess},
+     * {@code onFailure} or {@link #onAbandoned} for the returned endpoint.
+     *
+     * @return The endpoint to send the call to
+     */
+    public UidaiEndpoint acquire() {
+        UidaiEndpoint endpoint = choose();
+        endpoint.acquire();
+        return endpoint;
+    }
+
+    /**
+     * Records a call that received a response from the endpoint, including 4xx
+     * statuses and business errors.
+     *
+     * @param endpoint The endpoint returned by {@link #acquire()}
+     * @param latencyNanos Time until the response was received
+     */
+    public void onSuccess(UidaiEndpoint endpoint, long latencyNanos) {
+        endpoint.release();
+        endpoint.recordLatency(latencyNanos, nanoClock.getAsLong(), latencyDecayNanos);
+        endpoint.onSuccess();
+    }
+
+    /**
+     * Records a call that received a response, without taking its duration into the
+     * latency average; used for batches, whose round trip is not comparable to that of
+     * a single call.
+     *
+     * @param endpoint The endpoint returned by {@link #acquire()}
+     */
+    public void onSuccess(UidaiEndpoint endpoint) {
+        endpoint.release();
+        endpoint.onSuccess();
+    }
+
+    /**
+     * Records a call the endpoint failed: an I/O error, a timeout or a 5xx status.
+     *
+     * @param endpoint The endpoint returned by {@link #acquire()}
+     * @param elapsedNanos Time until the call failed; also folded into the latency so
+     *        an endpoint that times out is avoided
+     */
+    public void onFailure(UidaiEndpoint endpoint, long elapsedNanos) {
+        endpoint.recordLatency(elapsedNanos, nanoClock.getAsLong(), latencyDecayNanos);
+        onFailure(endpoint);
+    }
+
+    /**
+     * Records a call the endpoint failed, without taking its duration into the latency
+     * average.
+     *
+     * @param endpoint The endpoint returned by {@link #acquire()}
+     */
+    public void onFailure(UidaiEndpoint endpoint) {
+        endpoint.release();
+        long now = nanoClock.getAsLong();
+        long ejectionNanos = endpoint.onFailure(now, ejectAfterFailures, baseEjectionNanos, maxEjectionNanos);
+        if (ejectionNanos > 0) {
+            logger.warn("Ejecting UIDAI endpoint {} for {} ms after {} consecutive failures",
+                    endpoint, TimeUnit.NANOSECONDS.toMillis(ejectionNanos), ejectAfterFailures);
+        }
+    }
+
+    /**
+     * Records a call that ended for a reason unrelated to the endpoint, such as the
+     * caller's deadline passing. Only the outstanding count is updated.
+     *
+     * @param endpoint The endpoint returned by {@link #acquire()}
+     */
+    public void onAbandoned(UidaiEndpoint endpoint) {
+        endpoint.release();
+    }
+
+    /**
+     * Re-admits an endpoint whose health probe succeeded.
+     *
+     * @param endpoint The probed endpoint
+     */
+    public void onHealthy(UidaiEndpoint endpoint) {
+        if (endpoint.readmit()) {
+            logger.info("Re-admitting UIDAI endpoint {} after a successful health probe", endpoint);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UidaiEndpoint endpoint : endpoints) {
+            Gauge.builder("uidai.endpoint.outstanding", endpoint, UidaiEndpoint::getOutstanding)
+                    .tag("endpoint", endpoint.getName())
+                    .description("UIDAI calls in flight on the endpoint")
+                    .register(registry);
+            Gauge.builder("uidai.endpoint.latency", endpoint, e -> e.getLatencyNanos() / 1_000_000d)
+                    .tag("endpoint", endpoint.getName())
+                    .description("Decaying average round-trip time of the endpoint")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("uidai.endpoint.ejected", endpoint, e -> e.isEjected() ? 1 : 0)
+                    .tag("endpoint", endpoint.getName())
+                    .description("Whether the endpoint is out of rotation")
+                    .register(registry);
+            FunctionCounter.builder("uidai.endpoint.ejections", endpoint, UidaiEndpoint::getTotalEjections)
+                    .tag("endpoint", endpoint.getName())
+                    .description("Times the endpoint was taken out of rotation")
+                    .register(registry);
+        }
+    }
+
+    private UidaiEndpoint choose() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+
+        long now = nanoClock.getAsLong();
+        List<UidaiEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (UidaiEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // Every endpoint is ejected; failing every call would only hide which recovers first
+            candidates = endpoints;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        UidaiEndpoint a = candidates.get(first);
+        UidaiEndpoint b = candidates.get(second);
+        double unknownLatency = Math.max(1, Math.max(a.getLatencyNanos(), b.getLatencyNanos()));
+        return cost(a, unknownLatency) <= cost(b, unknownLatency) ? a : b;
+    }
+
+    /**
+     * Expected cost of sending one more call to an endpoint. An endpoint without a
+     * latency sample yet is assumed as slow as the other candidate, so it is tried
+     * without being flooded.
+     */
+    private double cost(UidaiEndpoint endpoint, double unknownLatency) {
+        double latency = endpoint.getLatencyNanos();
+        return (latency > 0 ? latency : unknownLatency) * (endpoint.getOutstanding() + 1);
+    }
+
+    /**
+     * Builds one endpoint per configured base URL, resolving the paths of the
+     * configured UIDAI URLs against it, or a single endpoint for the UIDAI URLs as they
+     * are when no base URL is configured.
+     */
+    private static List<UidaiEndpoint> resolveEndpoints(UidaiConfig uidaiConfig, List<String> baseUrls) {
+        URI initiateUri = URI.create(uidaiConfig.getInitiateEkycUrl());
+        URI verifyUri = URI.create(uidaiConfig.getVerifyOtpUrl());
+        URI healthCheckUri = URI.create(uidaiConfig.getHealthCheckUrl());
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            String name = initiateUri.getScheme() + "://" + initiateUri.getRawAuthority();
+            return List.of(new UidaiEndpoint(name, initiateUri, verifyUri, healthCheckUri));
+        }
+
+        List<UidaiEndpoint> endpoints = new ArrayList<>(baseUrls.size());
+        for (String baseUrl : baseUrls) {
+            URI base = URI.create(baseUrl);
+            endpoints.add(new UidaiEndpoint(baseUrl,
+                    base.resolve(pathAndQuery(initiateUri)),
+                    base.resolve(pathAndQuery(verifyUri)),
+                    base.resolve(pathAndQuery(healthCheckUri))));
+        }
+        return endpoints;
+    }
+
+    private static String pathAndQuery(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+}
@@ -0,0 +1,207 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiResilienceProperties;
+import com.ekyc.enums.UidaiOperation;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiHttpStatusException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries failed UIDAI calls without holding the caller's thread: each further attempt
+ * is scheduled on a timer after an exponential backoff with full jitter, and the caller
+ * only sees the future of the whole sequence.
+ *
+ * Only transient failures are retried (I/O errors, timeouts and 5xx statuses), and
+ * every retry must be paid for from a {@link RetryBudget}, so a UIDAI outage does not
+ * multiply the load sent to it. No attempt is started, and no retry is scheduled,
+ * that could not finish before the caller's {@link Deadline}.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiRetryScheduler implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(UidaiRetryScheduler.class);
+
+    /**
+     * How a call ended, used to tag the retry metrics.
+     */
+    enum Outcome {
+        SUCCESS, NON_RETRYABLE, ATTEMPTS_EXHAUSTED, BUDGET_EXHAUSTED, DEADLINE_EXCEEDED
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final RetryBudget retryBudget;
+    private final ScheduledExecutorService timer;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<Outcome, DistributionSummary>> retrySummaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UidaiRetryScheduler(UidaiResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.maxAttempts = Math.max(1, properties.getMaxAttempts());
+        this.baseDelayMs = properties.getRetryBaseDelayMs();
+        this.maxDelayMs = properties.getRetryMaxDelayMs();
+        this.retryBudget = new RetryBudget(properties.getRetryBudgetRatio(), properties.getRetryBudgetMaxTokens());
+        this.meterRegistry = meterRegistry;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "uidai-retry-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Single and batch calls of every operation; other names are registered on first use
+        for (UidaiOperation operation : UidaiOperation.values()) {
+            retrySummaries.put(operation.tag(), registerRetrySummaries(operation.tag()));
+            retrySummaries.put(operation.tag() + "_batch", registerRetrySummaries(operation.tag() + "_batch"));
+        }
+
+        Gauge.builder("uidai.retry.budget.tokens", retryBudget, RetryBudget::getAvailableTokens)
+                .description("Retries currently available in the UIDAI retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a call, retrying transient failures.
+     *
+     * @param operation Name of the operation, used in logs and metrics
+     * @param deadline Time by which the call must complete; attempts should cap their
+     *         own timeout to it
+     * @param attempt Starts one attempt of the call; must not block
+     * @return future completed with the first successful result, or exceptionally with
+     *         the failure of the last attempt, or with a {@link DeadlineExceededException}
+     *         if the deadline passed before the first attempt
+     */
+    public <T> CompletableFuture<T> execute(String operation, Deadline deadline,
+                                            Supplier<CompletableFuture<T>> attempt) {
+        retryBudget.onRequest();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        runAttempt(operation, deadline, attempt, 1, result);
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+    }
+
+    private <T> void runAttempt(String operation, Deadline deadline, Supplier<CompletableFuture<T>> attempt,
+                                int attemptNumber, CompletableFuture<T> result) {
+        if (deadline.isExpired()) {
+            record(operation, Outcome.DEADLINE_EXCEEDED, Math.max(1, attemptNumber - 1));
+            result.completeExceptionally(new DeadlineExceededException(
+                    "Deadline passed before UIDAI " + operation + " attempt " + attemptNumber));
+            return;
+        }
+
+        CompletableFuture<T> call;
+        try {
+            call = attempt.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((value, failure) -> {
+            if (failure == null) {
+                record(operation, Outcome.SUCCESS, attemptNumber);
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(failure);
+            long delayMs = fullJitterDelayMs(attemptNumber);
+            Outcome outcome = null;
+            if (!isRetryable(cause)) {
+                outcome = cause instanceof DeadlineExceededException
+                        ? Outcome.DEADLINE_EXCEEDED
+                        : Outcome.NON_RETRYABLE;
+            } else if (attemptNumber >= maxAttempts) {
+                outcome = Outcome.ATTEMPTS_EXHAUSTED;
+            } else if (TimeUnit.MILLISECONDS.toNanos(delayMs) >= deadline.remainingNanos()) {
+                // The retry could not even start before the caller gives up
+                outcome = Outcome.DEADLINE_EXCEEDED;
+            } else if (!retryBudget.tryAcquireRetry()) {
+                outcome = Outcome.BUDGET_EXHAUSTED;
+            }
+
+            if (outcome != null) {
+                record(operation, outcome, attemptNumber);
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            logger.info("Retrying UIDAI {} in {} ms after attempt {} failed: {}",
+                    operation, delayMs, attemptNumber, cause.getMessage());
+            try {
+                timer.schedule(() -> runAttempt(operation, deadline, attempt, attemptNumber + 1, result),
+                        delayMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Timer shut down during application stop
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    /**
+     * Picks a delay uniformly between zero and the capped exponential backoff, so
+     * clients that failed together do not retry together.
+     */
+    private long fullJitterDelayMs(int attemptNumber) {
+        long backoff = baseDelayMs << Math.min(attemptNumber - 1, 20);
+        long cap = Math.min(maxDelayMs, backoff);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private boolean isRetryable(Throwable cause) {
+        if (cause instanceof UidaiHttpStatusException statusException) {
+            return statusException.isServerError();
+        }
+        // Connection failures, resets and HttpTimeoutException are all IOExceptions
+        return cause instanceof IOException;
+    }
+
+    private void record(String operation, Outcome outcome, int attempts) {
+        retrySummaries.computeIfAbsent(operation, this::registerRetrySummaries)
+                .get(outcome)
+                .record(attempts - 1);
+    }
+
+    private Map<Outcome, DistributionSummary> registerRetrySummaries(String operation) {
+        Map<Outcome, DistributionSummary> summaries = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            summaries.put(outcome, DistributionSummary.builder("uidai.call.retries")
+                    .description("Retries made per UIDAI call, by final outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        return summaries;
+    }
+
+    private Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiHttpClientProperties;
+import com.ekyc.config.UidaiResilienceProperties;
+import com.ekyc.enums.UidaiOperation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Derives the timeout of each UIDAI attempt from recently observed latency, per
+ * operation: the configured latency quantile plus a margin, kept between a floor and
+ * the static request timeout. Until an operation has enough recent samples, the static
+ * request timeout applies.
+ *
+ * A timed-out attempt is recorded at its timeout, so when UIDAI slows down the quantile
+ * rises and the timeout follows instead of cutting off every call at the old value.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiTimeoutPolicy implements MeterBinder {
+
+    private final double quantile;
+    private final long marginNanos;
+    private final long floorNanos;
+    private final long ceilingNanos;
+    private final int minSamples;
+    private final Map<UidaiOperation, OperationLatency> latencies = new EnumMap<>(UidaiOperation.class);
+
+    @Autowired
+    public UidaiTimeoutPolicy(UidaiResilienceProperties properties, UidaiHttpClientProperties httpClientProperties) {
+        this.quantile = properties.getTimeoutQuantile();
+        this.marginNanos = TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMarginMs());
+        this.ceilingNanos = TimeUnit.MILLISECONDS.toNanos(httpClientProperties.getRequestTimeoutMs());
+        this.floorNanos = Math.min(ceilingNanos, TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutFloorMs()));
+        this.minSamples = properties.getTimeoutMinSamples();
+        for (UidaiOperation operation : UidaiOperation.values()) {
+            latencies.put(operation, new OperationLatency(new DecayingLatencyHistogram(properties.getLatencyHalfLifeMs())));
+        }
+    }
+
+    /**
+     * Returns the timeout for the next attempt of an operation.
+     *
+     * @param operation The UIDAI operation
+     * @return The timeout to apply before any deadline is taken into account
+     */
+    public Duration timeoutFor(UidaiOperation operation) {
+        return Duration.ofNanos(timeoutNanos(operation));
+    }
+
+    /**
+     * Records an attempt that received a response, whatever its status.
+     *
+     * @param operation The UIDAI operation
+     * @param latencyNanos Time until the response was received
+     */
+    public void onResponse(UidaiOperation operation, long latencyNanos) {
+        latencies.get(operation).histogram.record(latencyNanos);
+    }
+
+    /**
+     * Records an attempt that hit its own timeout (not one cut short by the caller's
+     * deadline).
+     *
+     * @param operation The UIDAI operation
+     * @param timeout The timeout the attempt ran with
+     */
+    public void onTimeout(UidaiOperation operation, Duration timeout) {
+        OperationLatency latency = latencies.get(operation);
+        latency.timeouts.increment();
+        latency.histogram.record(timeout.toNanos());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UidaiOperation operation : UidaiOperation.values()) {
+            OperationLatency latency = latencies.get(operation);
+            Gauge.builder("uidai.call.timeout", this, policy -> policy.timeoutNanos(operation) / 1_000_000d)
+                    .tag("operation", operation.tag())
+                    .description("Timeout currently applied to each UIDAI attempt")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("uidai.call.latency.quantile", latency.histogram,
+                            histogram -> histogram.quantileNanos(quantile) / 1_000_000d)
+                    .tag("operation", operation.tag())
+                    .tag("quantile", String.valueOf(quantile))
+                    .description("Recent UIDAI latency at the quantile the timeout is derived from")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionCounter.builder("uidai.call.timeouts", latency.timeouts, LongAdder::sum)
+                    .tag("operation", operation.tag())
+                    .description("UIDAI attempts that hit their timeout")
+                    .register(registry);
+        }
+    }
+
+    private long timeoutNanos(UidaiOperation operation) {
+        DecayingLatencyHistogram histogram = latencies.get(operation).histogram;
+        if (histogram.weight() < minSamples) {
+            return ceilingNanos;
+        }
+        long timeout = histogram.quantileNanos(quantile) + marginNanos;
+        return Math.max(floorNanos, Math.min(ceilingNanos, timeout));
+    }
+
+    private static final class OperationLatency {
+        final DecayingLatencyHistogram histogram;
+        final LongAdder timeouts = new LongAdder();
+
+        OperationLatency(DecayingLatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+    }
+}
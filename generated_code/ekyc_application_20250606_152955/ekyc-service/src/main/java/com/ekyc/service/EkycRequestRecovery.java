@@ -0,0 +1,125 @@
+package com.ekyc.service;
+
+import com.ekyc.config.EkycRecoveryProperties;
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.VerificationStatus;
+import com.ekyc.model.VerificationStatusChangedEvent;
+import com.ekyc.repository.EkycRequestRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recovers eKYC requests whose UIDAI call was abandoned, because the instance making it
+ * crashed or was restarted before storing the outcome.
+ *
+ * A request still INITIATED after {@code stuckAfterMs} is failed: whether UIDAI sent
+ * the OTP is unknown, so the user starts over. A request still VERIFYING is moved back
+ * to IN_PROGRESS so the OTP can be submitted again. Each request is moved with a
+ * compare-and-set in its own short transaction, so a call that completes at the same
+ * moment, or another instance running the same recovery, wins or loses cleanly.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class EkycRequestRecovery implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(EkycRequestRecovery.class);
+
+    private static final String INTERRUPTED_INITIATION_REASON = "eKYC initiation was interrupted, please start again";
+
+    private final EkycRequestRepository ekycRequestRepository;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration stuckAfter;
+    private final int batchSize;
+    private final LongAdder recoveredInitiations = new LongAdder();
+    private final LongAdder recoveredVerifications = new LongAdder();
+
+    @Autowired
+    public EkycRequestRecovery(EkycRequestRepository ekycRequestRepository,
+                               AuditService auditService,
+                               PlatformTransactionManager transactionManager,
+                               EkycRecoveryProperties properties,
+                               ApplicationEventPublisher eventPublisher) {
+        this.ekycRequestRepository = ekycRequestRepository;
+        this.auditService = auditService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.stuckAfter = Duration.ofMillis(properties.getStuckAfterMs());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+    }
+
+    /**
+     * Recovers the requests stuck in INITIATED or VERIFYING.
+     */
+    @Scheduled(fixedDelayString = "#{@ekycRecoveryProperties.intervalMs}")
+    public void recover() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(stuckAfter);
+        try {
+            recover(VerificationStatus.INITIATED, VerificationStatus.FAILED, INTERRUPTED_INITIATION_REASON,
+                    cutoff, recoveredInitiations);
+            recover(VerificationStatus.VERIFYING, VerificationStatus.IN_PROGRESS, null,
+                    cutoff, recoveredVerifications);
+        } catch (RuntimeException e) {
+            logger.warn("Recovering stuck eKYC requests failed: {}", e.getMessage());
+        }
+    }
+
+    private void recover(VerificationStatus from, VerificationStatus to, String reason,
+                         LocalDateTime cutoff, LongAdder recovered) {
+        List<EkycRequest> stuck = transactionTemplate.execute(
+                status -> ekycRequestRepository.findStuck(from, cutoff, PageRequest.of(0, batchSize)));
+        if (stuck == null || stuck.isEmpty()) {
+            return;
+        }
+
+        int moved = 0;
+        for (EkycRequest request : stuck) {
+            Integer updated = transactionTemplate.execute(status -> {
+                int changed = ekycRequestRepository.compareAndSetStatus(
+                        request.getReferenceNumber(), from, to, reason, LocalDateTime.now());
+                if (changed == 1) {
+                    eventPublisher.publishEvent(new VerificationStatusChangedEvent(request.getReferenceNumber(), to));
+                }
+                return changed;
+            });
+            if (updated != null && updated == 1) {
+                moved++;
+                auditService.logFailure("eKYC request recovered from " + from + " to " + to,
+                        request.getSessionId(),
+                        request.getReferenceNumber(),
+                        "UIDAI call was abandoned");
+            }
+        }
+        recovered.add(moved);
+        logger.warn("Recovered {} eKYC requests stuck in {} since before {}", moved, from, cutoff);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ekyc.requests.recovered", recoveredInitiations, LongAdder::sum)
+                .tag("status", "initiated")
+                .description("eKYC requests recovered after their UIDAI call was abandoned")
+                .register(registry);
+        FunctionCounter.builder("ekyc.requests.recovered", recoveredVerifications, LongAdder::sum)
+                .tag("status", "verifying")
+                .description("eKYC requests recovered after their UIDAI call was abandoned")
+                .register(registry);
+    }
+}
@@ -1,30 +1,84 @@
 package com.ekyc.service;
 
+import com.ekyc.cache.ExpiringCache;
+import com.ekyc.cache.VerificationStatusCache;
+import com.ekyc.config.EkycAcceptedInitiationProperties;
+import com.ekyc.config.EkycInitiationProperties;
+import com.ekyc.config.EkycStatusWaitProperties;
+import com.ekyc.exception.DeadlineExceededException;
 import com.ekyc.exception.EkycException;
+import com.ekyc.exception.UidaiUnavailableException;
 import com.ekyc.exception.ValidationException;
+import com.ekyc.health.UidaiHealthMonitor;
 import com.ekyc.model.EkycRequest;
 import com.ekyc.model.EkycResponse;
 import com.ekyc.model.OtpVerificationRequest;
 import com.ekyc.model.OtpVerificationResponse;
 import com.ekyc.model.UidaiResponse;
 import com.ekyc.model.VerificationStatus;
+import com.ekyc.model.VerificationStatusChangedEvent;
 import com.ekyc.repository.EkycRequestRepository;
+import com.ekyc.resilience.Deadline;
+import com.ekyc.resilience.SingleFlight;
+import com.ekyc.util.KeyedIdHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for handling the complete eKYC verification flow.
  * This includes request initiation, OTP verification, and response processing.
+ *
+ * No database connection or row lock is held while UIDAI is called. Each flow stores
+ * its intent in one short transaction (INITIATED, or VERIFYING for an OTP submission),
+ * calls UIDAI outside any transaction, and applies the outcome in a second one as a
+ * compare-and-set on the stored status; see {@link VerificationStatus} for the allowed
+ * transitions. A request left mid-call by a crashed instance is picked up by
+ * {@link EkycRequestRecovery}.
+ *
+ * While the background UIDAI health probe reports UIDAI down, new initiations and OTP
+ * verifications are rejected before touching the database or calling UIDAI.
+ *
+ * Duplicate initiations for the same session and ID number (double submits, partner
+ * retries) are coalesced: while one is in flight, and for a short window after it
+ * succeeds, duplicates get its response instead of storing a new request and sending
+ * another OTP.
+ *
+ * When UIDAI reports a permanent failure for an ID (OTP generation failed, for
+ * instance), further initiations for that ID are answered from a negative cache for a
+ * while instead of repeating the UIDAI round trip.
+ *
+ * An initiation can also be accepted: the request is stored and its reference number
+ * returned at once, while a bounded worker pool calls UIDAI and stores the outcome.
+ * The client polls the status endpoint or is sent a callback.
+ *
+ * Status reads are served from {@link VerificationStatusCache}; every status change
+ * publishes a {@link VerificationStatusChangedEvent} that invalidates the cached
+ * snapshot once the change commits and wakes the callers waiting for it in
+ * {@link StatusSubscriptionRegistry}.
  */
 @Service
 public class EkycService {
     private static final Logger logger = LoggerFactory.getLogger(EkycService.class);
+    private static final String UIDAI_UNAVAILABLE_MESSAGE = "UIDAI service temporarily unavailable";
     
     private final ValidationService validationService;
     private final UidaiIntegrationService uidaiIntegrationService;
@@ -32,6 +86,20 @@ public class EkycService {
     private final AuditService auditService;
     private final SessionService sessionService;
     private final EkycRequestRepository ekycRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor completionExecutor;
+    private final UidaiHealthMonitor uidaiHealthMonitor;
+    private final SingleFlight<String, EkycResponse> initiations;
+    private final ExpiringCache<String> failedIds;
+    private final Set<String> permanentFailureStatuses;
+    private final KeyedIdHasher idHasher;
+    private final ExecutorService initiationWorkers;
+    private final InitiationCallbackNotifier callbackNotifier;
+    private final Duration acceptedDeadline;
+    private final VerificationStatusCache statusCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusSubscriptionRegistry statusSubscriptions;
+    private final long statusRecheckNanos;
     
     @Autowired
     public EkycService(ValidationService validationService,
@@ -39,13 +107,44 @@ public class EkycService {
                       OtpService otpService,
                       AuditService auditService,
                       SessionService sessionService,
-                      EkycRequestRepository ekycRequestRepository) {
+                      EkycRequestRepository ekycRequestRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Qualifier("ekycCompletionExecutor") Executor completionExecutor,
+                      UidaiHealthMonitor uidaiHealthMonitor,
+                      MeterRegistry meterRegistry,
+                      EkycInitiationProperties initiationProperties,
+                      KeyedIdHasher idHasher,
+                      @Qualifier("ekycInitiationWorkers") ExecutorService initiationWorkers,
+                      InitiationCallbackNotifier callbackNotifier,
+                      EkycAcceptedInitiationProperties acceptedProperties,
+                      VerificationStatusCache statusCache,
+                      ApplicationEventPublisher eventPublisher,
+                      StatusSubscriptionRegistry statusSubscriptions,
+                      EkycStatusWaitProperties statusWaitProperties) {
         this.validationService = validationService;
         this.uidaiIntegrationService = uidaiIntegrationService;
         this.otpService = otpService;
         this.auditService = auditService;
         this.sessionService = sessionService;
         this.ekycRequestRepository = ekycRequestRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completionExecutor = completionExecutor;
+        this.uidaiHealthMonitor = uidaiHealthMonitor;
+        this.idHasher = idHasher;
+        this.initiations = new SingleFlight<>("ekyc.initiate", initiationProperties.getCoalescingWindowMs());
+        this.initiations.bindTo(meterRegistry);
+        this.failedIds = new ExpiringCache<>("ekyc.initiate.failed-ids",
+                initiationProperties.getNegativeCacheTtlMs(),
+                initiationProperties.getNegativeCacheMaxEntries());
+        this.failedIds.bindTo(meterRegistry);
+        this.permanentFailureStatuses = Set.copyOf(initiationProperties.getPermanentFailureStatuses());
+        this.initiationWorkers = initiationWorkers;
+        this.callbackNotifier = callbackNotifier;
+        this.acceptedDeadline = Duration.ofMillis(acceptedProperties.getDeadlineMs());
+        this.statusCache = statusCache;
+        this.eventPublisher = eventPublisher;
+        this.statusSubscriptions = statusSubscriptions;
+        this.statusRecheckNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, statusWaitProperties.getRecheckIntervalMs()));
     }
     
     /**
@@ -56,80 +155,232 @@ public class EkycService {
      * @throws ValidationException if the request fails validation
      * @throws EkycException if there's an error during processing
      */
-    @Transactional
     public EkycResponse initiateEkycVerification(EkycRequest request) {
         String maskedId = auditService.maskAadhaarOrVid(request.getIdNumber());
         logger.info("Initiating eKYC verification for ID: {}, Session: {}", 
                 maskedId, request.getSessionId());
         
+        if (!uidaiHealthMonitor.isAvailable()) {
+            return shedInitiation(request);
+        }
+        
+        EkycResponse knownFailure = knownFailure(request);
+        if (knownFailure != null) {
+            return knownFailure;
+        }
+        
+        String key = coalescingKey(request);
+        if (key == null) {
+            return initiate(request);
+        }
+        return join(initiations.execute(key, () -> CompletableFuture.completedFuture(initiate(request))));
+    }
+    
+    /**
+     * Runs one initiation: stores the request, calls UIDAI and stores the outcome, each
+     * storing step in its own short transaction.
+     * 
+     * @param request The eKYC request
+     * @return EkycResponse with the status and reference number
+     */
+    private EkycResponse initiate(EkycRequest request) {
+        String referenceNumber;
         try {
-            // Validate the request
-            validationService.validateEkycRequest(request);
-            
-            // Create session
-            sessionService.createSession(request.getSessionId());
-            
-            // Generate reference number
-            String referenceNumber = generateReferenceNumber();
-            request.setReferenceNumber(referenceNumber);
-            request.setStatus(VerificationStatus.INITIATED);
-            request.setCreatedAt(LocalDateTime.now());
-            
-            // Save the request
-            ekycRequestRepository.save(request);
-            
-            // Call UIDAI API to initiate eKYC
-            UidaiResponse uidaiResponse = uidaiIntegrationService.initiateEkyc(
-                    request.getIdNumber(), 
-                    request.getIdType(), 
-                    request.isIdentityVerificationConsent(),
-                    request.isMobileEmailConsent());
+            referenceNumber = transactionTemplate.execute(status -> prepareInitiation(request));
+        } catch (Exception e) {
+            throw initiationFailure(request, e);
+        }
+        return runInitiation(request, referenceNumber);
+    }
+    
+    /**
+     * Calls UIDAI for a stored initiation and stores the outcome. Fails the request if
+     * the outcome cannot be stored.
+     * 
+     * @param request The eKYC request
+     * @param referenceNumber The reference number of the stored request
+     * @return EkycResponse with the resulting status
+     */
+    private EkycResponse runInitiation(EkycRequest request, String referenceNumber) {
+        try {
+            // Call UIDAI API to initiate eKYC, with no database connection held
+            UidaiResponse uidaiResponse;
+            try {
+                uidaiResponse = uidaiIntegrationService.initiateEkyc(
+                        request.getIdNumber(), 
+                        request.getIdType(), 
+                        request.isIdentityVerificationConsent(),
+                        request.isMobileEmailConsent());
+            } catch (UidaiUnavailableException uue) {
+                uidaiResponse = unavailableResponse(uue);
+            }
             
-            // Process UIDAI response
-            if (uidaiResponse.isSuccess()) {
-                request.setStatus(VerificationStatus.IN_PROGRESS);
-                request.setUpdatedAt(LocalDateTime.now());
-                ekycRequestRepository.save(request);
-                
-                auditService.logSuccess("eKYC initiation successful", request.getSessionId(), referenceNumber);
-                
-                return new EkycResponse(
-                        referenceNumber,
-                        VerificationStatus.IN_PROGRESS,
-                        "OTP has been sent to your registered mobile number",
-                        null
-                );
-            } else {
-                request.setStatus(VerificationStatus.FAILED);
-                request.setFailureReason(uidaiResponse.getErrorMessage());
-                request.setUpdatedAt(LocalDateTime.now());
-                ekycRequestRepository.save(request);
-                
-                auditService.logFailure("eKYC initiation failed", 
-                        request.getSessionId(), 
-                        referenceNumber, 
-                        uidaiResponse.getErrorMessage());
-                
-                return new EkycResponse(
-                        referenceNumber,
-                        VerificationStatus.FAILED,
-                        "Failed to initiate eKYC verification",
-                        uidaiResponse.getErrorMessage()
-                );
+            UidaiResponse outcome = uidaiResponse;
+            return transactionTemplate.execute(status -> completeInitiation(request, referenceNumber, outcome));
+        } catch (Exception e) {
+            abandonInitiation(referenceNumber);
+            throw initiationFailure(request, e);
+        }
+    }
+    
+    /**
+     * Initiates the eKYC verification process without blocking the caller.
+     * The request is validated and stored in one transaction, UIDAI is called without
+     * holding a thread or a database connection, and the outcome is stored in a second
+     * transaction once UIDAI responds.
+     * 
+     * Duplicates coalesced onto an initiation already in flight share its deadline.
+     * 
+     * @param request The eKYC request containing Aadhaar/VID and consent information
+     * @param deadline Time by which the caller needs the response
+     * @return future completed with the EkycResponse, or exceptionally with a
+     *         ValidationException, DeadlineExceededException or EkycException
+     */
+    public CompletableFuture<EkycResponse> initiateEkycVerificationAsync(EkycRequest request, Deadline deadline) {
+        String maskedId = auditService.maskAadhaarOrVid(request.getIdNumber());
+        logger.info("Initiating eKYC verification asynchronously for ID: {}, Session: {}", 
+                maskedId, request.getSessionId());
+        
+        if (!uidaiHealthMonitor.isAvailable()) {
+            return CompletableFuture.completedFuture(shedInitiation(request));
+        }
+        
+        EkycResponse knownFailure = knownFailure(request);
+        if (knownFailure != null) {
+            return CompletableFuture.completedFuture(knownFailure);
+        }
+        
+        String key = coalescingKey(request);
+        if (key == null) {
+            return initiateAsync(request, deadline);
+        }
+        return initiations.execute(key, () -> initiateAsync(request, deadline));
+    }
+    
+    /**
+     * Runs one initiation without blocking the caller.
+     * 
+     * @param request The eKYC request
+     * @param deadline Time by which the caller needs the response
+     * @return future completed with the EkycResponse
+     */
+    private CompletableFuture<EkycResponse> initiateAsync(EkycRequest request, Deadline deadline) {
+        String referenceNumber;
+        try {
+            checkDeadline(deadline, "storing the eKYC request");
+            referenceNumber = transactionTemplate.execute(status -> prepareInitiation(request));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(initiationFailure(request, e));
+        }
+        
+        return uidaiIntegrationService.initiateEkycAsync(
+                        request.getIdNumber(),
+                        request.getIdType(),
+                        request.isIdentityVerificationConsent(),
+                        request.isMobileEmailConsent(),
+                        deadline)
+                .exceptionally(this::recoverUnavailable)
+                .thenApplyAsync(uidaiResponse -> transactionTemplate.execute(
+                        status -> completeInitiation(request, referenceNumber, uidaiResponse)), completionExecutor)
+                .exceptionally(failure -> {
+                    abandonInitiation(referenceNumber);
+                    throw initiationFailure(request, unwrap(failure));
+                });
+    }
+    
+    /**
+     * Accepts an eKYC initiation: validates and stores the request and returns it as
+     * INITIATED without waiting for UIDAI. A worker calls UIDAI and stores the outcome,
+     * then posts it to the callback URL if one was given.
+     * 
+     * If the worker queue is full, the request is failed at once rather than accepted.
+     * Duplicate submissions are not coalesced in this mode; each gets its own request.
+     * 
+     * @param request The eKYC request containing Aadhaar/VID and consent information
+     * @param callbackUrl URL to post the outcome to, or null to poll status instead
+     * @return EkycResponse, INITIATED if the initiation was accepted
+     * @throws ValidationException if the request fails validation or the callback URL is
+     *         not allowed
+     * @throws EkycException if there's an error during processing
+     */
+    public EkycResponse acceptEkycVerification(EkycRequest request, String callbackUrl) {
+        String maskedId = auditService.maskAadhaarOrVid(request.getIdNumber());
+        logger.info("Accepting eKYC verification for ID: {}, Session: {}", 
+                maskedId, request.getSessionId());
+        
+        if (!uidaiHealthMonitor.isAvailable()) {
+            return shedInitiation(request);
+        }
+        
+        EkycResponse knownFailure = knownFailure(request);
+        if (knownFailure != null) {
+            return knownFailure;
+        }
+        
+        String referenceNumber;
+        try {
+            if (callbackUrl != null && !callbackNotifier.isAllowed(callbackUrl)) {
+                throw new ValidationException("Callback URL is not allowed");
             }
-        } catch (ValidationException ve) {
-            auditService.logFailure("eKYC validation failed", 
-                    request.getSessionId(), 
-                    null, 
-                    ve.getMessage());
-            throw ve;
+            referenceNumber = transactionTemplate.execute(status -> prepareInitiation(request));
         } catch (Exception e) {
-            auditService.logFailure("eKYC initiation error", 
-                    request.getSessionId(), 
-                    null, 
-                    e.getMessage());
-            throw new EkycException("Failed to process eKYC request: " + e.getMessage(), e);
+            throw initiationFailure(request, e);
         }
+        
+        Deadline deadline = Deadline.after(acceptedDeadline);
+        try {
+            initiationWorkers.execute(() -> runAcceptedInitiation(request, referenceNumber, deadline, callbackUrl));
+        } catch (RejectedExecutionException e) {
+            UidaiResponse busy = unavailableResponse(new UidaiUnavailableException(
+                    UidaiUnavailableException.Reason.CONCURRENCY_LIMIT, "eKYC initiation workers are busy"));
+            try {
+                return transactionTemplate.execute(status -> completeInitiation(request, referenceNumber, busy));
+            } catch (Exception ex) {
+                abandonInitiation(referenceNumber);
+                throw initiationFailure(request, ex);
+            }
+        }
+        
+        auditService.logInfo("eKYC initiation accepted", 
+                request.getSessionId(), 
+                referenceNumber);
+        return new EkycResponse(
+                referenceNumber,
+                VerificationStatus.INITIATED,
+                getStatusMessage(VerificationStatus.INITIATED),
+                null
+        );
+    }
+    
+    /**
+     * Runs an accepted initiation on a worker and reports its outcome. An initiation that
+     * waited past its deadline for a worker is failed without calling UIDAI.
+     * 
+     * @param request The eKYC request
+     * @param referenceNumber The reference number of the stored request
+     * @param deadline Time by which UIDAI must have been called
+     * @param callbackUrl URL to post the outcome to, or null
+     */
+    private void runAcceptedInitiation(EkycRequest request, String referenceNumber, Deadline deadline,
+                                       String callbackUrl) {
+        EkycResponse outcome;
+        try {
+            if (deadline.isExpired()) {
+                abandonInitiation(referenceNumber);
+                throw initiationFailure(request,
+                        new DeadlineExceededException("Deadline passed before an initiation worker was free"));
+            }
+            outcome = runInitiation(request, referenceNumber);
+        } catch (RuntimeException e) {
+            logger.warn("Accepted eKYC initiation {} failed: {}", referenceNumber, e.getMessage());
+            try {
+                outcome = transactionTemplate.execute(status -> currentStatus(referenceNumber));
+            } catch (RuntimeException ex) {
+                logger.warn("Could not load eKYC request {} for its callback: {}", referenceNumber, ex.getMessage());
+                return;
+            }
+        }
+        callbackNotifier.notify(callbackUrl, outcome);
     }
     
     /**
@@ -140,100 +391,89 @@ public class EkycService {
      * @throws ValidationException if the request fails validation
      * @throws EkycException if there's an error during processing
      */
-    @Transactional
     public OtpVerificationResponse verifyOtp(OtpVerificationRequest request) {
         logger.info("Processing OTP verification for reference: {}", request.getReferenceNumber());
         
+        if (!uidaiHealthMonitor.isAvailable()) {
+            return unavailableVerification(null, request, healthCheckDown());
+        }
+        
+        EkycRequest ekycRequest;
         try {
-            // Validate OTP format
-            validationService.validateOtp(request.getOtp());
-            
-            // Retrieve eKYC request
-            EkycRequest ekycRequest = ekycRequestRepository.findByReferenceNumber(request.getReferenceNumber())
-                    .orElseThrow(() -> new ValidationException("Invalid reference number"));
-            
-            // Validate session
-            sessionService.validateSession(ekycRequest.getSessionId());
-            
-            // Validate request status
-            if (ekycRequest.getStatus() != VerificationStatus.IN_PROGRESS) {
-                throw new ValidationException("eKYC request is not in a valid state for OTP verification");
-            }
-            
-            // Call UIDAI API to verify OTP
-            UidaiResponse uidaiResponse = uidaiIntegrationService.verifyOtp(
-                    ekycRequest.getIdNumber(),
-                    ekycRequest.getIdType(),
-                    request.getOtp(),
-                    request.getReferenceNumber());
-            
-            // Process UIDAI response
-            if (uidaiResponse.isSuccess()) {
-                // Update eKYC request status
-                ekycRequest.setStatus(VerificationStatus.VERIFIED);
-                ekycRequest.setUpdatedAt(LocalDateTime.now());
-                ekycRequestRepository.save(ekycRequest);
-                
-                // Store OTP verification details
-                otpService.storeOtpVerification(
-                        request.getReferenceNumber(),
+            ekycRequest = transactionTemplate.execute(status -> prepareVerification(request));
+        } catch (Exception e) {
+            throw verificationFailure(request, e);
+        }
+        
+        try {
+            // Call UIDAI API to verify OTP, with no database connection held
+            UidaiResponse uidaiResponse;
+            try {
+                uidaiResponse = uidaiIntegrationService.verifyOtp(
+                        ekycRequest.getIdNumber(),
+                        ekycRequest.getIdType(),
                         request.getOtp(),
-                        true,
-                        null);
-                
-                auditService.logSuccess("OTP verification successful", 
-                        ekycRequest.getSessionId(), 
                         request.getReferenceNumber());
-                
-                return new OtpVerificationResponse(
-                        request.getReferenceNumber(),
-                        VerificationStatus.VERIFIED,
-                        "OTP verification successful",
-                        null
-                );
-            } else {
-                // Update eKYC request status
-                ekycRequest.setStatus(VerificationStatus.FAILED);
-                ekycRequest.setFailureReason(uidaiResponse.getErrorMessage());
-                ekycRequest.setUpdatedAt(LocalDateTime.now());
-                ekycRequestRepository.save(ekycRequest);
-                
-                // Store OTP verification details
-                otpService.storeOtpVerification(
-                        request.getReferenceNumber(),
-                        request.getOtp(),
-                        false,
-                        uidaiResponse.getErrorMessage());
-                
-                auditService.logFailure("OTP verification failed", 
-                        ekycRequest.getSessionId(), 
-                        request.getReferenceNumber(), 
-                        uidaiResponse.getErrorMessage());
-                
-                return new OtpVerificationResponse(
-                        request.getReferenceNumber(),
-                        VerificationStatus.FAILED,
-                        "OTP verification failed",
-                        uidaiResponse.getErrorMessage()
-                );
+            } catch (UidaiUnavailableException uue) {
+                releaseVerification(request.getReferenceNumber());
+                return unavailableVerification(ekycRequest.getSessionId(), request, uue);
             }
-        } catch (ValidationException ve) {
-            auditService.logFailure("OTP validation failed", 
-                    null, 
-                    request.getReferenceNumber(), 
-                    ve.getMessage());
-            throw ve;
+            
+            return transactionTemplate.execute(status -> completeVerification(ekycRequest, request, uidaiResponse));
         } catch (Exception e) {
-            auditService.logFailure("OTP verification error", 
-                    null, 
-                    request.getReferenceNumber(), 
-                    e.getMessage());
-            throw new EkycException("Failed to process OTP verification: " + e.getMessage(), e);
+            releaseVerification(request.getReferenceNumber());
+            throw verificationFailure(request, e);
         }
     }
     
     /**
-     * Retrieves the current status of an eKYC verification request.
+     * Verifies the OTP for an existing eKYC request without blocking the caller.
+     * The request is loaded, checked and claimed in one transaction, UIDAI is called without
+     * holding a thread or a database connection, and the outcome is stored in a second
+     * transaction once UIDAI responds.
+     * 
+     * @param request The OTP verification request
+     * @param deadline Time by which the caller needs the response
+     * @return future completed with the OtpVerificationResponse, or exceptionally with a
+     *         ValidationException, DeadlineExceededException or EkycException
+     */
+    public CompletableFuture<OtpVerificationResponse> verifyOtpAsync(OtpVerificationRequest request,
+                                                                     Deadline deadline) {
+        logger.info("Processing OTP verification asynchronously for reference: {}", request.getReferenceNumber());
+        
+        if (!uidaiHealthMonitor.isAvailable()) {
+            return CompletableFuture.completedFuture(unavailableVerification(null, request, healthCheckDown()));
+        }
+        
+        EkycRequest ekycRequest;
+        try {
+            checkDeadline(deadline, "loading the eKYC request");
+            ekycRequest = transactionTemplate.execute(status -> prepareVerification(request));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(verificationFailure(request, e));
+        }
+        
+        return uidaiIntegrationService.verifyOtpAsync(
+                        ekycRequest.getIdNumber(),
+                        ekycRequest.getIdType(),
+                        request.getOtp(),
+                        request.getReferenceNumber(),
+                        deadline)
+                .thenApplyAsync(uidaiResponse -> transactionTemplate.execute(
+                        status -> completeVerification(ekycRequest, request, uidaiResponse)), completionExecutor)
+                .exceptionally(failure -> {
+                    releaseVerification(request.getReferenceNumber());
+                    Throwable cause = unwrap(failure);
+                    if (cause instanceof UidaiUnavailableException uue) {
+                        return unavailableVerification(ekycRequest.getSessionId(), request, uue);
+                    }
+                    throw verificationFailure(request, cause);
+                });
+    }
+    
+    /**
+     * Retrieves the current status of an eKYC verification request. Served from the
+     * status cache when possible; only a miss reads the request and is audited.
      * 
      * @param referenceNumber The reference number of the eKYC request
      * @return EkycResponse with the current status
@@ -249,7 +489,13 @@ public class EkycService {
                 throw new ValidationException("Reference number is required");
             }
             
+            EkycResponse cached = statusCache.get(referenceNumber);
+            if (cached != null) {
+                return cached;
+            }
+            
             // Retrieve eKYC request
+            long stamp = statusCache.stamp(referenceNumber);
             EkycRequest ekycRequest = ekycRequestRepository.findByReferenceNumber(referenceNumber)
                     .orElseThrow(() -> new ValidationException("Invalid reference number"));
             
@@ -257,12 +503,9 @@ public class EkycService {
                     ekycRequest.getSessionId(), 
                     referenceNumber);
             
-            return new EkycResponse(
-                    referenceNumber,
-                    ekycRequest.getStatus(),
-                    getStatusMessage(ekycRequest.getStatus()),
-                    ekycRequest.getFailureReason()
-            );
+            EkycResponse response = statusResponse(ekycRequest);
+            statusCache.put(response, stamp);
+            return response;
         } catch (ValidationException ve) {
             auditService.logFailure("Status retrieval validation failed", 
                     null, 
@@ -278,6 +521,610 @@ public class EkycService {
         }
     }
     
+    /**
+     * Waits, without holding a thread, until the status of an eKYC request differs from
+     * the one the caller knows, and returns the new status. Returns the current status
+     * at once if it already differs, is final, or the caller knows none, and when the
+     * deadline passes.
+     * 
+     * Changes made on this instance wake the caller as soon as they commit; changes
+     * made on another instance are seen at the next recheck of the stored status.
+     * 
+     * @param referenceNumber The reference number of the eKYC request
+     * @param knownStatus The status the caller last saw, or null
+     * @param deadline Time by which the caller needs the response
+     * @return future completed with the EkycResponse, or exceptionally with a
+     *         ValidationException or EkycException
+     */
+    public CompletableFuture<EkycResponse> awaitStatusChange(String referenceNumber, VerificationStatus knownStatus,
+                                                             Deadline deadline) {
+        return awaitStatusChange(referenceNumber, knownStatus, deadline, true);
+    }
+    
+    /**
+     * Checks the status once and waits for the next change if it is still the known one.
+     * Only the first check is logged and audited; rechecks read the status quietly.
+     */
+    private CompletableFuture<EkycResponse> awaitStatusChange(String referenceNumber, VerificationStatus knownStatus,
+                                                              Deadline deadline, boolean firstCheck) {
+        CompletableFuture<Void> change = knownStatus != null ? statusSubscriptions.subscribe(referenceNumber) : null;
+        EkycResponse current;
+        try {
+            current = firstCheck ? getVerificationStatus(referenceNumber) : recheckStatus(referenceNumber);
+        } catch (RuntimeException e) {
+            statusSubscriptions.cancel(referenceNumber, change);
+            return CompletableFuture.failedFuture(e);
+        }
+        
+        if (change == null
+                || current.getStatus() != knownStatus
+                || current.getStatus().isTerminal()
+                || deadline.isExpired()) {
+            statusSubscriptions.cancel(referenceNumber, change);
+            return CompletableFuture.completedFuture(current);
+        }
+        
+        long waitNanos = Math.min(deadline.remainingNanos(), statusRecheckNanos);
+        return change.completeOnTimeout(null, waitNanos, TimeUnit.NANOSECONDS)
+                .thenComposeAsync(ignored -> {
+                    statusSubscriptions.cancel(referenceNumber, change);
+                    return awaitStatusChange(referenceNumber, knownStatus, deadline, false);
+                }, completionExecutor);
+    }
+    
+    /**
+     * Reads the status of a request through the status cache, without the logging and
+     * auditing of {@link #getVerificationStatus}, for callers that check it repeatedly.
+     * 
+     * @param referenceNumber The reference number of the eKYC request
+     * @return EkycResponse with the current status
+     * @throws ValidationException if the reference number is unknown
+     * @throws EkycException if the status cannot be read
+     */
+    private EkycResponse recheckStatus(String referenceNumber) {
+        EkycResponse cached = statusCache.get(referenceNumber);
+        if (cached != null) {
+            return cached;
+        }
+        
+        try {
+            long stamp = statusCache.stamp(referenceNumber);
+            EkycResponse response = currentStatus(referenceNumber);
+            statusCache.put(response, stamp);
+            return response;
+        } catch (ValidationException ve) {
+            throw ve;
+        } catch (RuntimeException e) {
+            throw new EkycException("Failed to retrieve verification status: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Validates a new eKYC request, opens its session and stores it as INITIATED.
+     * 
+     * @param request The eKYC request
+     * @return The generated reference number
+     */
+    private String prepareInitiation(EkycRequest request) {
+        // Validate the request
+        validationService.validateEkycRequest(request);
+        
+        // Create session
+        sessionService.createSession(request.getSessionId());
+        
+        // Generate reference number
+        String referenceNumber = generateReferenceNumber();
+        request.setReferenceNumber(referenceNumber);
+        request.setStatus(VerificationStatus.INITIATED);
+        request.setCreatedAt(LocalDateTime.now());
+        request.setUpdatedAt(request.getCreatedAt());
+        
+        // Save the request
+        ekycRequestRepository.save(request);
+        
+        return referenceNumber;
+    }
+    
+    /**
+     * Stores the outcome of the UIDAI initiation call and builds the response. If the
+     * request has left INITIATED in the meantime (recovered as interrupted), its
+     * current status is reported instead.
+     * 
+     * @param request The eKYC request
+     * @param referenceNumber The reference number of the request
+     * @param uidaiResponse The UIDAI response
+     * @return EkycResponse with the resulting status
+     */
+    private EkycResponse completeInitiation(EkycRequest request, String referenceNumber,
+                                            UidaiResponse uidaiResponse) {
+        if (uidaiResponse.isSuccess()) {
+            if (!transition(referenceNumber, VerificationStatus.INITIATED, VerificationStatus.IN_PROGRESS, null)) {
+                return currentStatus(referenceNumber);
+            }
+            
+            auditService.logSuccess("eKYC initiation successful", request.getSessionId(), referenceNumber);
+            
+            return new EkycResponse(
+                    referenceNumber,
+                    VerificationStatus.IN_PROGRESS,
+                    "OTP has been sent to your registered mobile number",
+                    null
+            );
+        } else {
+            rememberPermanentFailure(request, uidaiResponse);
+            if (!transition(referenceNumber, VerificationStatus.INITIATED, VerificationStatus.FAILED,
+                    uidaiResponse.getErrorMessage())) {
+                return currentStatus(referenceNumber);
+            }
+            
+            auditService.logFailure("eKYC initiation failed", 
+                    request.getSessionId(), 
+                    referenceNumber, 
+                    uidaiResponse.getErrorMessage());
+            
+            return new EkycResponse(
+                    referenceNumber,
+                    VerificationStatus.FAILED,
+                    "Failed to initiate eKYC verification",
+                    uidaiResponse.getErrorMessage()
+            );
+        }
+    }
+    
+    /**
+     * Audits a failed initiation and maps it to the exception reported to the caller.
+     * 
+     * @param request The eKYC request
+     * @param e The failure
+     * @return The exception to throw
+     */
+    private RuntimeException initiationFailure(EkycRequest request, Throwable e) {
+        if (e instanceof DeadlineExceededException dee) {
+            auditService.logFailure("eKYC initiation abandoned", 
+                    request.getSessionId(), 
+                    request.getReferenceNumber(), 
+                    dee.getMessage());
+            return dee;
+        }
+        if (e instanceof ValidationException ve) {
+            auditService.logFailure("eKYC validation failed", 
+                    request.getSessionId(), 
+                    null, 
+                    ve.getMessage());
+            return ve;
+        }
+        auditService.logFailure("eKYC initiation error", 
+                request.getSessionId(), 
+                null, 
+                e.getMessage());
+        return new EkycException("Failed to process eKYC request: " + e.getMessage(), e);
+    }
+    
+    /**
+     * Loads the eKYC request for an OTP verification, checks that it can be verified and
+     * claims it by moving it to VERIFYING, so a concurrent submission for the same
+     * request is rejected instead of calling UIDAI a second time.
+     * 
+     * @param request The OTP verification request
+     * @return The eKYC request being verified
+     */
+    private EkycRequest prepareVerification(OtpVerificationRequest request) {
+        // Validate OTP format
+        validationService.validateOtp(request.getOtp());
+        
+        // Retrieve eKYC request
+        EkycRequest ekycRequest = ekycRequestRepository.findByReferenceNumber(request.getReferenceNumber())
+                .orElseThrow(() -> new ValidationException("Invalid reference number"));
+        
+        // Validate session
+        sessionService.validateSession(ekycRequest.getSessionId());
+        
+        // Validate request status and claim the request
+        if (ekycRequest.getStatus() != VerificationStatus.IN_PROGRESS
+                || !transition(request.getReferenceNumber(), VerificationStatus.IN_PROGRESS,
+                        VerificationStatus.VERIFYING, null)) {
+            throw new ValidationException("eKYC request is not in a valid state for OTP verification");
+        }
+        
+        return ekycRequest;
+    }
+    
+    /**
+     * Stores the outcome of the UIDAI verification call and builds the response. If the
+     * request has left VERIFYING in the meantime (recovered as stuck), its current
+     * status is reported instead and the outcome is not stored.
+     * 
+     * @param ekycRequest The eKYC request being verified
+     * @param request The OTP verification request
+     * @param uidaiResponse The UIDAI response
+     * @return OtpVerificationResponse with the resulting status
+     */
+    private OtpVerificationResponse completeVerification(EkycRequest ekycRequest,
+                                                         OtpVerificationRequest request,
+                                                         UidaiResponse uidaiResponse) {
+        if (uidaiResponse.isSuccess()) {
+            // Update eKYC request status
+            if (!transition(request.getReferenceNumber(), VerificationStatus.VERIFYING,
+                    VerificationStatus.VERIFIED, null)) {
+                return currentVerificationStatus(request.getReferenceNumber());
+            }
+            
+            // Store OTP verification details
+            otpService.storeOtpVerification(
+                    request.getReferenceNumber(),
+                    request.getOtp(),
+                    true,
+                    null);
+            
+            auditService.logSuccess("OTP verification successful", 
+                    ekycRequest.getSessionId(), 
+                    request.getReferenceNumber());
+            
+            return new OtpVerificationResponse(
+                    request.getReferenceNumber(),
+                    VerificationStatus.VERIFIED,
+                    "OTP verification successful",
+                    null
+            );
+        } else {
+            // Update eKYC request status
+            if (!transition(request.getReferenceNumber(), VerificationStatus.VERIFYING,
+                    VerificationStatus.FAILED, uidaiResponse.getErrorMessage())) {
+                return currentVerificationStatus(request.getReferenceNumber());
+            }
+            
+            // Store OTP verification details
+            otpService.storeOtpVerification(
+                    request.getReferenceNumber(),
+                    request.getOtp(),
+                    false,
+                    uidaiResponse.getErrorMessage());
+            
+            auditService.logFailure("OTP verification failed", 
+                    ekycRequest.getSessionId(), 
+                    request.getReferenceNumber(), 
+                    uidaiResponse.getErrorMessage());
+            
+            return new OtpVerificationResponse(
+                    request.getReferenceNumber(),
+                    VerificationStatus.FAILED,
+                    "OTP verification failed",
+                    uidaiResponse.getErrorMessage()
+            );
+        }
+    }
+    
+    /**
+     * Audits a failed OTP verification and maps it to the exception reported to the caller.
+     * 
+     * @param request The OTP verification request
+     * @param e The failure
+     * @return The exception to throw
+     */
+    private RuntimeException verificationFailure(OtpVerificationRequest request, Throwable e) {
+        if (e instanceof DeadlineExceededException dee) {
+            auditService.logFailure("OTP verification abandoned", 
+                    null, 
+                    request.getReferenceNumber(), 
+                    dee.getMessage());
+            return dee;
+        }
+        if (e instanceof ValidationException ve) {
+            auditService.logFailure("OTP validation failed", 
+                    null, 
+                    request.getReferenceNumber(), 
+                    ve.getMessage());
+            return ve;
+        }
+        auditService.logFailure("OTP verification error", 
+                null, 
+                request.getReferenceNumber(), 
+                e.getMessage());
+        return new EkycException("Failed to process OTP verification: " + e.getMessage(), e);
+    }
+    
+    /**
+     * Builds the failed UIDAI response used when a UIDAI call was rejected locally.
+     * 
+     * @param e The rejection
+     * @return A failed UidaiResponse
+     */
+    private UidaiResponse unavailableResponse(UidaiUnavailableException e) {
+        logger.warn("UIDAI call rejected ({}): {}", e.getReason(), e.getMessage());
+        return new UidaiResponse(false, UIDAI_UNAVAILABLE_MESSAGE, null);
+    }
+    
+    /**
+     * Maps a rejected UIDAI initiation call to a failed UIDAI response, so the request
+     * is completed as FAILED; any other failure is passed on.
+     * 
+     * @param failure The failure of the UIDAI call
+     * @return A failed UidaiResponse
+     */
+    private UidaiResponse recoverUnavailable(Throwable failure) {
+        if (unwrap(failure) instanceof UidaiUnavailableException uue) {
+            return unavailableResponse(uue);
+        }
+        throw failure instanceof CompletionException ce ? ce : new CompletionException(failure);
+    }
+    
+    /**
+     * Rejects an initiation up front while the health probe reports UIDAI down, before
+     * anything is stored. The caller gets a FAILED response without a reference number
+     * and can start over once UIDAI is back.
+     * 
+     * @param request The eKYC request
+     * @return EkycResponse with FAILED status
+     */
+    private EkycResponse shedInitiation(EkycRequest request) {
+        logger.warn("Rejecting eKYC initiation for session {}, UIDAI health probe reports it down",
+                request.getSessionId());
+        auditService.logFailure("eKYC initiation rejected", 
+                request.getSessionId(), 
+                null, 
+                UIDAI_UNAVAILABLE_MESSAGE);
+        
+        return new EkycResponse(
+                null,
+                VerificationStatus.FAILED,
+                "Failed to initiate eKYC verification",
+                UIDAI_UNAVAILABLE_MESSAGE
+        );
+    }
+    
+    /**
+     * Answers an initiation from the negative cache if UIDAI recently reported a
+     * permanent failure for the same ID. Nothing is stored and UIDAI is not called.
+     * 
+     * @param request The eKYC request
+     * @return EkycResponse with FAILED status, or null if no failure is cached
+     */
+    private EkycResponse knownFailure(EkycRequest request) {
+        if (request.getIdNumber() == null) {
+            return null;
+        }
+        String reason = failedIds.get(idHasher.hash(request.getIdNumber()));
+        if (reason == null) {
+            return null;
+        }
+        
+        logger.info("Rejecting eKYC initiation for session {}, UIDAI recently failed for the same ID",
+                request.getSessionId());
+        auditService.logFailure("eKYC initiation rejected, recent permanent failure", 
+                request.getSessionId(), 
+                null, 
+                reason);
+        
+        return new EkycResponse(
+                null,
+                VerificationStatus.FAILED,
+                "Failed to initiate eKYC verification",
+                reason
+        );
+    }
+    
+    /**
+     * Adds the ID to the negative cache if UIDAI reported a failure that a retry cannot
+     * fix. Transient failures, including locally rejected calls, are not cached.
+     * 
+     * @param request The eKYC request
+     * @param uidaiResponse The failed UIDAI response
+     */
+    private void rememberPermanentFailure(EkycRequest request, UidaiResponse uidaiResponse) {
+        Map<String, Object> data = uidaiResponse.getData();
+        Object status = data != null ? data.get("status") : null;
+        if (status != null && permanentFailureStatuses.contains(status.toString())) {
+            String reason = uidaiResponse.getErrorMessage() != null
+                    ? uidaiResponse.getErrorMessage()
+                    : status.toString();
+            failedIds.put(idHasher.hash(request.getIdNumber()), reason);
+        }
+    }
+    
+    /**
+     * Builds the rejection used when the health probe reports UIDAI down.
+     * 
+     * @return The rejection
+     */
+    private UidaiUnavailableException healthCheckDown() {
+        return new UidaiUnavailableException(UidaiUnavailableException.Reason.HEALTH_CHECK_DOWN,
+                "UIDAI health probe reports it down");
+    }
+    
+    /**
+     * Builds the response for an OTP verification whose UIDAI call was rejected locally.
+     * The caller has released the eKYC request back to IN_PROGRESS, so the same OTP can
+     * be submitted again.
+     * 
+     * @param sessionId The session of the eKYC request, or null if it was not loaded
+     * @param request The OTP verification request
+     * @param e The rejection
+     * @return OtpVerificationResponse with FAILED status
+     */
+    private OtpVerificationResponse unavailableVerification(String sessionId,
+                                                            OtpVerificationRequest request,
+                                                            UidaiUnavailableException e) {
+        logger.warn("UIDAI call rejected ({}): {}", e.getReason(), e.getMessage());
+        auditService.logFailure("OTP verification rejected", 
+                sessionId, 
+                request.getReferenceNumber(), 
+                e.getMessage());
+        
+        return new OtpVerificationResponse(
+                request.getReferenceNumber(),
+                VerificationStatus.FAILED,
+                "OTP verification could not be completed, please try again",
+                UIDAI_UNAVAILABLE_MESSAGE
+        );
+    }
+    
+    /**
+     * Builds the key under which duplicate initiations are coalesced. The ID number is
+     * hashed with a secret key so the raw Aadhaar/VID number is not kept in memory.
+     * 
+     * @param request The eKYC request
+     * @return The key, or null if the request lacks a session or ID number and will fail
+     *         validation anyway
+     */
+    private String coalescingKey(EkycRequest request) {
+        if (request.getSessionId() == null || request.getIdNumber() == null) {
+            return null;
+        }
+        return request.getSessionId() + ':' + idHasher.hash(request.getIdNumber());
+    }
+    
+    /**
+     * Waits for a coalesced initiation on behalf of a blocking caller.
+     * 
+     * @param initiation The initiation to wait for
+     * @return The response of the initiation
+     */
+    private EkycResponse join(CompletableFuture<EkycResponse> initiation) {
+        try {
+            return initiation.join();
+        } catch (CompletionException e) {
+            if (unwrap(e) instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new EkycException("Failed to process eKYC request: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Fails fast if the caller's deadline has already passed.
+     * 
+     * @param deadline The caller's deadline
+     * @param step The step about to start, for the error message
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    private void checkDeadline(Deadline deadline, String step) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("Deadline passed before " + step);
+        }
+    }
+    
+    /**
+     * Returns the underlying failure of a completion stage.
+     * 
+     * @param failure The failure passed to a completion stage
+     * @return The original exception
+     */
+    private Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+    
+    /**
+     * Moves an eKYC request from one status to another in the current transaction, if
+     * it is still in the expected one.
+     * 
+     * @param referenceNumber The reference number of the request
+     * @param from The status the request must be in
+     * @param to The new status
+     * @param failureReason The failure reason to store, or null
+     * @return true if the status was changed, false if the request had left the
+     *         expected status
+     * @throws IllegalStateException if the transition is not allowed
+     */
+    private boolean transition(String referenceNumber, VerificationStatus from, VerificationStatus to,
+                               String failureReason) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalStateException("Illegal eKYC status transition " + from + " -> " + to);
+        }
+        boolean changed = ekycRequestRepository.compareAndSetStatus(
+                referenceNumber, from, to, failureReason, LocalDateTime.now()) == 1;
+        if (changed) {
+            eventPublisher.publishEvent(new VerificationStatusChangedEvent(referenceNumber, to));
+        } else {
+            logger.warn("eKYC request {} left {} before it could move to {}", referenceNumber, from, to);
+        }
+        return changed;
+    }
+    
+    /**
+     * Fails an initiation whose UIDAI call or outcome could not be completed, so it does
+     * not wait for recovery. Best effort; recovery catches whatever this misses.
+     * 
+     * @param referenceNumber The reference number of the request
+     */
+    private void abandonInitiation(String referenceNumber) {
+        try {
+            transactionTemplate.execute(status -> transition(referenceNumber, VerificationStatus.INITIATED,
+                    VerificationStatus.FAILED, "eKYC initiation could not be completed"));
+        } catch (Exception e) {
+            logger.warn("Could not mark eKYC request {} as failed: {}", referenceNumber, e.getMessage());
+        }
+    }
+    
+    /**
+     * Releases the claim on an eKYC request whose verification call failed, so the OTP
+     * can be submitted again. Does nothing if the outcome was already stored. Best
+     * effort; recovery catches whatever this misses.
+     * 
+     * @param referenceNumber The reference number of the request
+     */
+    private void releaseVerification(String referenceNumber) {
+        try {
+            transactionTemplate.execute(status -> {
+                int updated = ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                        VerificationStatus.VERIFYING, VerificationStatus.IN_PROGRESS, null, LocalDateTime.now());
+                if (updated == 1) {
+                    eventPublisher.publishEvent(
+                            new VerificationStatusChangedEvent(referenceNumber, VerificationStatus.IN_PROGRESS));
+                }
+                return updated;
+            });
+        } catch (Exception e) {
+            logger.warn("Could not release eKYC request {} for another OTP submission: {}",
+                    referenceNumber, e.getMessage());
+        }
+    }
+    
+    /**
+     * Builds the status response for a stored eKYC request.
+     * 
+     * @param ekycRequest The eKYC request
+     * @return EkycResponse with the stored status
+     */
+    private EkycResponse statusResponse(EkycRequest ekycRequest) {
+        return new EkycResponse(
+                ekycRequest.getReferenceNumber(),
+                ekycRequest.getStatus(),
+                getStatusMessage(ekycRequest.getStatus()),
+                ekycRequest.getFailureReason()
+        );
+    }
+    
+    /**
+     * Reports the stored status of an initiation whose outcome could not be applied.
+     * 
+     * @param referenceNumber The reference number of the request
+     * @return EkycResponse with the stored status
+     */
+    private EkycResponse currentStatus(String referenceNumber) {
+        return ekycRequestRepository.findByReferenceNumber(referenceNumber)
+                .map(this::statusResponse)
+                .orElseThrow(() -> new ValidationException("Invalid reference number"));
+    }
+    
+    /**
+     * Reports the stored status of a verification whose outcome could not be applied.
+     * 
+     * @param referenceNumber The reference number of the request
+     * @return OtpVerificationResponse with the stored status
+     */
+    private OtpVerificationResponse currentVerificationStatus(String referenceNumber) {
+        EkycResponse current = currentStatus(referenceNumber);
+        return new OtpVerificationResponse(
+                referenceNumber,
+                current.getStatus(),
+                current.getMessage(),
+                current.getFailureReason()
+        );
+    }
+    
     /**
      * Generates a unique reference number for an eKYC request.
      * 
@@ -299,6 +1146,8 @@ public class EkycService {
                 return "eKYC verification initiated";
             case IN_PROGRESS:
                 return "OTP verification pending";
+            case VERIFYING:
+                return "OTP verification in progress";
             case VERIFIED:
                 return "eKYC verification completed successfully";
             case FAILED:
@@ -0,0 +1,324 @@
+package com.ekyc.service;
+
+import com.ekyc.cache.ExpiringCache;
+import com.ekyc.config.EkycIdempotencyProperties;
+import com.ekyc.exception.IdempotencyConflictException;
+import com.ekyc.exception.IdempotencyKeyReusedException;
+import com.ekyc.model.IdempotencyRecord;
+import com.ekyc.repository.IdempotencyRecordRepository;
+import com.ekyc.resilience.SingleFlight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs requests sent with an {@code Idempotency-Key} at most once per key, and answers
+ * repeats with the original response.
+ *
+ * Responses are kept in the {@code idempotency_records} table for {@code ttlMs}, with
+ * a bounded in-memory near cache in front. Concurrent duplicates on this instance are
+ * coalesced onto the first execution; a duplicate arriving while another instance runs
+ * the key polls the table until that execution completes, and is answered 409 Conflict
+ * if it does not complete within {@code waitTimeoutMs}. A key reused with a different
+ * request body is answered 422 Unprocessable Entity.
+ *
+ * Only completed responses are stored. If the execution fails, its claim is released
+ * and every waiter gets the same failure, so a retry after a failure runs again. A
+ * response that cannot be stored is still returned, and its key stays claimed until
+ * the lease runs out; only its replay is lost.
+ *
+ * Keys are scoped by operation and caller, and stored as a hash.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Service
+public class IdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<String, StoredResponse> executions;
+    private final ExpiringCache<StoredResponse> nearCache;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitTimeoutNanos;
+    private final long pollIntervalMs;
+    private final int purgeBatchSize;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              EkycIdempotencyProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executions = new SingleFlight<>("ekyc.idempotency", 0);
+        this.executions.bindTo(meterRegistry);
+        this.nearCache = new ExpiringCache<>("ekyc.idempotency.responses",
+                Math.min(properties.getNearCacheTtlMs(), properties.getTtlMs()),
+                properties.getNearCacheMaxEntries());
+        this.nearCache.bindTo(meterRegistry);
+        this.ttl = Duration.ofMillis(properties.getTtlMs());
+        this.lease = Duration.ofMillis(properties.getLeaseMs());
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getWaitTimeoutMs());
+        this.pollIntervalMs = Math.max(1, properties.getPollIntervalMs());
+        this.purgeBatchSize = Math.max(1, properties.getPurgeBatchSize());
+    }
+
+    /**
+     * Runs a request once for its key, or answers it with the response stored for the key.
+     *
+     * @param operation The operation, such as {@code initiate}
+     * @param caller The authenticated caller the key belongs to
+     * @param idempotencyKey The client's key
+     * @param request The request body, compared with the one first sent with the key
+     * @param responseType Type of the response body
+     * @param call Runs the request; only invoked if the key has no stored response
+     * @return future completed with the response, or exceptionally with an
+     *         IdempotencyKeyReusedException, an IdempotencyConflictException or the
+     *         failure of the execution
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> execute(String operation, String caller, String idempotencyKey,
+                                                            Object request, Class<T> responseType,
+                                                            Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        String recordKey;
+        String fingerprint;
+        try {
+            recordKey = sha256(operation + '\n' + caller + '\n' + idempotencyKey);
+            fingerprint = sha256(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return executions.execute(recordKey, () -> run(recordKey, operation, fingerprint, call))
+                .thenApply(stored -> replay(stored, fingerprint, responseType));
+    }
+
+    /**
+     * Deletes expired keys from the database.
+     */
+    @Scheduled(fixedDelayString = "#{@ekycIdempotencyProperties.purgeIntervalMs}")
+    public void purgeExpired() {
+        try {
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(
+                        status -> repository.deleteExpired(LocalDateTime.now(), purgeBatchSize));
+                if (deleted > 0) {
+                    logger.debug("Deleted {} expired idempotency keys", deleted);
+                }
+            } while (deleted == purgeBatchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Deleting expired idempotency keys failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the stored response for a key, running the request if this caller claims it.
+     */
+    private <T> CompletableFuture<StoredResponse> run(String recordKey, String operation, String fingerprint,
+                                                      Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        StoredResponse cached = nearCache.get(recordKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return acquire(recordKey, operation, fingerprint, System.nanoTime() + waitTimeoutNanos)
+                .thenCompose(claim -> claim.stored() != null
+                        ? CompletableFuture.completedFuture(claim.stored())
+                        : runClaimed(recordKey, claim.ownerToken(), fingerprint, call));
+    }
+
+    /**
+     * Claims a key or reads its stored response, polling while another instance runs it.
+     */
+    private CompletableFuture<Claim> acquire(String recordKey, String operation, String fingerprint,
+                                             long waitDeadlineNanos) {
+        Claim claim;
+        try {
+            claim = transactionTemplate.execute(status -> claim(recordKey, operation, fingerprint));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (claim != null) {
+            if (claim.stored() != null) {
+                nearCache.put(recordKey, claim.stored());
+            }
+            return CompletableFuture.completedFuture(claim);
+        }
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pollIntervalMs) > waitDeadlineNanos) {
+            return CompletableFuture.failedFuture(new IdempotencyConflictException(
+                    "A request with this Idempotency-Key is still being processed"));
+        }
+        return CompletableFuture.supplyAsync(() -> null,
+                        CompletableFuture.delayedExecutor(pollIntervalMs, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> acquire(recordKey, operation, fingerprint, waitDeadlineNanos));
+    }
+
+    /**
+     * Claims a key in the current transaction.
+     *
+     * @return the claim, holding either an owner token or the stored response; null if
+     *         another execution still holds the key
+     */
+    private Claim claim(String recordKey, String operation, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        String ownerToken = UUID.randomUUID().toString();
+        if (repository.insertIfAbsent(recordKey, operation, fingerprint, ownerToken,
+                        now, now.plus(lease), now.plus(ttl)) == 1
+                || repository.takeOver(recordKey, operation, fingerprint, ownerToken,
+                        now, now.plus(lease), now.plus(ttl)) == 1) {
+            return new Claim(ownerToken, null);
+        }
+        return repository.findById(recordKey)
+                .filter(record -> record.getState() == IdempotencyRecord.State.COMPLETED)
+                .map(record -> new Claim(null, new StoredResponse(record.getRequestFingerprint(),
+                        record.getResponseStatus(), record.getResponseLocation(), record.getResponseBody())))
+                .orElse(null);
+    }
+
+    /**
+     * Runs the request for a claimed key and stores its response, or releases the key if
+     * it fails.
+     */
+    private <T> CompletableFuture<StoredResponse> runClaimed(String recordKey, String ownerToken, String fingerprint,
+                                                             Supplier<CompletableFuture<ResponseEntity<T>>> call) {
+        CompletableFuture<ResponseEntity<T>> execution;
+        try {
+            execution = call.get();
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+
+        return execution.handle((response, failure) -> {
+            if (failure != null) {
+                release(recordKey, ownerToken);
+                throw failure instanceof CompletionException ce ? ce : new CompletionException(failure);
+            }
+            StoredResponse stored = store(recordKey, ownerToken, fingerprint, response);
+            if (stored.unstored() == null) {
+                nearCache.put(recordKey, stored);
+            }
+            return stored;
+        });
+    }
+
+    /**
+     * Serializes a response and stores it for its key. A response that cannot be stored
+     * is still returned; only its replay is lost.
+     */
+    private StoredResponse store(String recordKey, String ownerToken, String fingerprint, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException e) {
+            // The request has run; releasing the key would let a retry run it again
+            logger.warn("Could not serialize the response for idempotency key {}: {}", recordKey, e.getMessage());
+            return new StoredResponse(fingerprint, response.getStatusCode().value(), null, null, response);
+        }
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                location != null ? location.toString() : null, body);
+        try {
+            Integer updated = transactionTemplate.execute(status -> repository.complete(
+                    recordKey, ownerToken, stored.status(), stored.location(), stored.body()));
+            if (updated == null || updated == 0) {
+                logger.warn("Idempotency key {} was taken over before its response was stored", recordKey);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not store the response for idempotency key {}: {}", recordKey, e.getMessage());
+        }
+        return stored;
+    }
+
+    /**
+     * Releases a claimed key so a retry runs again. Best effort; an unreleased key is
+     * taken over once its lease runs out.
+     */
+    private void release(String recordKey, String ownerToken) {
+        try {
+            transactionTemplate.execute(status -> repository.release(recordKey, ownerToken));
+        } catch (RuntimeException e) {
+            logger.warn("Could not release idempotency key {}: {}", recordKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the response from its stored form, after checking that it was stored for
+     * the same request.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key was already used with a different request");
+        }
+        if (stored.unstored() != null) {
+            return (ResponseEntity<T>) stored.unstored();
+        }
+        T body;
+        try {
+            body = objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new CompletionException(e);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status());
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        return builder.body(body);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Outcome of claiming a key: the owner token if this execution runs it, or the
+     * response stored for it.
+     */
+    private record Claim(String ownerToken, StoredResponse stored) {
+    }
+
+    /**
+     * Response stored for a key, with the fingerprint of the request that produced it.
+     * {@code unstored} holds the live response instead when it could not be serialized;
+     * it is only shared with callers coalesced onto the same execution.
+     */
+    private record StoredResponse(String fingerprint, int status, String location, String body,
+                                  ResponseEntity<?> unstored) {
+
+        private StoredResponse(String fingerprint, int status, String location, String body) {
+            this(fingerprint, status, location, body, null);
+        }
+    }
+}
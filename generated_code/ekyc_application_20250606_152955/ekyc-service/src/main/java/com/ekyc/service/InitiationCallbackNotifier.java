@@ -0,0 +1,108 @@
+package com.ekyc.service;
+
+import com.ekyc.config.EkycAcceptedInitiationProperties;
+import com.ekyc.model.EkycResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Posts the outcome of an accepted initiation to the callback URL the client gave.
+ *
+ * Only HTTPS URLs on the configured hosts are accepted, so a client cannot make this
+ * service call arbitrary internal addresses. Delivery is a single best-effort attempt;
+ * a client that misses its callback still finds the outcome through the status
+ * endpoint.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class InitiationCallbackNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(InitiationCallbackNotifier.class);
+
+    private final ObjectMapper objectMapper;
+    private final Set<String> allowedHosts;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    @Autowired
+    public InitiationCallbackNotifier(ObjectMapper objectMapper, EkycAcceptedInitiationProperties properties) {
+        this.objectMapper = objectMapper;
+        this.allowedHosts = properties.getCallbackAllowedHosts().stream()
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.timeout = Duration.ofMillis(properties.getCallbackTimeoutMs());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Whether a callback URL may be used.
+     *
+     * @param callbackUrl The URL given by the client
+     * @return true if it is an HTTPS URL on an allowed host
+     */
+    public boolean isAllowed(String callbackUrl) {
+        try {
+            URI uri = URI.create(callbackUrl);
+            return "https".equalsIgnoreCase(uri.getScheme())
+                    && uri.getHost() != null
+                    && allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sends the outcome of an initiation to its callback URL, without waiting for the
+     * delivery.
+     *
+     * @param callbackUrl The callback URL, or null if the client polls instead
+     * @param response The outcome of the initiation
+     */
+    public void notify(String callbackUrl, EkycResponse response) {
+        if (callbackUrl == null || !isAllowed(callbackUrl)) {
+            return;
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize callback for reference {}: {}",
+                    response.getReferenceNumber(), e.getMessage());
+            return;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((callbackResponse, failure) -> {
+                    if (failure != null) {
+                        logger.warn("Callback for reference {} failed: {}",
+                                response.getReferenceNumber(), failure.getMessage());
+                    } else if (callbackResponse.statusCode() / 100 != 2) {
+                        logger.warn("Callback for reference {} was answered with HTTP {}",
+                                response.getReferenceNumber(), callbackResponse.statusCode());
+                    }
+                });
+    }
+}
@@ -0,0 +1,127 @@
+package com.ekyc.service;
+
+import com.ekyc.config.EkycStatusWaitProperties;
+import com.ekyc.model.VerificationStatusChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process registry of callers waiting for the status of an eKYC request to change.
+ *
+ * A subscription is a future completed by the next {@link VerificationStatusChangedEvent}
+ * for its request, after the change has committed. Each subscription is used for one
+ * change; waiting for another means subscribing again. Waiters hold no thread.
+ *
+ * Only changes made on this instance are seen here, so waiters also recheck the stored
+ * status periodically. The number of subscriptions is bounded; when full,
+ * {@link #subscribe} returns null and the caller answers with the current status.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class StatusSubscriptionRegistry implements MeterBinder {
+
+    private final int maxSubscriptions;
+    private final ConcurrentMap<String, List<CompletableFuture<Void>>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder notified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public StatusSubscriptionRegistry(EkycStatusWaitProperties properties) {
+        this(properties.getMaxSubscriptions());
+    }
+
+    StatusSubscriptionRegistry(int maxSubscriptions) {
+        this.maxSubscriptions = maxSubscriptions;
+    }
+
+    /**
+     * Subscribes to the next status change of a request.
+     *
+     * @param referenceNumber The reference number of the request
+     * @return future completed on the next change, or null if the registry is full
+     */
+    public CompletableFuture<Void> subscribe(String referenceNumber) {
+        if (size.incrementAndGet() > maxSubscriptions) {
+            size.decrementAndGet();
+            rejected.increment();
+            return null;
+        }
+        CompletableFuture<Void> subscription = new CompletableFuture<>();
+        subscriptions.compute(referenceNumber, (key, waiters) -> {
+            List<CompletableFuture<Void>> list = waiters != null ? waiters : new CopyOnWriteArrayList<>();
+            list.add(subscription);
+            return list;
+        });
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription that is no longer needed, such as one that timed out.
+     *
+     * @param referenceNumber The reference number of the request
+     * @param subscription The subscription, or null
+     */
+    public void cancel(String referenceNumber, CompletableFuture<Void> subscription) {
+        if (subscription == null) {
+            return;
+        }
+        subscriptions.computeIfPresent(referenceNumber, (key, waiters) -> {
+            if (waiters.remove(subscription)) {
+                size.decrementAndGet();
+            }
+            return waiters.isEmpty() ? null : waiters;
+        });
+    }
+
+    /**
+     * Wakes every caller waiting for a change of the request.
+     *
+     * @param event The status change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(VerificationStatusChangedEvent event) {
+        List<CompletableFuture<Void>> waiters = subscriptions.remove(event.referenceNumber());
+        if (waiters == null) {
+            return;
+        }
+        size.addAndGet(-waiters.size());
+        notified.add(waiters.size());
+        waiters.forEach(waiter -> waiter.complete(null));
+    }
+
+    /**
+     * Number of callers currently waiting.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ekyc.status.subscriptions", size, AtomicInteger::get)
+                .description("Callers waiting for an eKYC status change")
+                .register(registry);
+        FunctionCounter.builder("ekyc.status.subscriptions.notified", notified, LongAdder::sum)
+                .description("Waiting callers woken by a status change")
+                .register(registry);
+        FunctionCounter.builder("ekyc.status.subscriptions.rejected", rejected, LongAdder::sum)
+                .description("Callers answered at once because the subscription registry was full")
+                .register(registry);
+    }
+}
@@ -1,45 +1,158 @@
 package com.ekyc.service;
 
+import com.ekyc.config.UidaiBatchProperties;
 import com.ekyc.config.UidaiConfig;
+import com.ekyc.dto.uidai.UidaiInitiateRequest;
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.enums.UidaiCallPriority;
+import com.ekyc.enums.UidaiOperation;
+import com.ekyc.enums.UidaiWireFormat;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiHttpStatusException;
 import com.ekyc.exception.UidaiServiceException;
+import com.ekyc.exception.UidaiUnavailableException;
 import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiBatchResponse;
 import com.ekyc.model.UidaiResponse;
+import com.ekyc.resilience.Deadline;
+import com.ekyc.resilience.MicroBatcher;
+import com.ekyc.resilience.UidaiCallGuard;
+import com.ekyc.resilience.UidaiEndpoint;
+import com.ekyc.resilience.UidaiLoadBalancer;
+import com.ekyc.resilience.UidaiRetryScheduler;
+import com.ekyc.resilience.UidaiTimeoutPolicy;
+import com.ekyc.util.UidaiJsonCodec;
+import com.ekyc.util.UidaiXmlCodec;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for integrating with the UIDAI (Unique Identification Authority of India) API.
  * Handles all external API calls to UIDAI for eKYC verification.
+ *
+ * Calls are made on the JDK {@link HttpClient} and return a {@link CompletableFuture};
+ * no thread is held while the UIDAI round trip is in flight or while a retry is waiting
+ * for its backoff. The blocking variants wait for the same pipeline.
+ *
+ * Request bodies are typed records encoded by pre-bound codecs, and the endpoint URIs
+ * and constant headers are resolved once at startup, so a call only allocates its body
+ * and the request itself. OTP verification responses are decoded while they arrive, so
+ * the KYC data they carry is never held in memory as a whole.
+ *
+ * Each attempt times out after a timeout derived from recent UIDAI latency for the
+ * operation ({@link UidaiTimeoutPolicy}). The asynchronous variants also take the
+ * caller's {@link Deadline}: each attempt's timeout is cut to the time left, and
+ * retries stop once it has passed.
+ *
+ * When several UIDAI gateways are configured, each attempt is routed by the
+ * {@link UidaiLoadBalancer}, so a retry usually lands on a different gateway than the
+ * attempt that failed.
+ *
+ * While the concurrency limit on UIDAI calls is reached, attempts wait in the
+ * {@link UidaiCallGuard} by priority: verifications before initiations before health
+ * probes, so a burst of initiations does not delay users who are entering an OTP.
+ *
+ * Bulk flows can use the batched variants instead, which group concurrent requests
+ * into one HTTP call to the UIDAI batch endpoints ({@link MicroBatcher}).
+ *
+ * A 4xx answer that carries a UIDAI response (OTP generation failed, invalid OTP) is
+ * returned as a failed response rather than an error, so callers see UIDAI's status
+ * just as with a 2xx body that reports a failure. Other non-2xx answers fail the call
+ * with a {@link UidaiHttpStatusException}.
  */
 @Service
 public class UidaiIntegrationService {
     private static final Logger logger = LoggerFactory.getLogger(UidaiIntegrationService.class);
     
-    private final RestTemplate restTemplate;
     private final UidaiConfig uidaiConfig;
     private final AuditService auditService;
+    private final UidaiXmlCodec uidaiXmlCodec;
+    private final UidaiWireFormat wireFormat;
+    private final HttpClient uidaiHttpClient;
+    private final UidaiJsonCodec uidaiJsonCodec;
+    private final UidaiCallGuard callGuard;
+    private final UidaiRetryScheduler retryScheduler;
+    private final UidaiTimeoutPolicy timeoutPolicy;
+    private final UidaiLoadBalancer loadBalancer;
+    private final Duration batchTimeout;
+    private final MicroBatcher<BatchItem<UidaiInitiateRequest>, UidaiBatchResponse.Item> initiateBatcher;
+    private final MicroBatcher<BatchItem<UidaiVerifyRequest>, UidaiBatchResponse.Item> verifyBatcher;
+    private final AtomicInteger exchangesInFlight = new AtomicInteger();
+    
+    /**
+     * Headers shared by every UIDAI request. Never modified after construction; each
+     * request starts from a {@link HttpRequest.Builder#copy() copy}.
+     */
+    private final HttpRequest.Builder requestTemplate;
     
     @Autowired
-    public UidaiIntegrationService(RestTemplate restTemplate,
-                                  UidaiConfig uidaiConfig,
-                                  AuditService auditService) {
-        this.restTemplate = restTemplate;
+    public UidaiIntegrationService(UidaiConfig uidaiConfig,
+                                  AuditService auditService,
+                                  UidaiXmlCodec uidaiXmlCodec,
+                                  @Value("${ekyc.uidai.wire-format:JSON}") UidaiWireFormat wireFormat,
+                                  HttpClient uidaiHttpClient,
+                                  UidaiJsonCodec uidaiJsonCodec,
+                                  UidaiCallGuard callGuard,
+                                  UidaiRetryScheduler retryScheduler,
+                                  UidaiTimeoutPolicy timeoutPolicy,
+                                  UidaiLoadBalancer loadBalancer,
+                                  UidaiBatchProperties batchProperties,
+                                  MeterRegistry meterRegistry) {
         this.uidaiConfig = uidaiConfig;
         this.auditService = auditService;
+        this.uidaiXmlCodec = uidaiXmlCodec;
+        this.wireFormat = wireFormat;
+        this.uidaiHttpClient = uidaiHttpClient;
+        this.uidaiJsonCodec = uidaiJsonCodec;
+        this.callGuard = callGuard;
+        this.retryScheduler = retryScheduler;
+        this.timeoutPolicy = timeoutPolicy;
+        this.loadBalancer = loadBalancer;
+        this.batchTimeout = Duration.ofMillis(batchProperties.getRequestTimeoutMs());
+        this.initiateBatcher = new MicroBatcher<>("uidai.initiate", batchProperties.getMaxItems(),
+                batchProperties.getMaxDelayMs(),
+                items -> sendBatchAsync(UidaiOperation.INITIATE, items, uidaiJsonCodec::writeInitiateBatch));
+        this.verifyBatcher = new MicroBatcher<>("uidai.verify", batchProperties.getMaxItems(),
+                batchProperties.getMaxDelayMs(),
+                items -> sendBatchAsync(UidaiOperation.VERIFY, items, uidaiJsonCodec::writeVerifyBatch));
+        this.initiateBatcher.bindTo(meterRegistry);
+        this.verifyBatcher.bindTo(meterRegistry);
+        Gauge.builder("uidai.http.pool.leased", exchangesInFlight, AtomicInteger::get)
+                .description("UIDAI exchanges in flight, each holding a pooled connection")
+                .register(meterRegistry);
+        
+        String mediaType = wireFormat == UidaiWireFormat.XML
+                ? MediaType.APPLICATION_XML_VALUE
+                : MediaType.APPLICATION_JSON_VALUE;
+        this.requestTemplate = HttpRequest.newBuilder()
+                .header(HttpHeaders.CONTENT_TYPE, mediaType)
+                .header(HttpHeaders.ACCEPT, mediaType)
+                .header("X-API-KEY", uidaiConfig.getApiKey());
     }
     
     /**
@@ -52,134 +165,625 @@ public class UidaiIntegrationService {
      * @return UidaiResponse containing the result of the API call
      * @throws UidaiServiceException if there's an error during the API call
      */
-    @Retryable(value = {RestClientException.class}, 
-              maxAttempts = 3, 
-              backoff = @Backoff(delay = 1000, multiplier = 2))
     public UidaiResponse initiateEkyc(String idNumber, IdType idType, 
                                      boolean identityVerificationConsent,
                                      boolean mobileEmailConsent) {
+        return join(initiateEkycAsync(idNumber, idType, identityVerificationConsent, mobileEmailConsent,
+                Deadline.none()));
+    }
+    
+    /**
+     * Verifies an OTP with UIDAI for eKYC verification.
+     * 
+     * @param idNumber The Aadhaar or VID number
+     * @param idType The type of ID (AADHAAR or VID)
+     * @param otp The OTP to verify
+     * @param referenceNumber The reference number of the eKYC request
+     * @return UidaiResponse containing the result of the API call
+     * @throws UidaiServiceException if there's an error during the API call
+     */
+    public UidaiResponse verifyOtp(String idNumber, IdType idType, String otp, String referenceNumber) {
+        return join(verifyOtpAsync(idNumber, idType, otp, referenceNumber, Deadline.none()));
+    }
+    
+    /**
+     * Initiates the eKYC verification process with UIDAI without blocking the caller.
+     * 
+     * @param idNumber The Aadhaar or VID number
+     * @param idType The type of ID (AADHAAR or VID)
+     * @param identityVerificationConsent Whether consent for identity verification is given
+     * @param mobileEmailConsent Whether consent for accessing mobile/email is given
+     * @param deadline Time by which the call must complete
+     * @return future completed with the UidaiResponse, or exceptionally with a
+     *         UidaiServiceException if the call fails or a DeadlineExceededException if
+     *         it runs out of time
+     */
+    public CompletableFuture<UidaiResponse> initiateEkycAsync(String idNumber, IdType idType,
+                                                             boolean identityVerificationConsent,
+                                                             boolean mobileEmailConsent,
+                                                             Deadline deadline) {
         String maskedId = auditService.maskAadhaarOrVid(idNumber);
-        logger.info("Initiating eKYC with UIDAI for ID: {}, Type: {}", maskedId, idType);
+        logger.info("Initiating eKYC asynchronously with UIDAI for ID: {}, Type: {}", maskedId, idType);
+        
+        UidaiInitiateRequest request = new UidaiInitiateRequest(idNumber, idType,
+                identityVerificationConsent, mobileEmailConsent);
         
+        CompletableFuture<UidaiResponse> call;
         try {
-            // Prepare request headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-API-KEY", uidaiConfig.getApiKey());
-            
-            // Prepare request body
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("idNumber", idNumber);
-            requestBody.put("idType", idType.toString());
-            requestBody.put("identityVerificationConsent", identityVerificationConsent);
-            requestBody.put("mobileEmailConsent", mobileEmailConsent);
-            
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-            
-            // Make API call
-            ResponseEntity<UidaiResponse> responseEntity = restTemplate.exchange(
-                    uidaiConfig.getInitiateEkycUrl(),
-                    HttpMethod.POST,
-                    requestEntity,
-                    UidaiResponse.class);
-            
-            UidaiResponse response = responseEntity.getBody();
-            
-            if (response != null && response.isSuccess()) {
-                auditService.logSuccess("UIDAI eKYC initiation successful", null, null);
-            } else {
-                String errorMessage = response != null ? response.getErrorMessage() : "No response from UIDAI";
-                auditService.logFailure("UIDAI eKYC initiation failed", null, null, errorMessage);
-            }
-            
-            return response != null ? response : new UidaiResponse(false, "No response from UIDAI", null);
-        } catch (RestClientException rce) {
-            auditService.logFailure("UIDAI API call failed", null, null, rce.getMessage());
-            logger.error("Error calling UIDAI API: {}", rce.getMessage(), rce);
-            throw new UidaiServiceException("Failed to communicate with UIDAI: " + rce.getMessage(), rce);
+            byte[] body = wireFormat == UidaiWireFormat.XML
+                    ? encodeXml(out -> uidaiXmlCodec.writeInitiateRequest(out, request))
+                    : uidaiJsonCodec.writeInitiateRequest(request);
+            call = retryScheduler.execute(UidaiOperation.INITIATE.tag(), deadline,
+                    () -> callGuard.executeAsync(UidaiCallPriority.INITIATE, deadline,
+                            () -> sendAsync(UidaiOperation.INITIATE, body, deadline)));
         } catch (Exception e) {
-            auditService.logFailure("UIDAI integration error", null, null, e.getMessage());
-            logger.error("Unexpected error during UIDAI integration: {}", e.getMessage(), e);
-            throw new UidaiServiceException("Unexpected error during UIDAI integration: " + e.getMessage(), e);
+            call = CompletableFuture.failedFuture(e);
         }
+        
+        return call.handle((response, failure) ->
+                completeCall(response, failure, "UIDAI eKYC initiation", null));
     }
     
     /**
-     * Verifies an OTP with UIDAI for eKYC verification.
+     * Verifies an OTP with UIDAI without blocking the caller.
      * 
      * @param idNumber The Aadhaar or VID number
      * @param idType The type of ID (AADHAAR or VID)
      * @param otp The OTP to verify
      * @param referenceNumber The reference number of the eKYC request
-     * @return UidaiResponse containing the result of the API call
-     * @throws UidaiServiceException if there's an error during the API call
+     * @param deadline Time by which the call must complete
+     * @return future completed with the UidaiResponse without its KYC data, or
+     *         exceptionally with a UidaiServiceException if the call fails or a
+     *         DeadlineExceededException if it runs out of time
      */
-    @Retryable(value = {RestClientException.class}, 
-              maxAttempts = 3, 
-              backoff = @Backoff(delay = 1000, multiplier = 2))
-    public UidaiResponse verifyOtp(String idNumber, IdType idType, String otp, String referenceNumber) {
+    public CompletableFuture<UidaiResponse> verifyOtpAsync(String idNumber, IdType idType,
+                                                          String otp, String referenceNumber,
+                                                          Deadline deadline) {
+        return verifyOtpAsync(idNumber, idType, otp, referenceNumber, deadline, null);
+    }
+    
+    /**
+     * Verifies an OTP with UIDAI without blocking the caller, streaming the KYC data to
+     * a sink instead of building it in memory.
+     *
+     * With the JSON wire format the response is parsed as it arrives: the returned
+     * UidaiResponse holds the success flag, the error message and the scalar attributes
+     * (status, reference), while object attributes such as the KYC data are copied to
+     * the sink through bounded buffers, or skipped without one. A call whose response
+     * fails after KYC data reached the sink is not retried. With the XML wire format
+     * the response is read whole and the sink is not used.
+     * 
+     * @param idNumber The Aadhaar or VID number
+     * @param idType The type of ID (AADHAAR or VID)
+     * @param otp The OTP to verify
+     * @param referenceNumber The reference number of the eKYC request
+     * @param deadline Time by which the call must complete
+     * @param kycDataSink Receives the KYC data as one JSON object keyed by attribute
+     *        name, or null to skip it; not closed by this call
+     * @return future completed with the UidaiResponse without its KYC data, or
+     *         exceptionally with a UidaiServiceException if the call fails or a
+     *         DeadlineExceededException if it runs out of time
+     */
+    public CompletableFuture<UidaiResponse> verifyOtpAsync(String idNumber, IdType idType,
+                                                          String otp, String referenceNumber,
+                                                          Deadline deadline, OutputStream kycDataSink) {
         String maskedId = auditService.maskAadhaarOrVid(idNumber);
         String maskedOtp = auditService.maskOtp(otp);
-        logger.info("Verifying OTP with UIDAI for ID: {}, Reference: {}, OTP: {}", 
+        logger.info("Verifying OTP asynchronously with UIDAI for ID: {}, Reference: {}, OTP: {}", 
                 maskedId, referenceNumber, maskedOtp);
         
+        UidaiVerifyRequest request = new UidaiVerifyRequest(idNumber, idType, otp, referenceNumber);
+        
+        CompletableFuture<UidaiResponse> call;
+        try {
+            byte[] body = wireFormat == UidaiWireFormat.XML
+                    ? encodeXml(out -> uidaiXmlCodec.writeVerifyRequest(out, request))
+                    : uidaiJsonCodec.writeVerifyRequest(request);
+            call = retryScheduler.execute(UidaiOperation.VERIFY.tag(), deadline,
+                    () -> callGuard.executeAsync(UidaiCallPriority.VERIFY, deadline,
+                            () -> wireFormat == UidaiWireFormat.XML
+                                    ? sendAsync(UidaiOperation.VERIFY, body, deadline)
+                                    : sendStreamingAsync(body, deadline, kycDataSink)));
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        
+        return call.handle((response, failure) ->
+                completeCall(response, failure, "UIDAI OTP verification", referenceNumber));
+    }
+    
+    /**
+     * Initiates the eKYC verification process with UIDAI as part of a batch. The request
+     * waits up to the configured batch delay for other initiations and is sent with
+     * them in one call to the batch endpoint, which suits bulk onboarding where
+     * throughput matters more than the latency of each request.
+     *
+     * The batch runs until the latest deadline of its items. With the XML wire format,
+     * which has no batch variant, this makes a single call.
+     * 
+     * @param idNumber The Aadhaar or VID number
+     * @param idType The type of ID (AADHAAR or VID)
+     * @param identityVerificationConsent Whether consent for identity verification is given
+     * @param mobileEmailConsent Whether consent for accessing mobile/email is given
+     * @param deadline Time by which the call must complete
+     * @return future completed with the UidaiResponse of this request, or exceptionally
+     *         with a UidaiServiceException if the batch or this item fails
+     */
+    public CompletableFuture<UidaiResponse> initiateEkycBatchedAsync(String idNumber, IdType idType,
+                                                                    boolean identityVerificationConsent,
+                                                                    boolean mobileEmailConsent,
+                                                                    Deadline deadline) {
+        if (wireFormat == UidaiWireFormat.XML) {
+            return initiateEkycAsync(idNumber, idType, identityVerificationConsent, mobileEmailConsent, deadline);
+        }
+        
+        logger.info("Queueing batched eKYC initiation with UIDAI for ID: {}, Type: {}",
+                auditService.maskAadhaarOrVid(idNumber), idType);
+        
+        UidaiInitiateRequest request = new UidaiInitiateRequest(idNumber, idType,
+                identityVerificationConsent, mobileEmailConsent);
+        return initiateBatcher.submit(new BatchItem<>(request, deadline))
+                .thenApply(item -> decodeBatchItem(UidaiOperation.INITIATE, item))
+                .handle((response, failure) ->
+                        completeCall(response, failure, "UIDAI eKYC initiation", null));
+    }
+    
+    /**
+     * Verifies an OTP with UIDAI as part of a batch; see
+     * {@link #initiateEkycBatchedAsync}.
+     * 
+     * @param idNumber The Aadhaar or VID number
+     * @param idType The type of ID (AADHAAR or VID)
+     * @param otp The OTP to verify
+     * @param referenceNumber The reference number of the eKYC request
+     * @param deadline Time by which the call must complete
+     * @return future completed with the UidaiResponse of this request, or exceptionally
+     *         with a UidaiServiceException if the batch or this item fails
+     */
+    public CompletableFuture<UidaiResponse> verifyOtpBatchedAsync(String idNumber, IdType idType,
+                                                                 String otp, String referenceNumber,
+                                                                 Deadline deadline) {
+        if (wireFormat == UidaiWireFormat.XML) {
+            return verifyOtpAsync(idNumber, idType, otp, referenceNumber, deadline);
+        }
+        
+        logger.info("Queueing batched OTP verification with UIDAI for ID: {}, Reference: {}",
+                auditService.maskAadhaarOrVid(idNumber), referenceNumber);
+        
+        UidaiVerifyRequest request = new UidaiVerifyRequest(idNumber, idType, otp, referenceNumber);
+        return verifyBatcher.submit(new BatchItem<>(request, deadline))
+                .thenApply(item -> decodeBatchItem(UidaiOperation.VERIFY, item))
+                .handle((response, failure) ->
+                        completeCall(response, failure, "UIDAI OTP verification", referenceNumber));
+    }
+    
+    /**
+     * Sends a request body to the UIDAI endpoint picked by the load balancer, on the
+     * non-blocking client. The future completes on the UIDAI callback executor once the
+     * whole response has been received.
+     *
+     * The body is sent from the encoded array as is, so a retry resends it without
+     * encoding it again.
+     *
+     * The attempt times out after the adaptive timeout for the operation or when the
+     * deadline passes, whichever comes first. A timeout caused by the deadline fails with
+     * a DeadlineExceededException so it is neither retried nor counted against UIDAI.
+     *
+     * @param operation The UIDAI operation
+     * @param body The encoded request body
+     * @param deadline Time by which the call must complete
+     * @return future completed with the decoded response, or null if UIDAI returned no body
+     */
+    private CompletableFuture<UidaiResponse> sendAsync(UidaiOperation operation, byte[] body, Deadline deadline) {
+        return postAsync(operation, false, body, deadline, HttpResponse.BodyHandlers.ofByteArray(), this::decodeResponse);
+    }
+    
+    /**
+     * Sends an OTP verification and decodes the response while it arrives, so the KYC
+     * data is never held in memory as a whole: the attributes EkycService needs are
+     * kept, and the KYC data is copied to the sink or skipped.
+     *
+     * @param body The encoded request body
+     * @param deadline Time by which the call must complete
+     * @param kycDataSink Receives the KYC data as a JSON object, or null to skip it
+     * @return future completed with the response without its KYC data, or null if
+     *         UIDAI returned no body
+     */
+    private CompletableFuture<UidaiResponse> sendStreamingAsync(byte[] body, Deadline deadline,
+                                                                OutputStream kycDataSink) {
+        HttpResponse.BodyHandler<UidaiResponse> bodyHandler = responseInfo -> {
+            if (responseInfo.statusCode() < 200 || responseInfo.statusCode() >= 300) {
+                return HttpResponse.BodySubscribers.replacing(null);
+            }
+            try {
+                return uidaiJsonCodec.streamingResponseSubscriber(kycDataSink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        return postAsync(UidaiOperation.VERIFY, false, body, deadline, bodyHandler, this::checkStreamedResponse);
+    }
+    
+    /**
+     * Sends one batch. The whole batch is a single attempt for the circuit breaker,
+     * the concurrency limiter, retries and the load balancer; per-item failures are
+     * left to the callers.
+     *
+     * @param operation The UIDAI operation
+     * @param items The queued requests, in the order of their results
+     * @param encoder Encodes the requests into one batch body, under a new parent
+     *        process ID that identifies the batch in UIDAI's logs
+     * @return future completed with one result per item, in the order of the items
+     */
+    private <Q> CompletableFuture<List<UidaiBatchResponse.Item>> sendBatchAsync(UidaiOperation operation,
+                                                                            List<BatchItem<Q>> items,
+                                                                            BatchBodyWriter<Q> encoder) {
+        Deadline deadline = latestDeadline(items);
+        String parentProcessId = "BATCH" + UUID.randomUUID().toString().replace("-", "");
+        byte[] body;
+        try {
+            body = encoder.write(parentProcessId, items.stream().map(BatchItem::request).toList());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new UidaiServiceException("Failed to encode UIDAI " + operation.tag() + " batch: " + e.getMessage(), e));
+        }
+        
+        logger.debug("Sending UIDAI {} batch {} of {} items", operation.tag(), parentProcessId, items.size());
+        return retryScheduler.execute(operation.tag() + "_batch", deadline,
+                        () -> callGuard.executeAsync(UidaiCallPriority.of(operation), deadline,
+                                () -> postAsync(operation, true, body, deadline,
+                                        HttpResponse.BodyHandlers.ofByteArray(), this::decodeBatchResponse)))
+                .thenApply(response -> inRequestOrder(response, items.size()));
+    }
+    
+    /**
+     * Posts a body to the UIDAI endpoint picked by the load balancer and reports the
+     * outcome to it. Single calls also feed the adaptive timeout; batches use their own
+     * static timeout and are not sampled, since their latency grows with their size.
+     */
+    private <B, T> CompletableFuture<T> postAsync(UidaiOperation operation, boolean batch, byte[] body,
+                                                  Deadline deadline, HttpResponse.BodyHandler<B> bodyHandler,
+                                                  ResponseDecoder<B, T> decoder) {
+        Duration operationTimeout = batch ? batchTimeout : timeoutPolicy.timeoutFor(operation);
+        Duration timeout = deadline.cap(operationTimeout);
+        if (timeout.isZero()) {
+            return CompletableFuture.failedFuture(new DeadlineExceededException(
+                    "Deadline passed before calling UIDAI " + operation.tag()));
+        }
+        boolean cutByDeadline = timeout.compareTo(operationTimeout) < 0;
+        
+        UidaiEndpoint endpoint = loadBalancer.acquire();
+        URI uri = batch ? endpoint.batchUriFor(operation) : endpoint.uriFor(operation);
+        HttpRequest request = requestTemplate.copy()
+                .uri(uri)
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<B>> exchange;
         try {
-            // Prepare request headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-API-KEY", uidaiConfig.getApiKey());
-            
-            // Prepare request body
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("idNumber", idNumber);
-            requestBody.put("idType", idType.toString());
-            requestBody.put("otp", otp);
-            requestBody.put("referenceNumber", referenceNumber);
-            
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-            
-            // Make API call
-            ResponseEntity<UidaiResponse> responseEntity = restTemplate.exchange(
-                    uidaiConfig.getVerifyOtpUrl(),
-                    HttpMethod.POST,
-                    requestEntity,
-                    UidaiResponse.class);
-            
-            UidaiResponse response = responseEntity.getBody();
-            
-            if (response != null && response.isSuccess()) {
-                auditService.logSuccess("UIDAI OTP verification successful", null, referenceNumber);
+            exchange = send(request, bodyHandler);
+        } catch (RuntimeException e) {
+            loadBalancer.onAbandoned(endpoint);
+            return CompletableFuture.failedFuture(e);
+        }
+        return exchange.handle((response, failure) -> {
+            long elapsed = System.nanoTime() - start;
+            if (failure == null) {
+                boolean serverError = response.statusCode() >= 500;
+                if (batch) {
+                    if (serverError) {
+                        loadBalancer.onFailure(endpoint);
+                    } else {
+                        loadBalancer.onSuccess(endpoint);
+                    }
+                } else {
+                    timeoutPolicy.onResponse(operation, elapsed);
+                    if (serverError) {
+                        loadBalancer.onFailure(endpoint, elapsed);
+                    } else {
+                        loadBalancer.onSuccess(endpoint, elapsed);
+                    }
+                }
+                return decoder.decode(uri, response);
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause instanceof HttpTimeoutException && cutByDeadline) {
+                loadBalancer.onAbandoned(endpoint);
+                throw new DeadlineExceededException("Deadline passed while calling " + uri, cause);
+            }
+            if (batch) {
+                loadBalancer.onFailure(endpoint);
             } else {
-                String errorMessage = response != null ? response.getErrorMessage() : "No response from UIDAI";
-                auditService.logFailure("UIDAI OTP verification failed", null, referenceNumber, errorMessage);
+                if (cause instanceof HttpTimeoutException) {
+                    timeoutPolicy.onTimeout(operation, timeout);
+                }
+                loadBalancer.onFailure(endpoint, elapsed);
+            }
+            throw failure instanceof CompletionException ce ? ce : new CompletionException(cause);
+        });
+    }
+    
+    /**
+     * Sends a request on the UIDAI client, counting it as holding a connection until its
+     * body has been read.
+     */
+    private <B> CompletableFuture<HttpResponse<B>> send(HttpRequest request, HttpResponse.BodyHandler<B> bodyHandler) {
+        exchangesInFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<B>> exchange;
+        try {
+            exchange = uidaiHttpClient.sendAsync(request, bodyHandler);
+        } catch (RuntimeException e) {
+            exchangesInFlight.decrementAndGet();
+            throw e;
+        }
+        return exchange.whenComplete((response, failure) -> exchangesInFlight.decrementAndGet());
+    }
+    
+    private UidaiResponse decodeResponse(URI uri, HttpResponse<byte[]> response) {
+        int statusCode = response.statusCode();
+        boolean clientError = isClientError(statusCode);
+        if ((statusCode < 200 || statusCode >= 300) && !clientError) {
+            throw new UidaiHttpStatusException(statusCode, "UIDAI returned HTTP " + statusCode + " for " + uri);
+        }
+        
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            if (clientError) {
+                throw new UidaiHttpStatusException(statusCode, "UIDAI returned HTTP " + statusCode + " for " + uri);
+            }
+            return null;
+        }
+        
+        UidaiResponse decoded;
+        try {
+            decoded = wireFormat == UidaiWireFormat.XML
+                    ? uidaiXmlCodec.readResponse(new ByteArrayInputStream(body))
+                    : uidaiJsonCodec.readResponse(body);
+        } catch (IOException | XMLStreamException e) {
+            if (clientError) {
+                throw new UidaiHttpStatusException(statusCode, "UIDAI returned HTTP " + statusCode + " for " + uri);
+            }
+            throw new UidaiServiceException("Malformed UIDAI response: " + e.getMessage(), e);
+        }
+        return clientError ? rejected(decoded) : decoded;
+    }
+    
+    private UidaiResponse checkStreamedResponse(URI uri, HttpResponse<UidaiResponse> response) {
+        int statusCode = response.statusCode();
+        if (isClientError(statusCode) && response.body() != null) {
+            return rejected(response.body());
+        }
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new UidaiHttpStatusException(statusCode, "UIDAI returned HTTP " + statusCode + " for " + uri);
+        }
+        return response.body();
+    }
+    
+    private UidaiBatchResponse decodeBatchResponse(URI uri, HttpResponse<byte[]> response) {
+        int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new UidaiHttpStatusException(statusCode, "UIDAI returned HTTP " + statusCode + " for " + uri);
+        }
+        
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            throw new UidaiServiceException("UIDAI returned an empty batch response for " + uri);
+        }
+        
+        try {
+            return uidaiJsonCodec.readBatchResponse(body);
+        } catch (IOException e) {
+            throw new UidaiServiceException("Malformed UIDAI batch response: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Orders the items of a batch response by their index, checking that every request
+     * item was answered exactly once.
+     */
+    private List<UidaiBatchResponse.Item> inRequestOrder(UidaiBatchResponse response, int size) {
+        UidaiBatchResponse.Item[] ordered = new UidaiBatchResponse.Item[size];
+        for (UidaiBatchResponse.Item item : response.items()) {
+            if (item.index() < 0 || item.index() >= size || ordered[item.index()] != null) {
+                throw new UidaiServiceException("UIDAI batch response has an unexpected item index " + item.index());
+            }
+            ordered[item.index()] = item;
+        }
+        if (response.items().size() != size) {
+            throw new UidaiServiceException("UIDAI batch response answered " + response.items().size()
+                    + " of " + size + " items");
+        }
+        return List.of(ordered);
+    }
+    
+    /**
+     * Turns one item of a batch response into the result a single call would have had.
+     */
+    private UidaiResponse decodeBatchItem(UidaiOperation operation, UidaiBatchResponse.Item item) {
+        int statusCode = item.statusCode();
+        if (isClientError(statusCode) && item.response() != null) {
+            return rejected(item.response());
+        }
+        if (statusCode < 200 || statusCode >= 300) {
+            throw new UidaiHttpStatusException(statusCode,
+                    "UIDAI returned HTTP " + statusCode + " for batched " + operation.tag() + " item " + item.index());
+        }
+        return item.response();
+    }
+    
+    private static boolean isClientError(int statusCode) {
+        return statusCode >= 400 && statusCode < 500;
+    }
+    
+    /**
+     * A UIDAI response that came with a 4xx status: UIDAI processed the request and
+     * refused it, so it is returned as a failed response carrying UIDAI's status and
+     * error, the same as a 2xx body with success=false.
+     */
+    private static UidaiResponse rejected(UidaiResponse response) {
+        response.setSuccess(false);
+        return response;
+    }
+    
+    /**
+     * The deadline a batch runs under: the latest of its items' deadlines, so no item
+     * is cut short by another one's.
+     */
+    private static Deadline latestDeadline(List<? extends BatchItem<?>> items) {
+        Deadline latest = items.get(0).deadline();
+        for (BatchItem<?> item : items) {
+            if (!item.deadline().isBounded()) {
+                return item.deadline();
+            }
+            if (item.deadline().remainingNanos() > latest.remainingNanos()) {
+                latest = item.deadline();
+            }
+        }
+        return latest;
+    }
+    
+    /**
+     * Audits the outcome of an asynchronous call the same way as the blocking variants do.
+     *
+     * @return The response, or a failed response if UIDAI returned no body
+     * @throws UidaiServiceException if the call failed
+     */
+    private UidaiResponse completeCall(UidaiResponse response, Throwable failure,
+                                       String operation, String referenceNumber) {
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+            if (cause instanceof UidaiUnavailableException uidaiUnavailableException) {
+                auditService.logFailure("UIDAI call rejected", null, referenceNumber, cause.getMessage());
+                throw uidaiUnavailableException;
+            }
+            if (cause instanceof DeadlineExceededException deadlineExceededException) {
+                auditService.logFailure("UIDAI call abandoned", null, referenceNumber, cause.getMessage());
+                throw deadlineExceededException;
+            }
+            auditService.logFailure("UIDAI API call failed", null, referenceNumber, cause.getMessage());
+            logger.error("Error calling UIDAI API: {}", cause.getMessage(), cause);
+            if (cause instanceof UidaiServiceException uidaiServiceException) {
+                throw uidaiServiceException;
+            }
+            throw new UidaiServiceException("Failed to communicate with UIDAI: " + cause.getMessage(), cause);
+        }
+        
+        if (response != null && response.isSuccess()) {
+            auditService.logSuccess(operation + " successful", null, referenceNumber);
+            return response;
+        }
+        
+        String errorMessage = response != null ? response.getErrorMessage() : "No response from UIDAI";
+        auditService.logFailure(operation + " failed", null, referenceNumber, errorMessage);
+        return response != null ? response : new UidaiResponse(false, "No response from UIDAI", null);
+    }
+    
+    private byte[] encodeXml(XmlBodyWriter bodyWriter) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        bodyWriter.write(out);
+        return out.toByteArray();
+    }
+    
+    /**
+     * Waits for an asynchronous call on behalf of a blocking caller.
+     *
+     * @param call The call to wait for
+     * @return The result of the call
+     */
+    private UidaiResponse join(CompletableFuture<UidaiResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            
-            return response != null ? response : new UidaiResponse(false, "No response from UIDAI", null);
-        } catch (RestClientException rce) {
-            auditService.logFailure("UIDAI API call failed", null, referenceNumber, rce.getMessage());
-            logger.error("Error calling UIDAI API: {}", rce.getMessage(), rce);
-            throw new UidaiServiceException("Failed to communicate with UIDAI: " + rce.getMessage(), rce);
-        } catch (Exception e) {
-            auditService.logFailure("UIDAI integration error", null, referenceNumber, e.getMessage());
-            logger.error("Unexpected error during UIDAI integration: {}", e.getMessage(), e);
             throw new UidaiServiceException("Unexpected error during UIDAI integration: " + e.getMessage(), e);
         }
     }
     
+    @FunctionalInterface
+    private interface XmlBodyWriter {
+        void write(OutputStream out) throws XMLStreamException;
+    }
+    
+    @FunctionalInterface
+    private interface BatchBodyWriter<Q> {
+        byte[] write(String parentProcessId, List<Q> requests) throws IOException;
+    }
+    
+    @FunctionalInterface
+    private interface ResponseDecoder<B, T> {
+        T decode(URI uri, HttpResponse<B> response);
+    }
+    
+    /**
+     * A request queued for a batch, with the deadline of its caller.
+     */
+    private record BatchItem<Q>(Q request, Deadline deadline) {
+    }
+    
     /**
-     * Checks if the UIDAI service is available.
+     * Probes the health endpoint of every UIDAI gateway on the non-blocking client. The
+     * probes bypass the circuit breaker and retries, so they keep reporting UIDAI's own
+     * view of its health while eKYC calls are being rejected. A gateway that answers
+     * healthy is re-admitted by the load balancer if it was ejected.
      * 
-     * @return true if the service is available, false otherwise
+     * @param timeout Maximum time to wait for the responses
+     * @return future completed with true if any gateway returned a 2xx status and false
+     *         if all returned another status, or exceptionally if none could be reached
+     *         in time
      */
-    public boolean isServiceAvailable() {
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(
-                    uidaiConfig.getHealthCheckUrl(), 
-                    String.class);
-            return response.getStatusCode().is2xxSuccessful();
-        } catch (Exception e) {
-            logger.warn("UIDAI service health check failed: {}", e.getMessage());
-            return false;
+    public CompletableFuture<Boolean> checkHealthAsync(Duration timeout) {
+        List<UidaiEndpoint> endpoints = loadBalancer.getEndpoints();
+        if (endpoints.size() == 1) {
+            return checkHealthAsync(endpoints.get(0), timeout);
         }
+        
+        List<CompletableFuture<Boolean>> probes = endpoints.stream()
+                .map(endpoint -> checkHealthAsync(endpoint, timeout))
+                .toList();
+        return CompletableFuture.allOf(probes.stream()
+                        .map(probe -> probe.exceptionally(failure -> null))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    boolean anyReached = false;
+                    for (CompletableFuture<Boolean> probe : probes) {
+                        if (!probe.isCompletedExceptionally()) {
+                            anyReached = true;
+                            if (probe.join()) {
+                                return true;
+                            }
+                        }
+                    }
+                    if (!anyReached) {
+                        // Report the first gateway's error, as a single-gateway probe would
+                        probes.get(0).join();
+                    }
+                    return false;
+                });
+    }
+    
+    private CompletableFuture<Boolean> checkHealthAsync(UidaiEndpoint endpoint, Duration timeout) {
+        HttpRequest request = HttpRequest.newBuilder(endpoint.getHealthCheckUri())
+                .timeout(timeout)
+                .header("X-API-KEY", uidaiConfig.getApiKey())
+                .GET()
+                .build();
+        
+        return callGuard.executeProbeAsync(Deadline.after(timeout),
+                        () -> send(request, HttpResponse.BodyHandlers.discarding()))
+                .thenApply(response -> {
+                    boolean healthy = response.statusCode() >= 200 && response.statusCode() < 300;
+                    if (healthy) {
+                        loadBalancer.onHealthy(endpoint);
+                    }
+                    return healthy;
+                });
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.ekyc.util;
+
+import com.ekyc.config.EkycInitiationProperties;
+import org.apache.commons.codec.binary.Hex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Turns Aadhaar/VID numbers into HMAC-SHA256 keys for in-memory caches and maps, so no
+ * raw ID is held there. A plain hash would not do: the ID space is small enough to
+ * reverse an unkeyed hash by brute force.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class KeyedIdHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public KeyedIdHasher(EkycInitiationProperties properties) {
+        this(keyBytes(properties.getIdHashKey()));
+    }
+
+    KeyedIdHasher(byte[] keyBytes) {
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Hashes an ID number.
+     *
+     * @param idNumber The Aadhaar or VID number
+     * @return The hex-encoded keyed hash
+     */
+    public String hash(String idNumber) {
+        Mac mac = macs.get();
+        return Hex.encodeHexString(mac.doFinal(idNumber.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String configuredKey) {
+        if (configuredKey != null && !configuredKey.isEmpty()) {
+            return configuredKey.getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
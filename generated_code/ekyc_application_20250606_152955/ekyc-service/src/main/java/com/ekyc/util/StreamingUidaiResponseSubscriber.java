@@ -0,0 +1,245 @@
+package com.ekyc.util;
+
+import com.ekyc.exception.UidaiServiceException;
+import com.ekyc.model.UidaiResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Parses a JSON UIDAI response as its bytes arrive, without ever holding the whole body.
+ *
+ * Only {@code success}, {@code errorMessage} and the scalar attributes directly under
+ * {@code data} (status, reference and the like) are kept in the returned
+ * {@link UidaiResponse}. Object and array attributes under {@code data}, such as the
+ * KYC data with its photo and signed XML, are copied token by token to a sink as one
+ * JSON object keyed by attribute name, or skipped when there is no sink. Memory use is
+ * bounded by one network chunk, the parser's token buffer and the generator's output
+ * buffer, except for a single string token, which the parser always holds whole.
+ *
+ * Runs on the HTTP client's executor; the parser is non-blocking, so no thread waits
+ * for the next chunk.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+public class StreamingUidaiResponseSubscriber implements HttpResponse.BodySubscriber<UidaiResponse> {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final JsonFactory jsonFactory;
+    private final OutputStream sink;
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+    private final CompletableFuture<UidaiResponse> result = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private JsonGenerator generator;
+    private boolean empty = true;
+
+    private final UidaiResponse response = new UidaiResponse();
+    private int depth;
+    private boolean inData;
+    private boolean copying;
+    private String topField;
+    private String dataField;
+
+    /**
+     * @param jsonFactory Factory of the application's object mapper
+     * @param sink Receives the large attributes under {@code data}, or null to skip them.
+     *        Not closed by this subscriber
+     * @throws IOException if the parser cannot be created
+     */
+    StreamingUidaiResponseSubscriber(JsonFactory jsonFactory, OutputStream sink) throws IOException {
+        this.jsonFactory = jsonFactory;
+        this.parser = jsonFactory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.sink = sink;
+    }
+
+    @Override
+    public CompletionStage<UidaiResponse> getBody() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        try {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    int length = Math.min(buffer.remaining(), CHUNK_SIZE);
+                    buffer.get(chunk, 0, length);
+                    feeder.feedInput(chunk, 0, length);
+                    empty = false;
+                    drain();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            failProcessing(e);
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (generator != null) {
+            // Part of the KYC data already reached the sink, so the call must not be retried
+            result.completeExceptionally(new UidaiServiceException(
+                    "UIDAI response failed after KYC data was forwarded: " + throwable.getMessage(), throwable));
+        } else {
+            result.completeExceptionally(throwable);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            if (empty) {
+                result.complete(null);
+                return;
+            }
+            feeder.endOfInput();
+            drain();
+            if (depth != 0) {
+                throw new IOException("Unexpected end of UIDAI response");
+            }
+            if (generator != null) {
+                generator.writeEndObject();
+                generator.close();
+            }
+            result.complete(response);
+        } catch (IOException | RuntimeException e) {
+            failProcessing(e);
+        }
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (copying) {
+                copy(token);
+            } else {
+                handle(token);
+            }
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                if (depth == 1 && token != JsonToken.START_OBJECT) {
+                    throw new IOException("UIDAI response is not a JSON object");
+                } else if (depth == 2 && "data".equals(topField) && token == JsonToken.START_OBJECT) {
+                    inData = true;
+                    response.setData(new HashMap<>());
+                } else if (depth == 3 && inData) {
+                    startCopy();
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                if (depth == 1) {
+                    inData = false;
+                }
+            }
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    topField = parser.currentName();
+                } else if (depth == 2 && inData) {
+                    dataField = parser.currentName();
+                }
+            }
+            default -> {
+                if (depth == 1) {
+                    readTopLevelScalar(token);
+                } else if (depth == 2 && inData) {
+                    response.getData().put(dataField, scalarValue(token));
+                }
+            }
+        }
+    }
+
+    private void readTopLevelScalar(JsonToken token) throws IOException {
+        if ("success".equals(topField)) {
+            response.setSuccess(token == JsonToken.VALUE_TRUE
+                    || (token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText())));
+        } else if ("errorMessage".equals(topField)) {
+            response.setErrorMessage(token == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+        }
+    }
+
+    private Object scalarValue(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            default -> null;
+        };
+    }
+
+    /**
+     * Starts copying a large attribute: everything up to the matching end token goes to
+     * the sink, or is skipped without a sink.
+     */
+    private void startCopy() throws IOException {
+        copying = true;
+        if (sink == null) {
+            return;
+        }
+        if (generator == null) {
+            generator = jsonFactory.createGenerator(sink);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+        }
+        generator.writeFieldName(dataField);
+        generator.copyCurrentEvent(parser);
+    }
+
+    private void copy(JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            depth++;
+        } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            depth--;
+        }
+        if (generator != null) {
+            generator.copyCurrentEvent(parser);
+        }
+        if (depth == 2) {
+            copying = false;
+        }
+    }
+
+    /**
+     * Fails on a body that cannot be parsed or a sink that cannot be written. Neither is
+     * a transient UIDAI failure, so the call is not retried.
+     */
+    private void failProcessing(Exception e) {
+        result.completeExceptionally(new UidaiServiceException("Failed to read UIDAI response: " + e.getMessage(), e));
+    }
+}
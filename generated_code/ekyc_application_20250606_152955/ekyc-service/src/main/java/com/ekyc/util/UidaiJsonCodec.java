@@ -0,0 +1,152 @@
+package com.ekyc.util;
+
+import com.ekyc.dto.uidai.UidaiInitiateRequest;
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.model.UidaiBatchResponse;
+import com.ekyc.model.UidaiResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * JSON codec for the UIDAI API. The writers and the reader are bound to their types
+ * once at startup, so a call does not look up serializers or go through a
+ * {@code Map<String, Object>} on either side.
+ *
+ * {@link ObjectWriter} and {@link ObjectReader} are immutable, so one instance of this
+ * codec is shared by all calls.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiJsonCodec {
+
+    private final ObjectWriter initiateRequestWriter;
+    private final ObjectWriter verifyRequestWriter;
+    private final ObjectReader responseReader;
+    private final ObjectReader batchResponseReader;
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public UidaiJsonCodec(ObjectMapper objectMapper) {
+        this.initiateRequestWriter = objectMapper.writerFor(UidaiInitiateRequest.class);
+        this.verifyRequestWriter = objectMapper.writerFor(UidaiVerifyRequest.class);
+        this.responseReader = objectMapper.readerFor(UidaiResponse.class);
+        this.batchResponseReader = objectMapper.readerFor(UidaiBatchResponse.class);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Encodes an OTP initiation request.
+     *
+     * @param request The request to encode
+     * @return The UTF-8 JSON body
+     * @throws IOException if the request cannot be written
+     */
+    public byte[] writeInitiateRequest(UidaiInitiateRequest request) throws IOException {
+        return initiateRequestWriter.writeValueAsBytes(request);
+    }
+
+    /**
+     * Encodes an OTP verification request.
+     *
+     * @param request The request to encode
+     * @return The UTF-8 JSON body
+     * @throws IOException if the request cannot be written
+     */
+    public byte[] writeVerifyRequest(UidaiVerifyRequest request) throws IOException {
+        return verifyRequestWriter.writeValueAsBytes(request);
+    }
+
+    /**
+     * Decodes a response body.
+     *
+     * @param body The UTF-8 JSON body
+     * @return The parsed response
+     * @throws IOException if the body is not a valid response
+     */
+    public UidaiResponse readResponse(byte[] body) throws IOException {
+        return responseReader.readValue(body);
+    }
+
+    /**
+     * Encodes a batch of OTP initiation requests as
+     * {@code {"parentProcessId": "...", "items": [...]}}.
+     *
+     * @param parentProcessId Identifies the batch; UIDAI echoes it in the response
+     * @param requests The requests to encode, in the order their results are expected
+     * @return The UTF-8 JSON body
+     * @throws IOException if a request cannot be written
+     */
+    public byte[] writeInitiateBatch(String parentProcessId, List<UidaiInitiateRequest> requests) throws IOException {
+        return writeBatch(initiateRequestWriter, parentProcessId, requests);
+    }
+
+    /**
+     * Encodes a batch of OTP verification requests as
+     * {@code {"parentProcessId": "...", "items": [...]}}.
+     *
+     * @param parentProcessId Identifies the batch; UIDAI echoes it in the response
+     * @param requests The requests to encode, in the order their results are expected
+     * @return The UTF-8 JSON body
+     * @throws IOException if a request cannot be written
+     */
+    public byte[] writeVerifyBatch(String parentProcessId, List<UidaiVerifyRequest> requests) throws IOException {
+        return writeBatch(verifyRequestWriter, parentProcessId, requests);
+    }
+
+    /**
+     * Creates a body subscriber that decodes a response while it arrives, keeping only
+     * the small attributes and passing the large ones to a sink; see
+     * {@link StreamingUidaiResponseSubscriber}. A subscriber serves one response.
+     *
+     * @param sink Receives the large attributes under {@code data} as a JSON object, or
+     *        null to skip them
+     * @return The subscriber
+     * @throws IOException if the parser cannot be created
+     */
+    public HttpResponse.BodySubscriber<UidaiResponse> streamingResponseSubscriber(OutputStream sink) throws IOException {
+        return new StreamingUidaiResponseSubscriber(jsonFactory, sink);
+    }
+
+    /**
+     * Decodes a batch response body.
+     *
+     * @param body The UTF-8 JSON body
+     * @return The parsed per-item results
+     * @throws IOException if the body is not a valid batch response
+     */
+    public UidaiBatchResponse readBatchResponse(byte[] body) throws IOException {
+        return batchResponseReader.readValue(body);
+    }
+
+    /**
+     * Writes each item with the writer bound to its type, into one generator, so a
+     * batch costs no more per item than a single request.
+     */
+    private byte[] writeBatch(ObjectWriter itemWriter, String parentProcessId, List<?> items) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + 128 * items.size());
+        try (JsonGenerator generator = itemWriter.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("parentProcessId", parentProcessId);
+            generator.writeArrayFieldStart("items");
+            for (Object item : items) {
+                itemWriter.writeValue(generator, item);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+}
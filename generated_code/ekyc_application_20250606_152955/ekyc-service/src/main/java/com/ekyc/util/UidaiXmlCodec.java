@@ -0,0 +1,168 @@
+package com.ekyc.util;
+
+import com.ekyc.dto.uidai.UidaiInitiateRequest;
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiResponse;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streaming (StAX) codec for the Auth-API-style XML wire format of the UIDAI API.
+ * Requests are written straight to the HTTP request body and responses are parsed
+ * straight from the HTTP response body, without building a DOM or an intermediate
+ * byte array.
+ *
+ * Digital signing and encryption of the payload are not handled here.
+ *
+ * @author eKYC Team
+ * @version 1.0.0
+ */
+@Component
+public class UidaiXmlCodec {
+
+    /**
+     * Auth API version sent on every request.
+     */
+    public static final String API_VERSION = "2.5";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    /**
+     * Writes an OTP initiation request.
+     *
+     * @param out The stream to write to
+     * @param request The request to write
+     * @throws XMLStreamException if the request cannot be written
+     */
+    public void writeInitiateRequest(OutputStream out, UidaiInitiateRequest request) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("Otp");
+            writeIdentityAttributes(writer, request.idNumber(), request.idType());
+            writer.writeEmptyElement("Consent");
+            writer.writeAttribute("identity", flag(request.identityVerificationConsent()));
+            writer.writeAttribute("mobileEmail", flag(request.mobileEmailConsent()));
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes an OTP verification request.
+     *
+     * @param out The stream to write to
+     * @param request The request to write
+     * @throws XMLStreamException if the request cannot be written
+     */
+    public void writeVerifyRequest(OutputStream out, UidaiVerifyRequest request) throws XMLStreamException {
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        try {
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement("Auth");
+            writeIdentityAttributes(writer, request.idNumber(), request.idType());
+            writer.writeAttribute("refId", request.referenceNumber());
+            writer.writeEmptyElement("Uses");
+            writer.writeAttribute("otp", "y");
+            writer.writeEmptyElement("Pv");
+            writer.writeAttribute("otp", request.otp());
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Reads an {@code OtpRes} or {@code AuthRes} response.
+     *
+     * @param in The stream to read from
+     * @return The parsed response
+     * @throws XMLStreamException if the response is not well-formed
+     */
+    public UidaiResponse readResponse(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(in, StandardCharsets.UTF_8.name());
+        try {
+            boolean success = false;
+            String errorMessage = null;
+            Map<String, Object> data = new HashMap<>();
+
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "OtpRes", "AuthRes" -> {
+                        success = "y".equals(reader.getAttributeValue(null, "ret"));
+                        errorMessage = reader.getAttributeValue(null, "err");
+                        putIfPresent(data, "status", reader.getAttributeValue(null, "status"));
+                        putIfPresent(data, "referenceId", reader.getAttributeValue(null, "code"));
+                        putIfPresent(data, "timestamp", reader.getAttributeValue(null, "ts"));
+                    }
+                    case "Poi" -> {
+                        putIfPresent(data, "name", reader.getAttributeValue(null, "name"));
+                        putIfPresent(data, "dob", reader.getAttributeValue(null, "dob"));
+                        putIfPresent(data, "gender", reader.getAttributeValue(null, "gender"));
+                    }
+                    case "Poa" -> putIfPresent(data, "address", reader.getAttributeValue(null, "addr"));
+                    case "Contact" -> {
+                        putIfPresent(data, "maskedMobile", reader.getAttributeValue(null, "mobile"));
+                        putIfPresent(data, "maskedEmail", reader.getAttributeValue(null, "email"));
+                    }
+                    case "Pht" -> data.put("photo", reader.getElementText());
+                    default -> {
+                        // Elements the service does not use are skipped
+                    }
+                }
+            }
+
+            return new UidaiResponse(success, errorMessage, data);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void writeIdentityAttributes(XMLStreamWriter writer, String idNumber, IdType idType)
+            throws XMLStreamException {
+        writer.writeAttribute("uid", idNumber);
+        writer.writeAttribute("type", idType == IdType.VID ? "V" : "A");
+        writer.writeAttribute("txn", "TXN" + UUID.randomUUID().toString().replace("-", ""));
+        writer.writeAttribute("ver", API_VERSION);
+    }
+
+    private static String flag(boolean value) {
+        return value ? "y" : "n";
+    }
+
+    private static void putIfPresent(Map<String, Object> data, String key, String value) {
+        if (value != null) {
+            data.put(key, value);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Never resolve DTDs or external entities from upstream responses
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
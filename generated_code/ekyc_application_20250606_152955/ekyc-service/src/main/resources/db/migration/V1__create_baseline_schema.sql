@@ -0,0 +1,83 @@
+-- Baseline schema of the eKYC requests, OTP verifications and audit log, matching the
+-- JPA entities. IF NOT EXISTS lets a database whose tables were created by Hibernate
+-- before migrations were introduced adopt this version unchanged.
+CREATE TABLE IF NOT EXISTS ekyc_requests (
+    id                            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    identity_number               VARCHAR(255) NOT NULL,
+    id_type                       VARCHAR(10)  NOT NULL,
+    identity_verification_consent BOOLEAN      NOT NULL,
+    mobile_email_consent          VARCHAR(3)   NOT NULL,
+    session_id                    VARCHAR(100) NOT NULL,
+    parent_process_id             VARCHAR(100),
+    reference_number              VARCHAR(36)  NOT NULL UNIQUE,
+    status                        VARCHAR(20)  NOT NULL,
+    error_code                    VARCHAR(50),
+    error_message                 VARCHAR(500),
+    external_reference_id         VARCHAR(100),
+    verification_completed_at     TIMESTAMP,
+    expiry_time                   TIMESTAMP,
+    created_at                    TIMESTAMP    NOT NULL,
+    updated_at                    TIMESTAMP,
+    created_by                    VARCHAR(50),
+    updated_by                    VARCHAR(50),
+    version                       INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS idx_ekyc_request_reference_number ON ekyc_requests (reference_number);
+CREATE INDEX IF NOT EXISTS idx_ekyc_request_session_id ON ekyc_requests (session_id);
+CREATE INDEX IF NOT EXISTS idx_ekyc_request_status ON ekyc_requests (status);
+CREATE INDEX IF NOT EXISTS idx_ekyc_request_created_at ON ekyc_requests (created_at);
+
+CREATE TABLE IF NOT EXISTS otp_verifications (
+    id                        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reference_number          VARCHAR(36)  NOT NULL UNIQUE,
+    otp_hash                  VARCHAR(255),
+    status                    VARCHAR(20)  NOT NULL,
+    failure_reason            VARCHAR(30),
+    verification_completed_at TIMESTAMP,
+    expiry_time               TIMESTAMP,
+    attempt_count             INTEGER,
+    external_transaction_id   VARCHAR(100),
+    response_hash             VARCHAR(255),
+    ekyc_request_id           BIGINT       NOT NULL REFERENCES ekyc_requests (id),
+    created_at                TIMESTAMP    NOT NULL,
+    updated_at                TIMESTAMP,
+    created_by                VARCHAR(50),
+    updated_by                VARCHAR(50),
+    version                   INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS idx_otp_verification_reference_number ON otp_verifications (reference_number);
+CREATE INDEX IF NOT EXISTS idx_otp_verification_ekyc_request_id ON otp_verifications (ekyc_request_id);
+CREATE INDEX IF NOT EXISTS idx_otp_verification_status ON otp_verifications (status);
+CREATE INDEX IF NOT EXISTS idx_otp_verification_created_at ON otp_verifications (created_at);
+
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type  VARCHAR(20)   NOT NULL,
+    entity_type VARCHAR(100)  NOT NULL,
+    entity_id   VARCHAR(100),
+    user_id     VARCHAR(100)  NOT NULL,
+    timestamp   TIMESTAMP     NOT NULL,
+    session_id  VARCHAR(100),
+    ip_address  VARCHAR(50),
+    user_agent  VARCHAR(500),
+    request_id  VARCHAR(100),
+    action      VARCHAR(200),
+    status      VARCHAR(50),
+    details     VARCHAR(4000),
+    old_value   VARCHAR(4000),
+    new_value   VARCHAR(4000),
+    created_at  TIMESTAMP     NOT NULL,
+    updated_at  TIMESTAMP,
+    created_by  VARCHAR(50),
+    updated_by  VARCHAR(50),
+    version     INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_event_type ON audit_logs (event_type);
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity_type ON audit_logs (entity_type);
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity_id ON audit_logs (entity_id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_user_id ON audit_logs (user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_timestamp ON audit_logs (timestamp);
+CREATE INDEX IF NOT EXISTS idx_audit_log_session_id ON audit_logs (session_id);
@@ -0,0 +1,18 @@
+-- Responses stored for Idempotency-Key requests to POST /initiate and /verify-otp.
+-- A row is claimed IN_PROGRESS by one execution (owner_token) until locked_until,
+-- then holds the COMPLETED response until expires_at.
+CREATE TABLE idempotency_records (
+    record_key          VARCHAR(64)  NOT NULL PRIMARY KEY,
+    operation           VARCHAR(32)  NOT NULL,
+    request_fingerprint VARCHAR(64)  NOT NULL,
+    state               VARCHAR(16)  NOT NULL,
+    owner_token         VARCHAR(36),
+    response_status     INTEGER,
+    response_location   VARCHAR(512),
+    response_body       TEXT,
+    created_at          TIMESTAMP    NOT NULL,
+    locked_until        TIMESTAMP    NOT NULL,
+    expires_at          TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_idempotency_records_expires_at ON idempotency_records (expires_at);
@@ -0,0 +1,115 @@
+package com.ekyc.benchmark;
+
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiResponse;
+import com.ekyc.util.UidaiJsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call JSON cost of the UIDAI OTP verification call before and after
+ * the move to typed codecs: a fresh {@code HashMap} body written by a plain
+ * {@link ObjectMapper} and a response read into a raw {@code Map} and cast field by
+ * field, against the typed request record and the pre-bound writer and reader of
+ * {@link UidaiJsonCodec}.
+ *
+ * Runs with the GC profiler, so {@code gc.alloc.rate.norm} reports the bytes allocated
+ * per call next to the time per call.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ekyc.benchmark.UidaiJsonCodecBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UidaiJsonCodecBenchmark {
+
+    private static final String ID_NUMBER = "123456789012";
+    private static final String OTP = "123456";
+    private static final String REFERENCE = "REF1234567890";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UidaiJsonCodec codec = new UidaiJsonCodec(objectMapper);
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() throws Exception {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", "VERIFIED");
+        data.put("referenceId", REFERENCE);
+        data.put("timestamp", "2025-05-23T10:01:00Z");
+        data.put("name", "Ravi Kumar");
+        data.put("dob", "1987-01-01");
+        data.put("gender", "M");
+        data.put("address", "123 Main Street, Bangalore, Karnataka, 560001");
+        data.put("maskedMobile", "98XXXX1234");
+        data.put("maskedEmail", "ra***@gmail.com");
+        response = objectMapper.writeValueAsBytes(new UidaiResponse(true, null, data));
+    }
+
+    @Benchmark
+    public byte[] encodeVerifyRequestMap() throws Exception {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("idNumber", ID_NUMBER);
+        requestBody.put("idType", IdType.AADHAAR.toString());
+        requestBody.put("otp", OTP);
+        requestBody.put("referenceNumber", REFERENCE);
+        return objectMapper.writeValueAsBytes(requestBody);
+    }
+
+    @Benchmark
+    public byte[] encodeVerifyRequestTyped() throws Exception {
+        return codec.writeVerifyRequest(new UidaiVerifyRequest(ID_NUMBER, IdType.AADHAAR, OTP, REFERENCE));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void decodeVerifyResponseMap(Blackhole blackhole) throws Exception {
+        Map<String, Object> body = objectMapper.readValue(response, Map.class);
+        Map<String, Object> data = (Map<String, Object>) body.get("data");
+        blackhole.consume((Boolean) body.get("success"));
+        blackhole.consume((String) body.get("errorMessage"));
+        blackhole.consume((String) data.get("status"));
+        blackhole.consume((String) data.get("referenceId"));
+    }
+
+    @Benchmark
+    public void decodeVerifyResponseTyped(Blackhole blackhole) throws Exception {
+        UidaiResponse decoded = codec.readResponse(response);
+        blackhole.consume(decoded.isSuccess());
+        blackhole.consume(decoded.getErrorMessage());
+        blackhole.consume(decoded.getData().get("status"));
+        blackhole.consume(decoded.getData().get("referenceId"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UidaiJsonCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
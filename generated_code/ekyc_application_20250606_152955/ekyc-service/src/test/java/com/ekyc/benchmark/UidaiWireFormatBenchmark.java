@@ -0,0 +1,113 @@
+package com.ekyc.benchmark;
+
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiResponse;
+import com.ekyc.util.UidaiJsonCodec;
+import com.ekyc.util.UidaiXmlCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encode and decode cost of the JSON and XML wire formats for the UIDAI
+ * OTP verification call, using a response that carries KYC data and a photo.
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ekyc.benchmark.UidaiWireFormatBenchmark}, or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UidaiWireFormatBenchmark {
+
+    private static final String ID_NUMBER = "123456789012";
+    private static final String OTP = "123456";
+    private static final String REFERENCE = "REF1234567890";
+    private static final UidaiVerifyRequest VERIFY_REQUEST =
+            new UidaiVerifyRequest(ID_NUMBER, IdType.AADHAAR, OTP, REFERENCE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UidaiJsonCodec jsonCodec = new UidaiJsonCodec(objectMapper);
+    private final UidaiXmlCodec xmlCodec = new UidaiXmlCodec();
+
+    private byte[] jsonResponse;
+    private byte[] xmlResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] photo = new byte[3 * 1024];
+        new Random(42).nextBytes(photo);
+        String encodedPhoto = Base64.getEncoder().encodeToString(photo);
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("status", "VERIFIED");
+        data.put("name", "Ravi Kumar");
+        data.put("dob", "1987-01-01");
+        data.put("gender", "M");
+        data.put("address", "123 Main Street, Bangalore, Karnataka, 560001");
+        data.put("maskedMobile", "98XXXX1234");
+        data.put("maskedEmail", "ra***@gmail.com");
+        data.put("photo", encodedPhoto);
+        jsonResponse = objectMapper.writeValueAsBytes(new UidaiResponse(true, null, data));
+
+        xmlResponse = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<AuthRes ret=\"y\" status=\"VERIFIED\" ts=\"2025-05-23T10:01:00Z\"><KycRes>"
+                + "<Poi name=\"Ravi Kumar\" dob=\"1987-01-01\" gender=\"M\"/>"
+                + "<Poa addr=\"123 Main Street, Bangalore, Karnataka, 560001\"/>"
+                + "<Contact mobile=\"98XXXX1234\" email=\"ra***@gmail.com\"/>"
+                + "<Pht>" + encodedPhoto + "</Pht>"
+                + "</KycRes></AuthRes>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeVerifyRequestJson() throws Exception {
+        return jsonCodec.writeVerifyRequest(VERIFY_REQUEST);
+    }
+
+    @Benchmark
+    public byte[] encodeVerifyRequestXml() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        xmlCodec.writeVerifyRequest(out, VERIFY_REQUEST);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public UidaiResponse decodeVerifyResponseJson() throws Exception {
+        return jsonCodec.readResponse(jsonResponse);
+    }
+
+    @Benchmark
+    public UidaiResponse decodeVerifyResponseXml() throws Exception {
+        return xmlCodec.readResponse(new ByteArrayInputStream(xmlResponse));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UidaiWireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ekyc.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+
+    private long now;
+
+    @Test
+    @DisplayName("Should return a cached value until it expires")
+    void shouldExpireEntries() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 3, () -> now);
+        cache.put("a", "OTP generation failed");
+
+        now += TimeUnit.MILLISECONDS.toNanos(999);
+        assertEquals("OTP generation failed", cache.get("a"));
+
+        now += TimeUnit.MILLISECONDS.toNanos(1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 3, () -> now);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("a");
+
+        cache.put("d", "4");
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("4", cache.get("d"));
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries before evicting live ones")
+    void shouldPurgeExpiredBeforeEvicting() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 3, () -> now);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        now += TimeUnit.MILLISECONDS.toNanos(600);
+        cache.put("c", "3");
+        now += TimeUnit.MILLISECONDS.toNanos(600);
+
+        cache.put("d", "4");
+        cache.put("e", "5");
+
+        assertEquals(3, cache.size());
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    @DisplayName("Should forget an invalidated entry")
+    void shouldInvalidate() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 3, () -> now);
+        cache.put("a", "1");
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive size bound")
+    void shouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringCache<String>("test", 1000, 0));
+    }
+
+    @Test
+    @DisplayName("Should expire an entry written with its own TTL independently of the default")
+    void shouldHonourPerEntryTtl() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 10, () -> now);
+        cache.put("short", "1", 100);
+        cache.put("default", "2");
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertNull(cache.get("short"));
+        assertEquals("2", cache.get("default"));
+    }
+
+    @Test
+    @DisplayName("Should report the share of lookups that hit")
+    void shouldReportHitRatio() {
+        ExpiringCache<String> cache = new ExpiringCache<>("test", 1000, 10, () -> now);
+        assertEquals(0.0, cache.hitRatio());
+
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        assertEquals(0.75, cache.hitRatio());
+    }
+}
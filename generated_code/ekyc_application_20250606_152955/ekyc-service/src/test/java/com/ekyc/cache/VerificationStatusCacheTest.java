@@ -0,0 +1,96 @@
+package com.ekyc.cache;
+
+import com.ekyc.config.EkycStatusCacheProperties;
+import com.ekyc.model.EkycResponse;
+import com.ekyc.model.VerificationStatus;
+import com.ekyc.model.VerificationStatusChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationStatusCacheTest {
+
+    private VerificationStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        EkycStatusCacheProperties properties = new EkycStatusCacheProperties();
+        properties.setMaxEntries(2);
+        cache = new VerificationStatusCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should cache a loaded snapshot")
+    void shouldCacheLoadedSnapshot() {
+        long stamp = cache.stamp("REF-1");
+        cache.put(snapshot("REF-1", VerificationStatus.IN_PROGRESS), stamp);
+
+        assertEquals(VerificationStatus.IN_PROGRESS, cache.get("REF-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should drop the snapshot of a request whose status changed")
+    void shouldInvalidateOnStatusChange() {
+        cache.put(snapshot("REF-1", VerificationStatus.IN_PROGRESS), cache.stamp("REF-1"));
+
+        cache.onStatusChanged(new VerificationStatusChangedEvent("REF-1", VerificationStatus.VERIFYING));
+
+        assertNull(cache.get("REF-1"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a snapshot loaded before its request changed")
+    void shouldDropSnapshotLoadedBeforeChange() {
+        long stamp = cache.stamp("REF-1");
+
+        cache.onStatusChanged(new VerificationStatusChangedEvent("REF-1", VerificationStatus.VERIFIED));
+        cache.put(snapshot("REF-1", VerificationStatus.VERIFYING), stamp);
+
+        assertNull(cache.get("REF-1"));
+    }
+
+    @Test
+    @DisplayName("Should cache a snapshot when only another request changed during its load")
+    void shouldKeepSnapshotWhenOtherRequestChanged() {
+        long stamp = cache.stamp("REF-1");
+        cache.stamp("REF-2");
+
+        cache.onStatusChanged(new VerificationStatusChangedEvent("REF-2", VerificationStatus.FAILED));
+        cache.put(snapshot("REF-1", VerificationStatus.IN_PROGRESS), stamp);
+
+        assertEquals(VerificationStatus.IN_PROGRESS, cache.get("REF-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should cache a snapshot loaded after the change")
+    void shouldCacheSnapshotLoadedAfterChange() {
+        cache.stamp("REF-1");
+        cache.onStatusChanged(new VerificationStatusChangedEvent("REF-1", VerificationStatus.VERIFIED));
+
+        long stamp = cache.stamp("REF-1");
+        cache.put(snapshot("REF-1", VerificationStatus.VERIFIED), stamp);
+
+        assertEquals(VerificationStatus.VERIFIED, cache.get("REF-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not cache a snapshot whose stamp was evicted")
+    void shouldDropSnapshotWithEvictedStamp() {
+        long stamp = cache.stamp("REF-1");
+        cache.stamp("REF-2");
+        cache.stamp("REF-3");
+
+        // The change to REF-1 is no longer tracked, so its load cannot be trusted
+        cache.onStatusChanged(new VerificationStatusChangedEvent("REF-1", VerificationStatus.VERIFIED));
+        cache.put(snapshot("REF-1", VerificationStatus.VERIFYING), stamp);
+
+        assertNull(cache.get("REF-1"));
+    }
+
+    private EkycResponse snapshot(String referenceNumber, VerificationStatus status) {
+        return new EkycResponse(referenceNumber, status, status.name(), null);
+    }
+}
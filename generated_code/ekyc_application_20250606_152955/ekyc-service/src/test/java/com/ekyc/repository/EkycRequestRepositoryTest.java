@@ -0,0 +1,108 @@
+package com.ekyc.repository;
+
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.VerificationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class EkycRequestRepositoryTest {
+
+    @Autowired
+    private EkycRequestRepository ekycRequestRepository;
+
+    private String referenceNumber;
+
+    @BeforeEach
+    void setUp() {
+        EkycRequest request = new EkycRequest();
+        request.setIdentityNumber("123456789012");
+        request.setIdType(EkycRequest.IdType.AADHAAR);
+        request.setIdentityVerificationConsent(true);
+        request.setMobileEmailConsent(EkycRequest.ConsentStatus.YES);
+        request.setSessionId("session-cas");
+        referenceNumber = ekycRequestRepository.saveAndFlush(request).getReferenceNumber();
+    }
+
+    @Test
+    @DisplayName("Should move a request that is in the expected status")
+    void testCompareAndSetStatus_ExpectedStatus() {
+        // Given
+        Integer version = load().getVersion();
+
+        // When
+        int changed = ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                VerificationStatus.INITIATED, VerificationStatus.IN_PROGRESS, null, LocalDateTime.now());
+
+        // Then
+        assertEquals(1, changed);
+        EkycRequest moved = load();
+        assertEquals(VerificationStatus.IN_PROGRESS, moved.getStatus());
+        assertEquals(version + 1, moved.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should leave a request that is no longer in the expected status")
+    void testCompareAndSetStatus_UnexpectedStatus() {
+        // Given
+        ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                VerificationStatus.INITIATED, VerificationStatus.IN_PROGRESS, null, LocalDateTime.now());
+        Integer version = load().getVersion();
+
+        // When
+        int changed = ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                VerificationStatus.INITIATED, VerificationStatus.FAILED, "too late", LocalDateTime.now());
+
+        // Then
+        assertEquals(0, changed);
+        EkycRequest unchanged = load();
+        assertEquals(VerificationStatus.IN_PROGRESS, unchanged.getStatus());
+        assertNull(unchanged.getErrorMessage());
+        assertEquals(version, unchanged.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should store the failure reason with the new status")
+    void testCompareAndSetStatus_FailureReason() {
+        // When
+        ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                VerificationStatus.INITIATED, VerificationStatus.FAILED, "OTP generation failed", LocalDateTime.now());
+
+        // Then
+        EkycRequest failed = load();
+        assertEquals(VerificationStatus.FAILED, failed.getStatus());
+        assertEquals("OTP generation failed", failed.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should refuse to save a copy loaded before a status change")
+    void testCompareAndSetStatus_StaleCopyNotSaved() {
+        // Given
+        EkycRequest stale = load();
+        ekycRequestRepository.compareAndSetStatus(referenceNumber,
+                VerificationStatus.INITIATED, VerificationStatus.FAILED, "OTP generation failed", LocalDateTime.now());
+
+        // When
+        stale.setStatus(VerificationStatus.VERIFIED);
+
+        // Then
+        assertThrows(OptimisticLockingFailureException.class, () -> ekycRequestRepository.saveAndFlush(stale));
+        assertEquals(VerificationStatus.FAILED, load().getStatus());
+    }
+
+    private EkycRequest load() {
+        return ekycRequestRepository.findByReferenceNumber(referenceNumber).orElseThrow();
+    }
+}
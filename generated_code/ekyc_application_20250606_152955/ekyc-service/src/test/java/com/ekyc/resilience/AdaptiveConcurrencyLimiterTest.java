@@ -0,0 +1,100 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_MS = 100;
+
+    private AtomicLong clock;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        // initial 10, bounds 2..100, tolerance 1.5, no smoothing, 100 ms windows of at least 5 samples
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 1.5, 1.0, WINDOW_MS, 5, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should reject calls over the current limit")
+    void shouldRejectOverLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency stays flat under full load")
+    void shouldGrowWithFlatLatency() {
+        for (int window = 0; window < 5; window++) {
+            runSaturatedWindow(50);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+        assertEquals(50.0, limiter.getShortRttMs(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit when demand stays well below it")
+    void shouldNotGrowWhenApplicationLimited() {
+        for (int window = 0; window < 5; window++) {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(limiter.tryAcquire());
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS / 5));
+                limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(50));
+            }
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should cut the limit when latency rises")
+    void shouldShrinkWhenLatencyRises() {
+        for (int window = 0; window < 5; window++) {
+            runSaturatedWindow(50);
+        }
+        int grownLimit = limiter.getLimit();
+
+        runSaturatedWindow(400);
+
+        assertTrue(limiter.getLimit() < grownLimit,
+                "limit " + limiter.getLimit() + " should be below " + grownLimit);
+    }
+
+    @Test
+    @DisplayName("Should back off after a dropped call")
+    void shouldBackOffOnDrop() {
+        assertTrue(limiter.tryAcquire());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS));
+        limiter.onDropped();
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    private void runSaturatedWindow(long rttMs) {
+        int limit = limiter.getLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < limit - 1; i++) {
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(rttMs));
+        }
+        // The last completion closes the window over all of this round's samples
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(WINDOW_MS));
+        limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(rttMs));
+    }
+}
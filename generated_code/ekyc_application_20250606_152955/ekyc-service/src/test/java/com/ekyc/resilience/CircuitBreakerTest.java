@@ -0,0 +1,146 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private AtomicLong clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        // window 10, minimum 5 calls, open at 50% failures or 80% slow calls,
+        // slow from 100 ms, open for 1 s, 2 trial calls
+        circuitBreaker = new CircuitBreaker(10, 5, 50, 80, 100, 1000, 2, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the minimum number of calls is recorded")
+    void shouldStayClosedBelowMinimumCalls() {
+        recordFailures(4);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    @DisplayName("Should open when the failure rate reaches the threshold")
+    void shouldOpenOnFailureRate() {
+        recordFailures(3);
+        recordSuccesses(2);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should open when the slow-call rate reaches the threshold")
+    void shouldOpenOnSlowCallRate() {
+        recordSuccesses(1);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess(acquire(), SLOW);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should forget outcomes that leave the sliding window")
+    void shouldEvictOldOutcomes() {
+        recordFailures(2);
+        recordSuccesses(18);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0f, circuitBreaker.getFailureRate());
+    }
+
+    @Test
+    @DisplayName("Should close after successful trial calls")
+    void shouldCloseAfterSuccessfulTrials() {
+        recordFailures(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        long first = acquire();
+        long second = acquire();
+        assertEquals(CircuitBreaker.NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess(first, FAST);
+        circuitBreaker.onSuccess(second, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reopen when trial calls fail")
+    void shouldReopenAfterFailedTrials() {
+        recordFailures(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        long first = acquire();
+        long second = acquire();
+        circuitBreaker.onFailure(first, FAST);
+        circuitBreaker.onSuccess(second, FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("Should return a trial permission that was not used")
+    void shouldReleaseUnusedTrialPermission() {
+        recordFailures(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        acquire();
+        circuitBreaker.releasePermission(acquire());
+
+        acquire();
+    }
+
+    @Test
+    @DisplayName("Should not count a call admitted while closed as a trial call")
+    void shouldIgnoreOutcomeFromEarlierState() {
+        long admittedWhileClosed = acquire();
+        recordFailures(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        long first = acquire();
+        long second = acquire();
+        circuitBreaker.onFailure(admittedWhileClosed, FAST);
+
+        assertEquals(CircuitBreaker.NO_PERMISSION, circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onSuccess(first, FAST);
+        circuitBreaker.onSuccess(second, FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private long acquire() {
+        long permission = circuitBreaker.tryAcquirePermission();
+        assertNotEquals(CircuitBreaker.NO_PERMISSION, permission);
+        return permission;
+    }
+
+    private void recordFailures(int count) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.onFailure(acquire(), FAST);
+        }
+    }
+
+    private void recordSuccesses(int count) {
+        for (int i = 0; i < count; i++) {
+            circuitBreaker.onSuccess(acquire(), FAST);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineTest {
+
+    private long now;
+
+    @Test
+    @DisplayName("Should count down the remaining time and expire")
+    void shouldExpire() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(100), () -> now);
+        assertFalse(deadline.isExpired());
+
+        now += TimeUnit.MILLISECONDS.toNanos(60);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40), deadline.remainingNanos());
+
+        now += TimeUnit.MILLISECONDS.toNanos(40);
+        assertTrue(deadline.isExpired());
+    }
+
+    @Test
+    @DisplayName("Should cap a timeout to the remaining time")
+    void shouldCapTimeout() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(100), () -> now);
+
+        assertEquals(Duration.ofMillis(50), deadline.cap(Duration.ofMillis(50)));
+        assertEquals(Duration.ofMillis(100), deadline.cap(Duration.ofSeconds(5)));
+
+        now += TimeUnit.MILLISECONDS.toNanos(150);
+        assertTrue(deadline.cap(Duration.ofSeconds(5)).isZero());
+    }
+
+    @Test
+    @DisplayName("Should never expire or cap without a deadline")
+    void shouldNotBoundNone() {
+        Deadline deadline = Deadline.none();
+
+        assertFalse(deadline.isBounded());
+        assertFalse(deadline.isExpired());
+        assertEquals(Duration.ofSeconds(5), deadline.cap(Duration.ofSeconds(5)));
+    }
+}
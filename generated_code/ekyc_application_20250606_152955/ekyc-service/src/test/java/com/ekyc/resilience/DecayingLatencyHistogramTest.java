@@ -0,0 +1,69 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecayingLatencyHistogramTest {
+
+    private long now;
+    private DecayingLatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        histogram = new DecayingLatencyHistogram(1000, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should report -1 before anything is recorded")
+    void shouldReportNothingWhenEmpty() {
+        assertEquals(-1, histogram.quantileNanos(0.99));
+    }
+
+    @Test
+    @DisplayName("Should estimate quantiles within one bucket width")
+    void shouldEstimateQuantiles() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i * 10));
+        }
+
+        assertWithinBucket(500, histogram.quantileNanos(0.5));
+        assertWithinBucket(990, histogram.quantileNanos(0.99));
+        assertWithinBucket(1000, histogram.quantileNanos(1.0));
+    }
+
+    @Test
+    @DisplayName("Should let recent latencies outweigh old ones")
+    void shouldDecayOldLatencies() {
+        for (int i = 0; i < 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        now += TimeUnit.SECONDS.toNanos(5);
+        assertEquals(100 / 32.0, histogram.weight(), 0.01);
+
+        for (int i = 0; i < 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(2000));
+        }
+        assertWithinBucket(2000, histogram.quantileNanos(0.9));
+    }
+
+    @Test
+    @DisplayName("Should put sub-millisecond latencies in the first bucket")
+    void shouldClampSmallLatencies() {
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(200));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), histogram.quantileNanos(0.5));
+    }
+
+    private void assertWithinBucket(long expectedMs, long actualNanos) {
+        double actualMs = actualNanos / 1_000_000d;
+        assertTrue(actualMs >= expectedMs && actualMs <= expectedMs * 1.1,
+                "Expected about " + expectedMs + " ms but was " + actualMs + " ms");
+    }
+}
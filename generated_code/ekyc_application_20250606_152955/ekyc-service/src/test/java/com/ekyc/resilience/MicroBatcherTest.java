@@ -0,0 +1,133 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    private List<List<Integer>> sentBatches;
+    private List<CompletableFuture<List<String>>> calls;
+
+    @BeforeEach
+    void setUp() {
+        sentBatches = new CopyOnWriteArrayList<>();
+        calls = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should send a batch as soon as it is full")
+    void shouldSendFullBatch() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 3, 60_000, this::recordBatch);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        assertTrue(sentBatches.isEmpty());
+        assertEquals(2, batcher.getPendingCount());
+
+        CompletableFuture<String> third = batcher.submit(3);
+        assertEquals(List.of(List.of(1, 2, 3)), sentBatches);
+        assertEquals(0, batcher.getPendingCount());
+
+        calls.get(0).complete(List.of("a", "b", "c"));
+        assertEquals("a", first.get(1, TimeUnit.SECONDS));
+        assertEquals("b", second.get(1, TimeUnit.SECONDS));
+        assertEquals("c", third.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should send a partial batch once its delay runs out")
+    void shouldSendPartialBatchAfterDelay() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 10, 20, this::answerBatch);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertEquals("r1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("r2", second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of(1, 2)), sentBatches);
+    }
+
+    @Test
+    @DisplayName("Should not send a full batch again when its delay runs out")
+    void shouldNotResendFullBatch() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 2, 10, this::answerBatch);
+
+        batcher.submit(1);
+        batcher.submit(2).get(1, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        assertEquals(List.of(List.of(1, 2)), sentBatches);
+    }
+
+    @Test
+    @DisplayName("Should fail every item of a failed batch")
+    void shouldFailAllItemsOnBatchFailure() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 2, 60_000, this::recordBatch);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        calls.get(0).completeExceptionally(new IllegalStateException("boom"));
+
+        assertFailedWith(first, IllegalStateException.class);
+        assertFailedWith(second, IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail every item when the sender answers the wrong number of results")
+    void shouldFailOnResultCountMismatch() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 2, 60_000, this::recordBatch);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        batcher.submit(2);
+        calls.get(0).complete(List.of("only one"));
+
+        assertFailedWith(first, IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch when the sender throws")
+    void shouldFailWhenSenderThrows() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", 1, 60_000, items -> {
+            throw new IllegalArgumentException("rejected");
+        });
+
+        assertFailedWith(batcher.submit(1), IllegalArgumentException.class);
+    }
+
+    private CompletableFuture<List<String>> recordBatch(List<Integer> items) {
+        sentBatches.add(items);
+        CompletableFuture<List<String>> call = new CompletableFuture<>();
+        calls.add(call);
+        return call;
+    }
+
+    private CompletableFuture<List<String>> answerBatch(List<Integer> items) {
+        sentBatches.add(items);
+        List<String> results = new ArrayList<>();
+        for (Integer item : items) {
+            results.add("r" + item);
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+
+    private void assertFailedWith(CompletableFuture<?> future, Class<? extends Throwable> type) {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Expected the future to fail");
+        } catch (ExecutionException e) {
+            assertTrue(type.isInstance(e.getCause()), "Unexpected failure: " + e.getCause());
+        } catch (Exception e) {
+            fail("Unexpected exception: " + e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ekyc.resilience;
+
+import com.ekyc.enums.UidaiCallPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityCallQueueTest {
+
+    private static final Map<UidaiCallPriority, Integer> CAPACITIES = Map.of(
+            UidaiCallPriority.VERIFY, 10,
+            UidaiCallPriority.INITIATE, 10,
+            UidaiCallPriority.HEALTH, 2);
+
+    @Test
+    @DisplayName("Should serve higher classes first and each class in arrival order")
+    void shouldServeByPriorityThenFifo() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 1000, 4);
+        queue.offer(UidaiCallPriority.HEALTH, "h1", 0);
+        queue.offer(UidaiCallPriority.INITIATE, "i1", 0);
+        queue.offer(UidaiCallPriority.VERIFY, "v1", 0);
+        queue.offer(UidaiCallPriority.INITIATE, "i2", 0);
+        queue.offer(UidaiCallPriority.VERIFY, "v2", 0);
+
+        assertEquals("v1", queue.poll(0).element());
+        assertEquals("v2", queue.poll(0).element());
+        assertEquals("i1", queue.poll(0).element());
+        assertEquals("i2", queue.poll(0).element());
+        assertEquals("h1", queue.poll(0).element());
+        assertNull(queue.poll(0));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a call when its class's queue is full")
+    void shouldRejectWhenClassIsFull() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 1000, 4);
+
+        assertTrue(queue.offer(UidaiCallPriority.HEALTH, "h1", 0));
+        assertTrue(queue.offer(UidaiCallPriority.HEALTH, "h2", 0));
+        assertFalse(queue.offer(UidaiCallPriority.HEALTH, "h3", 0));
+        assertTrue(queue.offer(UidaiCallPriority.VERIFY, "v1", 0));
+        assertEquals(2, queue.size(UidaiCallPriority.HEALTH));
+    }
+
+    @Test
+    @DisplayName("Should never queue a class without capacity")
+    void shouldNotQueueWithoutCapacity() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(Map.of(UidaiCallPriority.VERIFY, 1), 1000, 4);
+
+        assertFalse(queue.offer(UidaiCallPriority.INITIATE, "i1", 0));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should give one slot in each interval to an aged lower-class call")
+    void shouldServeAgedCallsOnPartOfTheSlots() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 500, 3);
+        queue.offer(UidaiCallPriority.INITIATE, "i1", 0);
+        queue.offer(UidaiCallPriority.INITIATE, "i2", 0);
+        for (int i = 1; i <= 6; i++) {
+            queue.offer(UidaiCallPriority.VERIFY, "v" + i, 0);
+        }
+        long aged = TimeUnit.MILLISECONDS.toNanos(600);
+
+        assertEquals("v1", queue.poll(aged).element());
+        assertEquals("v2", queue.poll(aged).element());
+        assertEquals("i1", queue.poll(aged).element());
+        assertEquals("v3", queue.poll(aged).element());
+        assertEquals("v4", queue.poll(aged).element());
+        assertEquals("i2", queue.poll(aged).element());
+        assertEquals("v5", queue.poll(aged).element());
+    }
+
+    @Test
+    @DisplayName("Should not pass over higher classes for a lower-class call that is not aged")
+    void shouldKeepStrictPriorityBeforeAging() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 500, 1);
+        queue.offer(UidaiCallPriority.INITIATE, "i1", 0);
+        queue.offer(UidaiCallPriority.VERIFY, "v1", 0);
+
+        assertEquals("v1", queue.poll(TimeUnit.MILLISECONDS.toNanos(100)).element());
+    }
+
+    @Test
+    @DisplayName("Should prefer the aged call that has waited longest")
+    void shouldPreferLongestWaitingAgedCall() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 500, 1);
+        queue.offer(UidaiCallPriority.HEALTH, "h1", 0);
+        queue.offer(UidaiCallPriority.INITIATE, "i1", TimeUnit.MILLISECONDS.toNanos(100));
+        queue.offer(UidaiCallPriority.VERIFY, "v1", TimeUnit.MILLISECONDS.toNanos(100));
+
+        PriorityCallQueue.Entry<String> entry = queue.poll(TimeUnit.MILLISECONDS.toNanos(700));
+
+        assertEquals("h1", entry.element());
+        assertEquals(UidaiCallPriority.HEALTH, entry.priority());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(700), entry.waitNanos());
+    }
+
+    @Test
+    @DisplayName("Should remove a waiting call")
+    void shouldRemoveWaitingCall() {
+        PriorityCallQueue<String> queue = new PriorityCallQueue<>(CAPACITIES, 1000, 4);
+        String call = "v1";
+        queue.offer(UidaiCallPriority.VERIFY, call, 0);
+
+        assertTrue(queue.remove(UidaiCallPriority.VERIFY, call));
+        assertFalse(queue.remove(UidaiCallPriority.VERIFY, call));
+        assertTrue(queue.isEmpty());
+    }
+}
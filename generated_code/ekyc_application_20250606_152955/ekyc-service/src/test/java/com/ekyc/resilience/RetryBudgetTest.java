@@ -0,0 +1,47 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Should allow retries up to the saved tokens")
+    void shouldSpendSavedTokens() {
+        RetryBudget budget = new RetryBudget(0.1, 3);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+    }
+
+    @Test
+    @DisplayName("Should earn one retry per ten requests at a ratio of 0.1")
+    void shouldEarnRetriesFromRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        assertTrue(budget.tryAcquireRetry());
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryAcquireRetry());
+
+        budget.onRequest();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    @DisplayName("Should not save more than the maximum number of tokens")
+    void shouldCapSavedTokens() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(2.0, budget.getAvailableTokens(), 0.0001);
+    }
+}
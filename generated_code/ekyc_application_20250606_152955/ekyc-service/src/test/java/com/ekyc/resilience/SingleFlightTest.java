@@ -0,0 +1,109 @@
+package com.ekyc.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private long now;
+    private AtomicInteger calls;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        calls = new AtomicInteger();
+        singleFlight = new SingleFlight<>("test", 2000, () -> now);
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight call between concurrent callers")
+    void shouldJoinInFlightCall() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("key", () -> call(pending));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> call(pending));
+        assertEquals(1, calls.get());
+        assertFalse(second.isDone());
+
+        pending.complete("result");
+        assertEquals("result", first.join());
+        assertEquals("result", second.join());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce calls for different keys")
+    void shouldKeepKeysApart() {
+        singleFlight.execute("a", () -> call(new CompletableFuture<>()));
+        singleFlight.execute("b", () -> call(new CompletableFuture<>()));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, singleFlight.size());
+    }
+
+    @Test
+    @DisplayName("Should share a successful result until the window expires")
+    void shouldShareCompletedResultWithinWindow() {
+        singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("first")));
+
+        now += TimeUnit.MILLISECONDS.toNanos(1999);
+        assertEquals("first", singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("second"))).join());
+        assertEquals(1, calls.get());
+
+        now += TimeUnit.MILLISECONDS.toNanos(1);
+        assertEquals("second", singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("second"))).join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should share a failure with waiting callers only")
+    void shouldNotKeepFailures() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> call(pending));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> call(pending));
+
+        pending.completeExceptionally(new IllegalStateException("boom"));
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(0, singleFlight.size());
+
+        singleFlight.execute("key", () -> call(CompletableFuture.completedFuture("retry")));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should treat a call that throws as a failed flight")
+    void shouldHandleThrowingCall() {
+        CompletableFuture<String> result = singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    @DisplayName("Should give each caller its own future")
+    void shouldIsolateCallerFutures() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> call(pending));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> call(pending));
+
+        first.cancel(true);
+        pending.complete("result");
+        assertEquals("result", second.join());
+    }
+
+    private CompletableFuture<String> call(CompletableFuture<String> result) {
+        calls.incrementAndGet();
+        return result;
+    }
+}
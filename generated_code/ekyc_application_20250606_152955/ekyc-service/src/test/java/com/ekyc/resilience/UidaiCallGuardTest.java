@@ -0,0 +1,96 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiResilienceProperties;
+import com.ekyc.enums.UidaiCallPriority;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiHttpStatusException;
+import com.ekyc.exception.UidaiServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UidaiCallGuardTest {
+
+    private UidaiCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        UidaiResilienceProperties properties = new UidaiResilienceProperties();
+        // window 10, minimum 5 calls, open at 50% failures
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(5);
+        properties.setFailureRateThreshold(50);
+        guard = new UidaiCallGuard(properties);
+    }
+
+    @Test
+    @DisplayName("Should treat 4xx answers as completed calls")
+    void shouldNotCountClientErrorsAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            call(new UidaiHttpStatusException(400, "UIDAI returned HTTP 400"));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit on 5xx answers")
+    void shouldCountServerErrorsAsFailures() {
+        for (int i = 0; i < 5; i++) {
+            call(new UidaiHttpStatusException(503, "UIDAI returned HTTP 503"));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit on I/O errors and timeouts")
+    void shouldCountIoErrorsAndTimeoutsAsFailures() {
+        for (int i = 0; i < 3; i++) {
+            call(new ConnectException("Connection refused"));
+        }
+        for (int i = 0; i < 2; i++) {
+            call(new HttpTimeoutException("request timed out"));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should not record calls cut short by the deadline or failed locally")
+    void shouldIgnoreDeadlineAndLocalFailures() {
+        for (int i = 0; i < 5; i++) {
+            call(new DeadlineExceededException("Deadline passed while calling UIDAI"));
+            call(new UidaiServiceException("Malformed UIDAI response"));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    @DisplayName("Should keep the circuit closed when 4xx answers outweigh 5xx ones")
+    void shouldWeighClientErrorsAsSuccesses() {
+        for (int i = 0; i < 6; i++) {
+            call(new UidaiHttpStatusException(400, "UIDAI returned HTTP 400"));
+        }
+        for (int i = 0; i < 4; i++) {
+            call(new UidaiHttpStatusException(500, "UIDAI returned HTTP 500"));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    private void call(Throwable failure) {
+        CompletableFuture<Object> result = guard.executeAsync(UidaiCallPriority.VERIFY, Deadline.none(),
+                () -> CompletableFuture.failedFuture(new CompletionException(failure)));
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertSame(failure, thrown.getCause());
+    }
+}
@@ -0,0 +1,190 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiEndpointProperties;
+import com.ekyc.enums.UidaiOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UidaiLoadBalancerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(400);
+
+    private AtomicLong clock;
+    private UidaiEndpoint first;
+    private UidaiEndpoint second;
+    private UidaiLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        first = endpoint("https://gw1.example");
+        second = endpoint("https://gw2.example");
+
+        UidaiEndpointProperties properties = new UidaiEndpointProperties();
+        properties.setLatencyDecayMs(10_000);
+        properties.setEjectAfterFailures(3);
+        properties.setBaseEjectionMs(1_000);
+        properties.setMaxEjectionMs(3_000);
+        loadBalancer = new UidaiLoadBalancer(List.of(first, second), properties, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should prefer the endpoint with the lower latency")
+    void shouldPreferFasterEndpoint() {
+        loadBalancer.onSuccess(acquire(first), FAST);
+        loadBalancer.onSuccess(acquire(second), SLOW);
+
+        for (int i = 0; i < 5; i++) {
+            UidaiEndpoint chosen = loadBalancer.acquire();
+            assertSame(first, chosen);
+            loadBalancer.onSuccess(chosen, FAST);
+        }
+    }
+
+    @Test
+    @DisplayName("Should move traffic away from an endpoint with many outstanding calls")
+    void shouldWeighOutstandingCalls() {
+        loadBalancer.onSuccess(acquire(first), FAST);
+        loadBalancer.onSuccess(acquire(second), TimeUnit.MILLISECONDS.toNanos(70));
+
+        // 20 ms x (3 outstanding + 1) costs more than 70 ms x 1
+        for (int i = 0; i < 3; i++) {
+            assertSame(first, loadBalancer.acquire());
+        }
+        assertSame(second, loadBalancer.acquire());
+        assertEquals(3, first.getOutstanding());
+        assertEquals(1, second.getOutstanding());
+    }
+
+    @Test
+    @DisplayName("Should let faster samples pull the latency down gradually")
+    void shouldDecayLatency() {
+        loadBalancer.onSuccess(acquire(first), SLOW);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10_000));
+        loadBalancer.onSuccess(acquire(first), FAST);
+
+        double latency = first.getLatencyNanos();
+        assertTrue(latency > FAST && latency < SLOW);
+
+        loadBalancer.onSuccess(acquire(first), SLOW);
+        assertEquals(SLOW, first.getLatencyNanos());
+    }
+
+    @Test
+    @DisplayName("Should eject an endpoint after consecutive failures and re-admit it later")
+    void shouldEjectAndReadmit() {
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(acquire(first), FAST);
+        }
+        assertTrue(first.isEjected());
+        assertEquals(1, first.getTotalEjections());
+
+        for (int i = 0; i < 10; i++) {
+            UidaiEndpoint chosen = loadBalancer.acquire();
+            assertSame(second, chosen);
+            loadBalancer.onSuccess(chosen, SLOW);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        loadBalancer.acquire();
+        assertFalse(first.isEjected());
+    }
+
+    @Test
+    @DisplayName("Should double the ejection time for an endpoint that keeps failing")
+    void shouldBackOffRepeatedEjections() {
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(acquire(first), FAST);
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        loadBalancer.acquire();
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(acquire(first), FAST);
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        loadBalancer.acquire();
+        assertTrue(first.isEjected());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+        loadBalancer.acquire();
+        assertFalse(first.isEjected());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on success")
+    void shouldResetFailuresOnSuccess() {
+        loadBalancer.onFailure(acquire(first), FAST);
+        loadBalancer.onFailure(acquire(first), FAST);
+        loadBalancer.onSuccess(acquire(first), FAST);
+        loadBalancer.onFailure(acquire(first), FAST);
+
+        assertFalse(first.isEjected());
+    }
+
+    @Test
+    @DisplayName("Should re-admit an ejected endpoint after a successful health probe")
+    void shouldReadmitOnHealthyProbe() {
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(acquire(first), FAST);
+        }
+        loadBalancer.onHealthy(first);
+
+        assertFalse(first.isEjected());
+    }
+
+    @Test
+    @DisplayName("Should keep routing to ejected endpoints when all are ejected")
+    void shouldRouteWhenAllEjected() {
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onFailure(acquire(first), FAST);
+            loadBalancer.onFailure(acquire(second), FAST);
+        }
+
+        assertNotNull(loadBalancer.acquire());
+    }
+
+    @Test
+    @DisplayName("Should not count abandoned calls against the endpoint")
+    void shouldIgnoreAbandonedCalls() {
+        for (int i = 0; i < 5; i++) {
+            loadBalancer.onAbandoned(acquire(first));
+        }
+
+        assertFalse(first.isEjected());
+        assertEquals(0, first.getOutstanding());
+        assertEquals(0, first.getLatencyNanos());
+    }
+
+    @Test
+    @DisplayName("Should resolve operation URIs on the endpoint")
+    void shouldResolveOperationUris() {
+        assertEquals(URI.create("https://gw2.example/api/uidai/v1/ekyc/verify"),
+                second.uriFor(UidaiOperation.VERIFY));
+    }
+
+    /**
+     * Counts a call as outstanding on a specific endpoint, as {@link UidaiLoadBalancer#acquire()}
+     * would had it picked that endpoint.
+     */
+    private UidaiEndpoint acquire(UidaiEndpoint endpoint) {
+        endpoint.acquire();
+        return endpoint;
+    }
+
+    private static UidaiEndpoint endpoint(String baseUrl) {
+        URI base = URI.create(baseUrl);
+        return new UidaiEndpoint(baseUrl,
+                base.resolve("/api/uidai/v1/ekyc/initiate"),
+                base.resolve("/api/uidai/v1/ekyc/verify"),
+                base.resolve("/api/uidai/v1/health"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.ekyc.resilience;
+
+import com.ekyc.config.UidaiResilienceProperties;
+import com.ekyc.exception.DeadlineExceededException;
+import com.ekyc.exception.UidaiHttpStatusException;
+import com.ekyc.exception.UidaiServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UidaiRetrySchedulerTest {
+
+    private UidaiResilienceProperties properties;
+    private UidaiRetryScheduler scheduler;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UidaiResilienceProperties();
+        properties.setMaxAttempts(3);
+        properties.setRetryBaseDelayMs(1);
+        properties.setRetryMaxDelayMs(1);
+        scheduler = new UidaiRetryScheduler(properties, new SimpleMeterRegistry());
+        attempts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    @DisplayName("Should retry 5xx answers until an attempt succeeds")
+    void shouldRetryServerErrors() {
+        CompletableFuture<String> result = scheduler.execute("verify", Deadline.none(),
+                () -> attempts.incrementAndGet() < 3
+                        ? failed(new UidaiHttpStatusException(503, "UIDAI returned HTTP 503"))
+                        : CompletableFuture.completedFuture("verified"));
+
+        assertEquals("verified", result.join());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should retry I/O errors")
+    void shouldRetryIoErrors() {
+        CompletableFuture<String> result = scheduler.execute("verify", Deadline.none(),
+                () -> attempts.incrementAndGet() < 2
+                        ? failed(new ConnectException("Connection refused"))
+                        : CompletableFuture.completedFuture("verified"));
+
+        assertEquals("verified", result.join());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry 4xx answers, 501 or local failures")
+    void shouldNotRetryOtherFailures() {
+        assertFailsAfterOneAttempt(new UidaiHttpStatusException(400, "UIDAI returned HTTP 400"));
+        assertFailsAfterOneAttempt(new UidaiHttpStatusException(501, "UIDAI returned HTTP 501"));
+        assertFailsAfterOneAttempt(new UidaiServiceException("Malformed UIDAI response"));
+    }
+
+    @Test
+    @DisplayName("Should give up after the configured number of attempts")
+    void shouldStopAtMaxAttempts() {
+        UidaiHttpStatusException failure = new UidaiHttpStatusException(503, "UIDAI returned HTTP 503");
+
+        CompletableFuture<String> result = scheduler.execute("verify", Deadline.none(), () -> {
+            attempts.incrementAndGet();
+            return failed(failure);
+        });
+
+        assertSame(failure, assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    void shouldStopWhenBudgetExhausted() {
+        // One token to start with and nothing earned per call
+        properties.setRetryBudgetRatio(0);
+        properties.setRetryBudgetMaxTokens(1);
+        scheduler.destroy();
+        scheduler = new UidaiRetryScheduler(properties, new SimpleMeterRegistry());
+
+        CompletableFuture<String> first = scheduler.execute("verify", Deadline.none(), this::alwaysUnavailable);
+        assertThrows(CompletionException.class, first::join);
+        assertEquals(2, attempts.get());
+
+        CompletableFuture<String> second = scheduler.execute("verify", Deadline.none(), this::alwaysUnavailable);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry an attempt that failed after the deadline")
+    void shouldNotRetryPastDeadline() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(20));
+
+        CompletableFuture<String> result = scheduler.execute("verify", deadline, () -> {
+            attempts.incrementAndGet();
+            sleepUntilExpired(deadline);
+            return failed(new UidaiHttpStatusException(503, "UIDAI returned HTTP 503"));
+        });
+
+        assertInstanceOf(UidaiHttpStatusException.class,
+                assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not start a first attempt once the deadline has passed")
+    void shouldNotStartPastDeadline() {
+        Deadline deadline = Deadline.after(Duration.ZERO);
+        sleepUntilExpired(deadline);
+
+        CompletableFuture<String> result = scheduler.execute("verify", deadline, this::alwaysUnavailable);
+
+        assertInstanceOf(DeadlineExceededException.class,
+                assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(0, attempts.get());
+    }
+
+    private void assertFailsAfterOneAttempt(RuntimeException failure) {
+        attempts.set(0);
+        CompletableFuture<String> result = scheduler.execute("verify", Deadline.none(), () -> {
+            attempts.incrementAndGet();
+            return failed(failure);
+        });
+
+        assertSame(failure, assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    private CompletableFuture<String> alwaysUnavailable() {
+        attempts.incrementAndGet();
+        return failed(new UidaiHttpStatusException(503, "UIDAI returned HTTP 503"));
+    }
+
+    private static CompletableFuture<String> failed(Throwable failure) {
+        return CompletableFuture.failedFuture(new CompletionException(failure));
+    }
+
+    private static void sleepUntilExpired(Deadline deadline) {
+        while (!deadline.isExpired()) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
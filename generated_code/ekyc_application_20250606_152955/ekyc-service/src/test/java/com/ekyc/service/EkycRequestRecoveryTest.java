@@ -0,0 +1,101 @@
+package com.ekyc.service;
+
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.VerificationStatus;
+import com.ekyc.repository.EkycRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the recovery with {@code stuck-after-ms} at 0, so every request is stuck as soon
+ * as it is stored; the scheduled run is pushed out of the way.
+ */
+@SpringBootTest(properties = {
+        "ekyc.recovery.stuck-after-ms=0",
+        "ekyc.recovery.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+public class EkycRequestRecoveryTest {
+
+    @Autowired
+    private EkycRequestRecovery ekycRequestRecovery;
+
+    @Autowired
+    private EkycRequestRepository ekycRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should fail a request stuck in INITIATED")
+    void testRecover_InitiatedToFailed() {
+        // Given
+        String referenceNumber = store(VerificationStatus.INITIATED);
+
+        // When
+        ekycRequestRecovery.recover();
+
+        // Then
+        EkycRequest recovered = load(referenceNumber);
+        assertEquals(VerificationStatus.FAILED, recovered.getStatus());
+        assertNotNull(recovered.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should move a request stuck in VERIFYING back to IN_PROGRESS")
+    void testRecover_VerifyingToInProgress() {
+        // Given
+        String referenceNumber = store(VerificationStatus.VERIFYING);
+
+        // When
+        ekycRequestRecovery.recover();
+
+        // Then
+        EkycRequest recovered = load(referenceNumber);
+        assertEquals(VerificationStatus.IN_PROGRESS, recovered.getStatus());
+        assertNull(recovered.getErrorMessage());
+    }
+
+    @Test
+    @DisplayName("Should leave requests in other statuses alone")
+    void testRecover_OtherStatusesUntouched() {
+        // Given
+        String inProgress = store(VerificationStatus.IN_PROGRESS);
+        String verified = store(VerificationStatus.VERIFIED);
+
+        // When
+        ekycRequestRecovery.recover();
+
+        // Then
+        assertEquals(VerificationStatus.IN_PROGRESS, load(inProgress).getStatus());
+        assertEquals(VerificationStatus.VERIFIED, load(verified).getStatus());
+    }
+
+    private String store(VerificationStatus status) {
+        EkycRequest request = new EkycRequest();
+        request.setIdentityNumber("123456789012");
+        request.setIdType(EkycRequest.IdType.AADHAAR);
+        request.setIdentityVerificationConsent(true);
+        request.setMobileEmailConsent(EkycRequest.ConsentStatus.YES);
+        request.setSessionId("session-recovery");
+        String referenceNumber = ekycRequestRepository.saveAndFlush(request).getReferenceNumber();
+        if (status != VerificationStatus.INITIATED) {
+            new TransactionTemplate(transactionManager).execute(tx -> ekycRequestRepository.compareAndSetStatus(
+                    referenceNumber, VerificationStatus.INITIATED, status, null, LocalDateTime.now()));
+        }
+        return referenceNumber;
+    }
+
+    private EkycRequest load(String referenceNumber) {
+        return ekycRequestRepository.findByReferenceNumber(referenceNumber).orElseThrow();
+    }
+}
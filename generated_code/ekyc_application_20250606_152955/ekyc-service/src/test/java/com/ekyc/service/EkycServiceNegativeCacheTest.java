@@ -0,0 +1,89 @@
+package com.ekyc.service;
+
+import com.ekyc.health.UidaiHealthMonitor;
+import com.ekyc.model.EkycRequest;
+import com.ekyc.model.EkycResponse;
+import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiResponse;
+import com.ekyc.model.VerificationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class EkycServiceNegativeCacheTest {
+
+    @Autowired
+    private EkycService ekycService;
+
+    @MockBean
+    private UidaiIntegrationService uidaiIntegrationService;
+
+    @MockBean
+    private UidaiHealthMonitor uidaiHealthMonitor;
+
+    @BeforeEach
+    void setUp() {
+        when(uidaiHealthMonitor.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should answer the next initiation for an ID from the negative cache after a permanent failure")
+    void testPermanentFailure_ShortCircuitsNextInitiation() {
+        // Given: UIDAI refuses OTP generation for the ID, as it does with a 400 body
+        when(uidaiIntegrationService.initiateEkyc(eq("123456789013"), any(), anyBoolean(), anyBoolean()))
+                .thenReturn(new UidaiResponse(false, null, Map.of("status", "OTP_GENERATION_FAILED")));
+
+        // When
+        EkycResponse first = ekycService.initiateEkycVerification(initiation("123456789013", "session-neg-1"));
+        EkycResponse second = ekycService.initiateEkycVerification(initiation("123456789013", "session-neg-2"));
+
+        // Then
+        assertEquals(VerificationStatus.FAILED, first.getStatus());
+        assertNotNull(first.getReferenceNumber());
+        assertEquals(VerificationStatus.FAILED, second.getStatus());
+        assertNull(second.getReferenceNumber(), "A cached failure stores no request");
+        verify(uidaiIntegrationService, times(1))
+                .initiateEkyc(eq("123456789013"), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should call UIDAI again after a transient failure")
+    void testTransientFailure_NotCached() {
+        // Given
+        when(uidaiIntegrationService.initiateEkyc(eq("123456789015"), any(), anyBoolean(), anyBoolean()))
+                .thenReturn(new UidaiResponse(false, "Injected UIDAI failure",
+                        Map.of("status", "UIDAI_SERVICE_FAILURE")));
+
+        // When
+        ekycService.initiateEkycVerification(initiation("123456789015", "session-neg-3"));
+        EkycResponse second = ekycService.initiateEkycVerification(initiation("123456789015", "session-neg-4"));
+
+        // Then
+        assertEquals(VerificationStatus.FAILED, second.getStatus());
+        assertNotNull(second.getReferenceNumber());
+        verify(uidaiIntegrationService, times(2))
+                .initiateEkyc(eq("123456789015"), any(), anyBoolean(), anyBoolean());
+    }
+
+    private EkycRequest initiation(String idNumber, String sessionId) {
+        EkycRequest request = new EkycRequest();
+        request.setIdNumber(idNumber);
+        request.setIdType(IdType.AADHAAR);
+        request.setSessionId(sessionId);
+        request.setIdentityVerificationConsent(true);
+        request.setMobileEmailConsent(true);
+        return request;
+    }
+}
@@ -0,0 +1,247 @@
+package com.ekyc.service;
+
+import com.ekyc.config.EkycIdempotencyProperties;
+import com.ekyc.exception.IdempotencyConflictException;
+import com.ekyc.exception.IdempotencyKeyReusedException;
+import com.ekyc.model.IdempotencyRecord;
+import com.ekyc.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each IdempotencyService instance stands for one service instance; they share an
+ * in-memory table that follows the native queries of IdempotencyRecordRepository.
+ */
+class IdempotencyServiceTest {
+
+    private InMemoryRecords records;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        records = new InMemoryRecords();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should answer a duplicate on another instance with the response of the running execution")
+    void shouldWaitForExecutionOnAnotherInstance() {
+        IdempotencyService first = service(60_000, 5_000);
+        IdempotencyService second = service(60_000, 5_000);
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<String>> running = execute(first, "request", pending);
+        CompletableFuture<ResponseEntity<String>> duplicate = execute(second, "request",
+                CompletableFuture.completedFuture(ResponseEntity.ok("second")));
+        assertFalse(duplicate.isDone());
+
+        pending.complete(ResponseEntity.ok("first"));
+        assertEquals("first", running.join().getBody());
+        assertEquals("first", duplicate.join().getBody());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should answer 409 Conflict when the other execution outlasts the wait")
+    void shouldGiveUpWaitingForExecutionOnAnotherInstance() {
+        IdempotencyService first = service(60_000, 5_000);
+        IdempotencyService second = service(60_000, 50);
+
+        execute(first, "request", new CompletableFuture<>());
+        CompletableFuture<ResponseEntity<String>> duplicate = execute(second, "request",
+                CompletableFuture.completedFuture(ResponseEntity.ok("second")));
+
+        CompletionException thrown = assertThrows(CompletionException.class, duplicate::join);
+        assertInstanceOf(IdempotencyConflictException.class, thrown.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should take over a key whose owner lost its lease, and keep the late owner from storing")
+    void shouldTakeOverStaleOwner() throws InterruptedException {
+        IdempotencyService stale = service(20, 5_000);
+        IdempotencyService other = service(20, 5_000);
+        CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<String>> late = execute(stale, "request", pending);
+        Thread.sleep(50);
+        CompletableFuture<ResponseEntity<String>> takenOver = execute(other, "request",
+                CompletableFuture.completedFuture(ResponseEntity.ok("taken over")));
+        assertEquals("taken over", takenOver.join().getBody());
+
+        pending.complete(ResponseEntity.ok("late"));
+        assertEquals("late", late.join().getBody());
+        assertEquals(2, calls.get());
+        assertEquals("\"taken over\"", records.only().getResponseBody());
+    }
+
+    @Test
+    @DisplayName("Should answer 422 when a key is reused with a different request")
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        execute(service(60_000, 5_000), "request",
+                CompletableFuture.completedFuture(ResponseEntity.ok("first"))).join();
+
+        // a fresh instance has nothing in its near cache and reads the stored response
+        CompletableFuture<ResponseEntity<String>> reused = execute(service(60_000, 5_000), "other request",
+                CompletableFuture.completedFuture(ResponseEntity.ok("second")));
+
+        CompletionException thrown = assertThrows(CompletionException.class, reused::join);
+        assertInstanceOf(IdempotencyKeyReusedException.class, thrown.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should return a response that cannot be stored, and keep its key claimed")
+    void shouldReturnUnserializableResponse() {
+        Object body = new Object();
+
+        ResponseEntity<Object> response = service(60_000, 5_000).execute("initiate", "caller", "key-1", "request",
+                Object.class, () -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.completedFuture(ResponseEntity.ok(body));
+                }).join();
+
+        assertSame(body, response.getBody());
+        assertEquals(IdempotencyRecord.State.IN_PROGRESS, records.only().getState());
+        assertEquals(1, calls.get());
+    }
+
+    private CompletableFuture<ResponseEntity<String>> execute(IdempotencyService service, String request,
+                                                              CompletableFuture<ResponseEntity<String>> response) {
+        return service.execute("initiate", "caller", "key-1", request, String.class, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private IdempotencyService service(long leaseMs, long waitTimeoutMs) {
+        EkycIdempotencyProperties properties = new EkycIdempotencyProperties();
+        properties.setLeaseMs(leaseMs);
+        properties.setWaitTimeoutMs(waitTimeoutMs);
+        properties.setPollIntervalMs(10);
+        return new IdempotencyService(records.repository(), new ObjectMapper(), new NoOpTransactionManager(),
+                new SimpleMeterRegistry(), properties);
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+    /**
+     * The idempotency_records table, with the repository methods the service calls.
+     */
+    private static final class InMemoryRecords {
+
+        private final Map<String, IdempotencyRecord> rows = new HashMap<>();
+
+        synchronized IdempotencyRecord only() {
+            assertEquals(1, rows.size());
+            return rows.values().iterator().next();
+        }
+
+        IdempotencyRecordRepository repository() {
+            return (IdempotencyRecordRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {IdempotencyRecordRepository.class}, (proxy, method, args) -> {
+                        synchronized (this) {
+                            return switch (method.getName()) {
+                                case "insertIfAbsent" -> insertIfAbsent(args);
+                                case "takeOver" -> takeOver(args);
+                                case "complete" -> complete(args);
+                                case "release" -> release(args);
+                                case "findById" -> Optional.ofNullable(rows.get((String) args[0]));
+                                default -> throw new UnsupportedOperationException(method.getName());
+                            };
+                        }
+                    });
+        }
+
+        private int insertIfAbsent(Object[] args) {
+            if (rows.containsKey((String) args[0])) {
+                return 0;
+            }
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setRecordKey((String) args[0]);
+            rows.put(record.getRecordKey(), record);
+            claim(record, args);
+            return 1;
+        }
+
+        private int takeOver(Object[] args) {
+            IdempotencyRecord record = rows.get((String) args[0]);
+            LocalDateTime now = (LocalDateTime) args[4];
+            if (record == null || !(record.getExpiresAt().isBefore(now)
+                    || (record.getState() == IdempotencyRecord.State.IN_PROGRESS
+                    && record.getLockedUntil().isBefore(now)))) {
+                return 0;
+            }
+            claim(record, args);
+            return 1;
+        }
+
+        private void claim(IdempotencyRecord record, Object[] args) {
+            record.setOperation((String) args[1]);
+            record.setRequestFingerprint((String) args[2]);
+            record.setState(IdempotencyRecord.State.IN_PROGRESS);
+            record.setOwnerToken((String) args[3]);
+            record.setResponseStatus(null);
+            record.setResponseLocation(null);
+            record.setResponseBody(null);
+            record.setCreatedAt((LocalDateTime) args[4]);
+            record.setLockedUntil((LocalDateTime) args[5]);
+            record.setExpiresAt((LocalDateTime) args[6]);
+        }
+
+        private int complete(Object[] args) {
+            IdempotencyRecord record = rows.get((String) args[0]);
+            if (record == null || !args[1].equals(record.getOwnerToken())) {
+                return 0;
+            }
+            record.setState(IdempotencyRecord.State.COMPLETED);
+            record.setOwnerToken(null);
+            record.setResponseStatus((Integer) args[2]);
+            record.setResponseLocation((String) args[3]);
+            record.setResponseBody((String) args[4]);
+            return 1;
+        }
+
+        private int release(Object[] args) {
+            IdempotencyRecord record = rows.get((String) args[0]);
+            if (record == null || !args[1].equals(record.getOwnerToken())) {
+                return 0;
+            }
+            rows.remove(record.getRecordKey());
+            return 1;
+        }
+    }
+}
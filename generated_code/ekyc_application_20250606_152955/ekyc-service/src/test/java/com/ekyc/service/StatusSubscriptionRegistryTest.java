@@ -0,0 +1,65 @@
+package com.ekyc.service;
+
+import com.ekyc.model.VerificationStatus;
+import com.ekyc.model.VerificationStatusChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusSubscriptionRegistryTest {
+
+    @Test
+    @DisplayName("Should wake every subscriber of the changed request only")
+    void shouldWakeSubscribersOfChangedRequest() {
+        StatusSubscriptionRegistry registry = new StatusSubscriptionRegistry(10);
+        CompletableFuture<Void> first = registry.subscribe("EKYC-1");
+        CompletableFuture<Void> second = registry.subscribe("EKYC-1");
+        CompletableFuture<Void> other = registry.subscribe("EKYC-2");
+
+        registry.onStatusChanged(new VerificationStatusChangedEvent("EKYC-1", VerificationStatus.VERIFIED));
+
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertFalse(other.isDone());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("Should not wake a cancelled subscription")
+    void shouldForgetCancelledSubscription() {
+        StatusSubscriptionRegistry registry = new StatusSubscriptionRegistry(10);
+        CompletableFuture<Void> subscription = registry.subscribe("EKYC-1");
+
+        registry.cancel("EKYC-1", subscription);
+        registry.onStatusChanged(new VerificationStatusChangedEvent("EKYC-1", VerificationStatus.VERIFIED));
+
+        assertFalse(subscription.isDone());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("Should count a subscription once when cancelled after it was woken")
+    void shouldIgnoreCancelAfterWakeUp() {
+        StatusSubscriptionRegistry registry = new StatusSubscriptionRegistry(10);
+        CompletableFuture<Void> subscription = registry.subscribe("EKYC-1");
+
+        registry.onStatusChanged(new VerificationStatusChangedEvent("EKYC-1", VerificationStatus.FAILED));
+        registry.cancel("EKYC-1", subscription);
+
+        assertEquals(0, registry.size());
+        assertNotNull(registry.subscribe("EKYC-1"));
+    }
+
+    @Test
+    @DisplayName("Should refuse subscriptions beyond the bound")
+    void shouldRejectWhenFull() {
+        StatusSubscriptionRegistry registry = new StatusSubscriptionRegistry(1);
+
+        assertNotNull(registry.subscribe("EKYC-1"));
+        assertNull(registry.subscribe("EKYC-2"));
+        assertEquals(1, registry.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.ekyc.util;
+
+import com.ekyc.exception.UidaiServiceException;
+import com.ekyc.model.UidaiResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingUidaiResponseSubscriberTest {
+
+    private static final String VERIFIED = """
+            {"success":true,"errorMessage":null,
+             "data":{"status":"VERIFIED","referenceNumber":"REF123","attempts":1,
+                     "kycData":{"name":"Ravi Kumar","photo":"aGVsbG8=","address":{"city":"Pune"}},
+                     "signatures":["s1","s2"]},
+             "timestamp":"2025-05-23T10:01:00Z"}
+            """;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    @DisplayName("Should keep the small attributes and forward the large ones to the sink")
+    void shouldSplitSmallAndLargeAttributes() throws Exception {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+        UidaiResponse response = feed(new StreamingUidaiResponseSubscriber(jsonFactory, sink), VERIFIED, 7);
+
+        assertTrue(response.isSuccess());
+        assertNull(response.getErrorMessage());
+        assertEquals("VERIFIED", response.getData().get("status"));
+        assertEquals("REF123", response.getData().get("referenceNumber"));
+        assertEquals(1, response.getData().get("attempts"));
+        assertFalse(response.getData().containsKey("kycData"));
+        assertEquals("{\"kycData\":{\"name\":\"Ravi Kumar\",\"photo\":\"aGVsbG8=\",\"address\":{\"city\":\"Pune\"}},"
+                + "\"signatures\":[\"s1\",\"s2\"]}", sink.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should skip the large attributes without a sink")
+    void shouldSkipLargeAttributesWithoutSink() throws Exception {
+        UidaiResponse response = feed(new StreamingUidaiResponseSubscriber(jsonFactory, null), VERIFIED, 1);
+
+        assertTrue(response.isSuccess());
+        assertEquals("REF123", response.getData().get("referenceNumber"));
+        assertEquals(3, response.getData().size());
+    }
+
+    @Test
+    @DisplayName("Should read a failed response")
+    void shouldReadFailure() throws Exception {
+        UidaiResponse response = feed(new StreamingUidaiResponseSubscriber(jsonFactory, null),
+                "{\"success\":\"false\",\"errorMessage\":\"Invalid OTP\",\"data\":null}", 5);
+
+        assertFalse(response.isSuccess());
+        assertEquals("Invalid OTP", response.getErrorMessage());
+        assertNull(response.getData());
+    }
+
+    @Test
+    @DisplayName("Should complete with null for an empty body")
+    void shouldCompleteWithNullForEmptyBody() throws Exception {
+        assertNull(feed(new StreamingUidaiResponseSubscriber(jsonFactory, null), "", 1));
+    }
+
+    @Test
+    @DisplayName("Should fail without retry on a truncated body")
+    void shouldFailOnTruncatedBody() throws IOException {
+        StreamingUidaiResponseSubscriber subscriber = new StreamingUidaiResponseSubscriber(jsonFactory, null);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> feed(subscriber, "{\"success\":true,\"data\":{\"status\"", 4));
+        assertTrue(e.getCause() instanceof UidaiServiceException);
+    }
+
+    @Test
+    @DisplayName("Should not make a transport failure retryable once data reached the sink")
+    void shouldWrapTransportFailureAfterForwarding() throws Exception {
+        StreamingUidaiResponseSubscriber subscriber = new StreamingUidaiResponseSubscriber(jsonFactory,
+                new ByteArrayOutputStream());
+        subscriber.onSubscribe(new NoOpSubscription());
+        subscriber.onNext(List.of(ByteBuffer.wrap("{\"data\":{\"kycData\":{\"name\":\"R".getBytes(StandardCharsets.UTF_8))));
+        subscriber.onError(new IOException("connection reset"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> subscriber.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof UidaiServiceException);
+    }
+
+    @Test
+    @DisplayName("Should pass a transport failure through before anything was forwarded")
+    void shouldPassTransportFailureThrough() throws Exception {
+        StreamingUidaiResponseSubscriber subscriber = new StreamingUidaiResponseSubscriber(jsonFactory,
+                new ByteArrayOutputStream());
+        subscriber.onSubscribe(new NoOpSubscription());
+        subscriber.onError(new IOException("connection reset"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> subscriber.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    /**
+     * Delivers a body in chunks of the given size, as the HTTP client would.
+     */
+    private UidaiResponse feed(StreamingUidaiResponseSubscriber subscriber, String body, int chunkSize)
+            throws Exception {
+        subscriber.onSubscribe(new NoOpSubscription());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, bytes.length - offset);
+            subscriber.onNext(List.of(ByteBuffer.wrap(bytes, offset, length)));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS);
+    }
+
+    private static final class NoOpSubscription implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
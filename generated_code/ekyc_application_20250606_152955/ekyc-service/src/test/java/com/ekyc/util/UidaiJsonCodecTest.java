@@ -0,0 +1,91 @@
+package com.ekyc.util;
+
+import com.ekyc.dto.uidai.UidaiInitiateRequest;
+import com.ekyc.dto.uidai.UidaiVerifyRequest;
+import com.ekyc.model.IdType;
+import com.ekyc.model.UidaiBatchResponse;
+import com.ekyc.model.UidaiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the batch bodies the client sends. The mock UIDAI service posts the same bodies
+ * to its batch endpoints in MockUidaiBatchControllerTest, so a change on either side
+ * that breaks the other fails one of the two tests.
+ */
+class UidaiJsonCodecTest {
+
+    static final String INITIATE_BATCH = "{\"parentProcessId\":\"BATCH0001\",\"items\":["
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"identityVerificationConsent\":true,\"mobileEmailConsent\":true},"
+            + "{\"idNumber\":\"123456789013\",\"idType\":\"VID\",\"identityVerificationConsent\":true,\"mobileEmailConsent\":false}]}";
+
+    static final String VERIFY_BATCH = "{\"parentProcessId\":\"BATCH0002\",\"items\":["
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"otp\":\"123456\",\"referenceNumber\":\"REFEXPIRED001\"},"
+            + "{\"idNumber\":\"123456789012\",\"idType\":\"AADHAAR\",\"otp\":\"123456\",\"referenceNumber\":\"REFUNKNOWN001\"}]}";
+
+    private final UidaiJsonCodec codec = new UidaiJsonCodec(new ObjectMapper());
+
+    @Test
+    @DisplayName("Should write an initiation batch with its parent process ID")
+    void shouldWriteInitiateBatch() throws Exception {
+        byte[] body = codec.writeInitiateBatch("BATCH0001", List.of(
+                new UidaiInitiateRequest("123456789012", IdType.AADHAAR, true, true),
+                new UidaiInitiateRequest("123456789013", IdType.VID, true, false)));
+
+        assertEquals(INITIATE_BATCH, new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should write a verification batch with its parent process ID")
+    void shouldWriteVerifyBatch() throws Exception {
+        byte[] body = codec.writeVerifyBatch("BATCH0002", List.of(
+                new UidaiVerifyRequest("123456789012", IdType.AADHAAR, "123456", "REFEXPIRED001"),
+                new UidaiVerifyRequest("123456789012", IdType.AADHAAR, "123456", "REFUNKNOWN001")));
+
+        assertEquals(VERIFY_BATCH, new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should read the per-item results of a batch response")
+    void shouldReadBatchResponse() throws Exception {
+        String body = "{\"parentProcessId\":\"BATCH0001\",\"timestamp\":\"2025-05-23T10:00:00Z\",\"results\":["
+                + "{\"index\":1,\"statusCode\":400,\"response\":{\"success\":false,\"errorMessage\":\"OTP_GENERATION_FAILED\"}},"
+                + "{\"index\":0,\"statusCode\":200,\"response\":{\"success\":true,\"data\":{\"referenceId\":\"REF1\"}}}]}";
+
+        UidaiBatchResponse response = codec.readBatchResponse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, response.items().size());
+        assertEquals(1, response.items().get(0).index());
+        assertEquals(400, response.items().get(0).statusCode());
+        assertFalse(response.items().get(0).response().isSuccess());
+        assertEquals(200, response.items().get(1).statusCode());
+        assertEquals("REF1", response.items().get(1).response().getData().get("referenceId"));
+    }
+
+    @Test
+    @DisplayName("Should keep the status of a flat UIDAI error body")
+    void shouldReadFlatErrorStatus() throws Exception {
+        String body = "{\"status\":\"OTP_GENERATION_FAILED\",\"timestamp\":\"2025-05-23T10:00:00Z\"}";
+
+        UidaiResponse response = codec.readResponse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(response.isSuccess());
+        assertEquals("OTP_GENERATION_FAILED", response.getData().get("status"));
+    }
+
+    @Test
+    @DisplayName("Should prefer the status under data over a top-level one")
+    void shouldPreferDataStatus() throws Exception {
+        String body = "{\"success\":false,\"status\":\"FAILED\",\"data\":{\"status\":\"INVALID_REQUEST\"}}";
+
+        UidaiResponse response = codec.readResponse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("INVALID_REQUEST", response.getData().get("status"));
+    }
+}